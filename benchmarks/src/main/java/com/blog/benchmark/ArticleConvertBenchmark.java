@@ -0,0 +1,155 @@
+package com.blog.benchmark;
+
+import com.blog.cache.CacheGenerations;
+import com.blog.cache.CacheInvalidationBus;
+import com.blog.cache.CacheNamespaces;
+import com.blog.cache.LocalCache;
+import com.blog.cache.RedisCodecs;
+import com.blog.cache.RedisLoadingCaches;
+import com.blog.dto.response.ArticleDetailResponse;
+import com.blog.dto.response.ArticleListResponse;
+import com.blog.entity.*;
+import com.blog.mapper.*;
+import com.blog.service.ArticleDetailAssembler;
+import com.blog.service.ArticleListCache;
+import com.blog.service.ArticleService;
+import com.blog.service.DictionaryCache;
+import com.blog.service.FileStorageService;
+import com.blog.service.ImageVariantService;
+import com.blog.service.UserSummaryCache;
+import com.blog.storage.BlobStore;
+import com.blog.storage.LocalBlobStore;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 文章列表项转换和详情组装（内存版 Mapper，不含数据库耗时）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArticleConvertBenchmark {
+
+    private static final Long CURRENT_USER_ID = 9L;
+
+    @Param({"0", "5"})
+    public int tagCount;
+
+    private Path storageRoot;
+    private ThreadPoolTaskExecutor imageTaskExecutor;
+    private ThreadPoolTaskExecutor detailTaskExecutor;
+    private ArticleService articleService;
+    private ArticleDetailAssembler articleDetailAssembler;
+    private MethodHandle convertToListResponse;
+    private Article article;
+
+    @Setup
+    public void setup() throws Exception {
+        InMemoryMappers.registerEntities(ArticleTag.class, Like.class, Favorite.class);
+
+        ArticleMapper articleMapper = InMemoryMappers.create(ArticleMapper.class,
+                List.of(Fixtures.article()), Article::getId);
+        UserMapper userMapper = InMemoryMappers.create(UserMapper.class,
+                List.of(Fixtures.author()), User::getId);
+        // 字典启动时整表读取，selectList 返回全部行
+        CategoryMapper categoryMapper = InMemoryMappers.create(CategoryMapper.class,
+                Map.of(), List.of(Fixtures.category()), 0);
+        TagMapper tagMapper = InMemoryMappers.create(TagMapper.class,
+                Map.of(), Fixtures.tags(tagCount), 0);
+        DictionaryCache dictionaryCache = new DictionaryCache(categoryMapper, tagMapper, 10);
+        ArticleTagMapper articleTagMapper = InMemoryMappers.create(ArticleTagMapper.class,
+                Collections.emptyMap(), Fixtures.articleTags(tagCount), 0);
+        LikeMapper likeMapper = InMemoryMappers.create(LikeMapper.class,
+                Collections.emptyMap(), Collections.emptyList(), 1);
+        FavoriteMapper favoriteMapper = InMemoryMappers.create(FavoriteMapper.class,
+                Collections.emptyMap(), Collections.emptyList(), 0);
+        FileObjectMapper fileObjectMapper = InMemoryMappers.create(FileObjectMapper.class,
+                Map.of(), Collections.emptyList(), 0);
+
+        storageRoot = Files.createTempDirectory("blog-bench-");
+        BlobStore blobStore = new LocalBlobStore(storageRoot);
+        FileStorageService fileStorageService = new FileStorageService(fileObjectMapper, blobStore);
+        imageTaskExecutor = executor("image-", 1);
+        ImageVariantService imageVariantService =
+                new ImageVariantService(fileStorageService, blobStore, imageTaskExecutor);
+
+        UserSummaryCache userSummaryCache = new UserSummaryCache(userMapper, 1000, Duration.ofMinutes(10));
+        detailTaskExecutor = executor("detail-", 8);
+        articleDetailAssembler = new ArticleDetailAssembler(articleMapper, userSummaryCache, dictionaryCache,
+                articleTagMapper, likeMapper, favoriteMapper, imageVariantService, detailTaskExecutor);
+        ReflectionTestUtils.setField(articleDetailAssembler, "deadlineMillis", 500L);
+
+        // 未初始化的连接工厂不会建立连接，基准只调用只读的转换方法
+        CacheInvalidationBus invalidationBus = new CacheInvalidationBus(new StringRedisTemplate(),
+                new StaticListableBeanFactory().getBeanProvider(LocalCache.class));
+        CacheGenerations generations = new CacheGenerations(new StringRedisTemplate(), invalidationBus);
+        articleService = new ArticleService(articleMapper, tagMapper, articleTagMapper, likeMapper, favoriteMapper,
+                imageVariantService, articleDetailAssembler, listCacheDisabled(generations), userSummaryCache,
+                dictionaryCache, new CacheNamespaces(generations), invalidationBus);
+        convertToListResponse = MethodHandles.privateLookupIn(ArticleService.class, MethodHandles.lookup())
+                .findVirtual(ArticleService.class, "convertToListResponse",
+                        MethodType.methodType(ArticleListResponse.class, Article.class));
+
+        article = Fixtures.article();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        imageTaskExecutor.shutdown();
+        detailTaskExecutor.shutdown();
+        Files.deleteIfExists(storageRoot);
+    }
+
+    /**
+     * 列表页每篇文章的转换（作者、分类、逐个查询标签）
+     */
+    @Benchmark
+    public ArticleListResponse convertToListResponse() throws Throwable {
+        return (ArticleListResponse) convertToListResponse.invokeExact(articleService, article);
+    }
+
+    /**
+     * 详情组装：并行查询的调度和汇总开销
+     */
+    @Benchmark
+    public ArticleDetailResponse assembleDetail() {
+        return articleDetailAssembler.assemble(article, CURRENT_USER_ID);
+    }
+
+    private static ThreadPoolTaskExecutor executor(String prefix, int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix(prefix);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * TTL 为 0 的列表缓存直接执行查询
+     */
+    private static ArticleListCache listCacheDisabled(CacheGenerations generations) {
+        return new ArticleListCache(generations,
+                new RedisLoadingCaches(new RedisCodecs(new LettuceConnectionFactory(), 0), new StringRedisTemplate(),
+                        Runnable::run, Duration.ZERO, 1.0), Duration.ZERO, Duration.ZERO, 0);
+    }
+}
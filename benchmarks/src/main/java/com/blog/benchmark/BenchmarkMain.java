@@ -0,0 +1,43 @@
+package com.blog.benchmark;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 基准测试入口
+ * 参数与 JMH 命令行相同；未指定 -rf 时默认输出 JSON 结果到 jmh-result.json，便于比较不同版本
+ */
+public final class BenchmarkMain {
+
+    private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    // 只做查询、不运行基准的参数，交给 JMH 原生入口处理
+    private static final List<String> INFO_OPTIONS = List.of("-h", "-l", "-lp", "-lrf", "-lprof");
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (Arrays.stream(args).anyMatch(INFO_OPTIONS::contains)) {
+            Main.main(args);
+            return;
+        }
+
+        CommandLineOptions cli = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cli);
+        if (!cli.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+            if (!cli.getResult().hasValue()) {
+                options.result(DEFAULT_RESULT_FILE);
+            }
+        }
+        new Runner(options.build()).run();
+    }
+}
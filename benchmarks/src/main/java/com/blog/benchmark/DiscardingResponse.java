@@ -0,0 +1,44 @@
+package com.blog.benchmark;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * 丢弃响应体、只统计字节数的响应
+ * MockHttpServletResponse 的输出流逐字节写入，会掩盖被测代码本身的开销
+ */
+public class DiscardingResponse extends MockHttpServletResponse {
+
+    private long bytesWritten;
+
+    private final ServletOutputStream outputStream = new ServletOutputStream() {
+        @Override
+        public void write(int b) {
+            bytesWritten++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytesWritten += len;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+        }
+    };
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        return outputStream;
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+}
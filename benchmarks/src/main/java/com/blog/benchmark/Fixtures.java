@@ -0,0 +1,175 @@
+package com.blog.benchmark;
+
+import com.blog.dto.response.ArticleDetailResponse;
+import com.blog.dto.response.ArticleListResponse;
+import com.blog.entity.Article;
+import com.blog.entity.ArticleTag;
+import com.blog.entity.Category;
+import com.blog.entity.Tag;
+import com.blog.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 基准测试样例数据，字段长度接近真实文章
+ */
+public final class Fixtures {
+
+    public static final long ARTICLE_ID = 1L;
+    public static final long AUTHOR_ID = 7L;
+    public static final long CATEGORY_ID = 3L;
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2025, 11, 13, 10, 30);
+
+    private Fixtures() {
+    }
+
+    public static Article article() {
+        Article article = new Article();
+        article.setId(ARTICLE_ID);
+        article.setUserId(AUTHOR_ID);
+        article.setTitle("Spring Boot 3 中使用虚拟线程处理阻塞 I/O 的实践");
+        article.setSummary("从线程池上限、连接池大小和钉住问题三个角度分析请求处理模型的选择。");
+        article.setContent(content());
+        article.setContentHtml("<p>" + content() + "</p>");
+        // 非可衍生格式，避免测量缩略图回填
+        article.setCoverImage("/uploads/objects/ab/cd/abcd0000000000000000000000000000000000000000000000000000000000ef.webp");
+        article.setCategoryId(CATEGORY_ID);
+        article.setIsPublished(1);
+        article.setIsTop(0);
+        article.setIsFeatured(1);
+        article.setViewCount(1024);
+        article.setLikeCount(64);
+        article.setCommentCount(12);
+        article.setFavoriteCount(8);
+        article.setCreatedAt(TIME);
+        article.setUpdatedAt(TIME);
+        article.setPublishedAt(TIME);
+        article.setReviewStatus("APPROVED");
+        return article;
+    }
+
+    public static User author() {
+        User user = new User();
+        user.setId(AUTHOR_ID);
+        user.setUsername("caiji");
+        user.setNickname("菜鸡");
+        user.setEmail("caiji@example.com");
+        user.setAvatar("/uploads/objects/12/34/1234000000000000000000000000000000000000000000000000000000000000.png");
+        user.setBio("后端开发，关注性能和可观测性。");
+        user.setRole("USER");
+        return user;
+    }
+
+    public static Category category() {
+        Category category = new Category();
+        category.setId(CATEGORY_ID);
+        category.setName("后端");
+        category.setIcon("server");
+        return category;
+    }
+
+    public static List<Tag> tags(int count) {
+        List<Tag> tags = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Tag tag = new Tag();
+            tag.setId((long) i);
+            tag.setName("标签" + i);
+            tag.setColor("#40a9ff");
+            tags.add(tag);
+        }
+        return tags;
+    }
+
+    public static List<ArticleTag> articleTags(int count) {
+        List<ArticleTag> links = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            ArticleTag link = new ArticleTag();
+            link.setId((long) i);
+            link.setArticleId(ARTICLE_ID);
+            link.setTagId((long) i);
+            links.add(link);
+        }
+        return links;
+    }
+
+    public static ArticleListResponse listResponse(long id) {
+        ArticleListResponse response = new ArticleListResponse();
+        response.setId(id);
+        response.setTitle(article().getTitle());
+        response.setSummary(article().getSummary());
+        response.setCoverImage(article().getCoverImage());
+        response.setViewCount(1024);
+        response.setLikeCount(64);
+        response.setCommentCount(12);
+        response.setIsTop(false);
+        response.setIsFeatured(true);
+        response.setPublishedAt(TIME);
+        response.setAuthorName("菜鸡");
+        response.setAuthorAvatar(author().getAvatar());
+        response.setCategoryName("后端");
+        response.setTagNames(List.of("Java", "Spring", "性能"));
+        return response;
+    }
+
+    public static ArticleDetailResponse detailResponse() {
+        Article article = article();
+        ArticleDetailResponse response = new ArticleDetailResponse();
+        response.setId(article.getId());
+        response.setTitle(article.getTitle());
+        response.setSummary(article.getSummary());
+        response.setContent(article.getContent());
+        response.setContentHtml(article.getContentHtml());
+        response.setCoverImage(article.getCoverImage());
+        response.setViewCount(article.getViewCount());
+        response.setLikeCount(article.getLikeCount());
+        response.setCommentCount(article.getCommentCount());
+        response.setFavoriteCount(article.getFavoriteCount());
+        response.setIsLiked(true);
+        response.setIsFavorited(false);
+        response.setCreatedAt(TIME);
+        response.setUpdatedAt(TIME);
+        response.setPublishedAt(TIME);
+
+        ArticleDetailResponse.AuthorInfo author = new ArticleDetailResponse.AuthorInfo();
+        author.setId(AUTHOR_ID);
+        author.setUsername("caiji");
+        author.setNickname("菜鸡");
+        author.setAvatar(author().getAvatar());
+        author.setBio(author().getBio());
+        response.setAuthor(author);
+
+        ArticleDetailResponse.CategoryInfo category = new ArticleDetailResponse.CategoryInfo();
+        category.setId(CATEGORY_ID);
+        category.setName("后端");
+        category.setIcon("server");
+        response.setCategory(category);
+
+        List<ArticleDetailResponse.TagInfo> tags = new ArrayList<>();
+        for (Tag tag : tags(3)) {
+            ArticleDetailResponse.TagInfo info = new ArticleDetailResponse.TagInfo();
+            info.setId(tag.getId());
+            info.setName(tag.getName());
+            info.setColor(tag.getColor());
+            tags.add(info);
+        }
+        response.setTags(tags);
+        return response;
+    }
+
+    /**
+     * 约 8KB 的 Markdown 正文
+     */
+    private static String content() {
+        StringBuilder content = new StringBuilder("# 背景\n\n");
+        for (int i = 0; i < 40; i++) {
+            content.append("请求处理中的数据库、Redis 和邮件调用都是阻塞 I/O，线程数决定了并发上限。")
+                    .append("This paragraph mixes ASCII and CJK text. ")
+                    .append('\n');
+        }
+        content.append("\n![示意图](/uploads/objects/ab/cd/abcd.png)\n");
+        return content.toString();
+    }
+}
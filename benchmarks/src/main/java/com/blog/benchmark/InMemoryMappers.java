@@ -0,0 +1,79 @@
+package com.blog.benchmark;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 内存版 Mapper
+ * 用动态代理实现 Mapper 接口，按主键返回预置数据，使基准测试只测量业务代码本身，不包含数据库往返
+ */
+public final class InMemoryMappers {
+
+    private static final MybatisConfiguration CONFIGURATION = new MybatisConfiguration();
+
+    private InMemoryMappers() {
+    }
+
+    /**
+     * 初始化实体元数据，LambdaQueryWrapper 解析列名时需要
+     */
+    public static void registerEntities(Class<?>... entityTypes) {
+        MapperBuilderAssistant assistant = new MapperBuilderAssistant(CONFIGURATION, "");
+        for (Class<?> entityType : entityTypes) {
+            if (TableInfoHelper.getTableInfo(entityType) == null) {
+                TableInfoHelper.initTableInfo(assistant, entityType);
+            }
+        }
+    }
+
+    /**
+     * 创建 Mapper：selectById / selectBatchIds 查 rows，selectList 返回 listResult，
+     * selectCount 返回 countResult，增删改返回 1，其余方法不支持
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, M extends BaseMapper<T>> M create(Class<M> mapperType, Map<Long, T> rows,
+                                                        List<T> listResult, long countResult) {
+        Map<Long, T> table = new ConcurrentHashMap<>(rows);
+        return (M) Proxy.newProxyInstance(mapperType.getClassLoader(), new Class<?>[]{mapperType},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "selectById" -> table.get(((Number) args[0]).longValue());
+                    case "selectBatchIds" -> selectBatch(table, (Collection<?>) args[0]);
+                    case "selectList" -> listResult;
+                    case "selectCount" -> countResult;
+                    case "insert", "updateById", "deleteById", "incrementViewCount" -> 1;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "InMemory" + mapperType.getSimpleName();
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    public static <T, M extends BaseMapper<T>> M create(Class<M> mapperType, List<T> rows,
+                                                        Function<T, Long> id) {
+        Map<Long, T> table = new ConcurrentHashMap<>();
+        rows.forEach(row -> table.put(id.apply(row), row));
+        return create(mapperType, table, Collections.emptyList(), 0);
+    }
+
+    private static <T> List<T> selectBatch(Map<Long, T> table, Collection<?> ids) {
+        List<T> result = new ArrayList<>(ids.size());
+        for (Object id : ids) {
+            T row = table.get(((Number) id).longValue());
+            if (row != null) {
+                result.add(row);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,74 @@
+package com.blog.benchmark;
+
+import com.blog.common.Constants;
+import com.blog.security.JwtAuthenticationFilter;
+import com.blog.security.JwtTokenProvider;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT 生成、解析和认证过滤器
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    // 与生产配置相同长度的 512 位密钥（HS512）
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-benchmark-key";
+
+    private static final FilterChain NOOP_CHAIN = (request, response) -> {
+    };
+
+    private JwtTokenProvider jwtTokenProvider;
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtTokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(jwtTokenProvider, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtTokenProvider, "expiration", TimeUnit.DAYS.toMillis(1));
+        ReflectionTestUtils.setField(jwtTokenProvider, "refreshExpiration", TimeUnit.DAYS.toMillis(7));
+        jwtAuthenticationFilter = new JwtAuthenticationFilter(jwtTokenProvider);
+        token = jwtTokenProvider.generateToken(Fixtures.AUTHOR_ID, "caiji", "USER");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtTokenProvider.generateToken(Fixtures.AUTHOR_ID, "caiji", "USER");
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtTokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public Long getUserIdFromToken() {
+        return jwtTokenProvider.getUserIdFromToken(token);
+    }
+
+    /**
+     * 完整的过滤器路径：校验一次、解析三次 Claims、写入 SecurityContext
+     */
+    @Benchmark
+    public Authentication authenticationFilter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/articles/1");
+        request.addHeader(Constants.TOKEN_HEADER, Constants.TOKEN_PREFIX + token);
+        jwtAuthenticationFilter.doFilter(request, new MockHttpServletResponse(), NOOP_CHAIN);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
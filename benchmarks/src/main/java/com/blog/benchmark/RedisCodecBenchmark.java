@@ -0,0 +1,91 @@
+package com.blog.benchmark;
+
+import com.blog.cache.CodecRedisSerializer;
+import com.blog.cache.Lz4Codec;
+import com.blog.cache.RedisCodec;
+import com.blog.cache.RedisCodecs;
+import com.blog.cache.SmileCodec;
+import com.blog.common.PageResult;
+import com.blog.config.RedisConfig;
+import com.blog.dto.response.ArticleDetailResponse;
+import com.blog.dto.response.ArticleListResponse;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 缓存值编码对比：RedisConfig 中带类型信息的 Jackson JSON 与 RedisCodecs 的 Smile / Smile+LZ4
+ * 每组参数的编码后字节数在初始化时打印；详情正文由重复段落组成，LZ4 压缩率会高于真实文章
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RedisCodecBenchmark {
+
+    @Param({"jackson-typed", "smile", "smile-lz4"})
+    public String codec;
+
+    @Param({"detail", "page"})
+    public String payload;
+
+    private RedisSerializer<Object> serializer;
+    private Object value;
+    private byte[] encoded;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        ObjectMapper smileMapper = RedisCodecs.createSmileMapper();
+        if ("page".equals(payload)) {
+            List<ArticleListResponse> records = new ArrayList<>();
+            for (long id = 1; id <= 10; id++) {
+                records.add(Fixtures.listResponse(id));
+            }
+            value = new PageResult<>(records, 100L, 1L, 10L);
+        } else {
+            value = Fixtures.detailResponse();
+        }
+
+        serializer = switch (codec) {
+            // 未初始化的连接工厂只用于通过 RedisTemplate 的参数校验，不会建立连接
+            case "jackson-typed" -> (RedisSerializer<Object>) new RedisConfig()
+                    .redisTemplate(new LettuceConnectionFactory()).getValueSerializer();
+            case "smile" -> new CodecRedisSerializer<>(smileCodec(smileMapper));
+            case "smile-lz4" -> new CodecRedisSerializer<>(new Lz4Codec<>(smileCodec(smileMapper), 1024));
+            default -> throw new IllegalArgumentException(codec);
+        };
+        encoded = serializer.serialize(value);
+        if (!value.equals(serializer.deserialize(encoded))) {
+            throw new IllegalStateException(codec + " 编解码结果与原值不一致");
+        }
+        System.out.printf("%n%s/%s: %d 字节%n", codec, payload, encoded.length);
+    }
+
+    private RedisCodec<Object> smileCodec(ObjectMapper smileMapper) {
+        TypeReference<?> type = "page".equals(payload)
+                ? new TypeReference<PageResult<ArticleListResponse>>() {
+                }
+                : new TypeReference<ArticleDetailResponse>() {
+                };
+        return new SmileCodec<>(smileMapper, smileMapper.constructType(type));
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return serializer.serialize(value);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return serializer.deserialize(encoded);
+    }
+}
@@ -0,0 +1,98 @@
+package com.blog.benchmark;
+
+import com.blog.common.PageResult;
+import com.blog.common.Result;
+import com.blog.config.JacksonConfig;
+import com.blog.config.RedisConfig;
+import com.blog.dto.response.ArticleDetailResponse;
+import com.blog.dto.response.ArticleListResponse;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 接口响应的 Jackson 序列化（JacksonConfig + application.yml 中的 spring.jackson 设置）
+ * 和 RedisConfig 中 RedisTemplate 的值序列化
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private static final TypeReference<Result<ArticleDetailResponse>> DETAIL_TYPE = new TypeReference<>() {
+    };
+
+    private ObjectMapper objectMapper;
+    private RedisSerializer<Object> redisSerializer;
+    private Result<PageResult<ArticleListResponse>> pageResult;
+    private Result<ArticleDetailResponse> detailResult;
+    private byte[] detailJson;
+    private byte[] detailRedisValue;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() throws Exception {
+        // 与 Spring Boot 自动配置的构建器一致：spring.jackson.default-property-inclusion、write-dates-as-timestamps
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder()
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        objectMapper = new JacksonConfig().objectMapper(builder);
+
+        // 未初始化的连接工厂只用于通过 RedisTemplate 的参数校验，不会建立连接
+        RedisTemplate<String, Object> redisTemplate = new RedisConfig().redisTemplate(new LettuceConnectionFactory());
+        redisSerializer = (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+
+        List<ArticleListResponse> records = new ArrayList<>();
+        for (long id = 1; id <= 10; id++) {
+            records.add(Fixtures.listResponse(id));
+        }
+        pageResult = Result.success(new PageResult<>(records, 100L, 1L, 10L));
+        detailResult = Result.success(Fixtures.detailResponse());
+        detailJson = objectMapper.writeValueAsBytes(detailResult);
+        detailRedisValue = redisSerializer.serialize(Fixtures.detailResponse());
+    }
+
+    /**
+     * 文章列表接口（10 条）
+     */
+    @Benchmark
+    public byte[] writeArticlePage() throws Exception {
+        return objectMapper.writeValueAsBytes(pageResult);
+    }
+
+    @Benchmark
+    public byte[] writeArticleDetail() throws Exception {
+        return objectMapper.writeValueAsBytes(detailResult);
+    }
+
+    @Benchmark
+    public Result<ArticleDetailResponse> readArticleDetail() throws Exception {
+        return objectMapper.readValue(detailJson, DETAIL_TYPE);
+    }
+
+    /**
+     * RedisTemplate 值序列化（带类型信息的 Jackson）
+     */
+    @Benchmark
+    public byte[] redisSerialize() {
+        return redisSerializer.serialize(detailResult.getData());
+    }
+
+    @Benchmark
+    public Object redisDeserialize() {
+        return redisSerializer.deserialize(detailRedisValue);
+    }
+}
@@ -0,0 +1,123 @@
+package com.blog.benchmark;
+
+import com.blog.mapper.FileObjectMapper;
+import com.blog.service.FileStorageService;
+import com.blog.storage.LocalBlobStore;
+import com.blog.storage.UploadResourceHandler;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * /uploads 文件服务：UploadResourceHandler 与 Spring 默认的 ResourceHttpRequestHandler 对比
+ * Mock 请求没有 sendfile，两者都走用户态复制，这里比较的是处理器本身的开销（元数据、条件请求、复制）；
+ * 条件请求统一使用 If-Modified-Since（ResourceHttpRequestHandler 默认不生成 ETag）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UploadHandlerBenchmark {
+
+    private static final String KEY =
+            "objects/ab/cd/abcd000000000000000000000000000000000000000000000000000000000001.jpg";
+
+    @Param({"16384", "1048576"})
+    public int fileSize;
+
+    private Path root;
+    private UploadResourceHandler uploadResourceHandler;
+    private ResourceHttpRequestHandler resourceHttpRequestHandler;
+    private String uploadLastModified;
+    private String resourceLastModified;
+
+    @Setup
+    public void setup() throws Exception {
+        root = Files.createTempDirectory("blog-bench-uploads-");
+        Path file = root.resolve(KEY);
+        Files.createDirectories(file.getParent());
+        byte[] data = new byte[fileSize];
+        new Random(42).nextBytes(data);
+        Files.write(file, data);
+
+        LocalBlobStore blobStore = new LocalBlobStore(root);
+        FileObjectMapper fileObjectMapper = InMemoryMappers.create(FileObjectMapper.class,
+                Map.of(), Collections.emptyList(), 0);
+        uploadResourceHandler = new UploadResourceHandler(new FileStorageService(fileObjectMapper, blobStore), blobStore);
+
+        resourceHttpRequestHandler = new ResourceHttpRequestHandler();
+        resourceHttpRequestHandler.setLocations(List.of(new FileSystemResource(root.toString() + "/")));
+        resourceHttpRequestHandler.setServletContext(new MockServletContext());
+        resourceHttpRequestHandler.afterPropertiesSet();
+
+        uploadLastModified = uploadGet(null).getHeader(HttpHeaders.LAST_MODIFIED);
+        resourceLastModified = resourceGet(null).getHeader(HttpHeaders.LAST_MODIFIED);
+        if (uploadGet(null).getBytesWritten() != fileSize || resourceGet(null).getBytesWritten() != fileSize
+                || uploadGet(uploadLastModified).getStatus() != 304 || resourceGet(resourceLastModified).getStatus() != 304) {
+            throw new IllegalStateException("处理器响应与预期不符");
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        FileSystemUtils.deleteRecursively(root);
+    }
+
+    @Benchmark
+    public DiscardingResponse uploadHandlerGet() throws Exception {
+        return uploadGet(null);
+    }
+
+    @Benchmark
+    public DiscardingResponse uploadHandlerNotModified() throws Exception {
+        return uploadGet(uploadLastModified);
+    }
+
+    @Benchmark
+    public DiscardingResponse resourceHandlerGet() throws Exception {
+        return resourceGet(null);
+    }
+
+    @Benchmark
+    public DiscardingResponse resourceHandlerNotModified() throws Exception {
+        return resourceGet(resourceLastModified);
+    }
+
+    private DiscardingResponse uploadGet(String ifModifiedSince) throws Exception {
+        DiscardingResponse response = new DiscardingResponse();
+        uploadResourceHandler.handleRequest(request(ifModifiedSince), response);
+        return response;
+    }
+
+    private DiscardingResponse resourceGet(String ifModifiedSince) throws Exception {
+        MockHttpServletRequest request = request(ifModifiedSince);
+        request.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, KEY);
+        DiscardingResponse response = new DiscardingResponse();
+        resourceHttpRequestHandler.handleRequest(request, response);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String ifModifiedSince) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/uploads/" + KEY);
+        if (ifModifiedSince != null) {
+            request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, ifModifiedSince);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,6 @@
+-- 删除 tb_file_object.ref_count：该列只增不减，上传文件是否仍被使用由回收任务扫描引用判断（已有库升级时执行一次）
+USE blog;
+
+ALTER TABLE tb_file_object DROP COLUMN ref_count;
+
+SELECT '上传文件对象表升级完成！' AS result;
@@ -11,5 +11,6 @@ ALTER TABLE tb_like COMMENT '点赞表';
 ALTER TABLE tb_favorite COMMENT '收藏表';
 ALTER TABLE tb_follow COMMENT '关注表';
 ALTER TABLE tb_notification COMMENT '通知表';
+ALTER TABLE tb_file_object COMMENT '上传文件对象表';
 
 SELECT '表备注修复完成！' AS result;
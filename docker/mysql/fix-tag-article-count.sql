@@ -0,0 +1,13 @@
+-- 按已发布文章重新统计标签文章数（此前 article_count 未维护，升级后执行一次）
+USE blog;
+
+UPDATE tb_tag t
+SET article_count = (
+    SELECT COUNT(*)
+    FROM tb_article_tag at
+             JOIN tb_article a ON a.id = at.article_id
+    WHERE at.tag_id = t.id
+      AND a.is_published = 1
+);
+
+SELECT '标签文章数统计完成！' AS result;
@@ -6,6 +6,7 @@ USE blog;
 SET FOREIGN_KEY_CHECKS=0;
 
 -- 删除已存在的表（可重复执行）
+DROP TABLE IF EXISTS tb_file_object;
 DROP TABLE IF EXISTS tb_notification;
 DROP TABLE IF EXISTS tb_follow;
 DROP TABLE IF EXISTS tb_favorite;
@@ -74,6 +75,10 @@ CREATE TABLE tb_article (
                             created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
                             updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
                             published_at TIMESTAMP NULL COMMENT '发布时间',
+                            review_status VARCHAR(20) DEFAULT 'PENDING' COMMENT '审核状态：PENDING、APPROVED、REJECTED',
+                            reviewer_id BIGINT NULL COMMENT '审核人ID',
+                            reviewed_at TIMESTAMP NULL COMMENT '审核时间',
+                            review_note VARCHAR(500) COMMENT '审核意见',
 
                             FOREIGN KEY (user_id) REFERENCES tb_user(id) ON DELETE CASCADE,
                             FOREIGN KEY (category_id) REFERENCES tb_category(id) ON DELETE SET NULL,
@@ -178,6 +183,18 @@ CREATE TABLE tb_notification (
                                  INDEX idx_user_id (user_id, is_read, created_at DESC)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='通知表';
 
+CREATE TABLE tb_file_object (
+                                id BIGINT PRIMARY KEY AUTO_INCREMENT COMMENT 'ID',
+                                hash CHAR(64) NOT NULL COMMENT '文件内容SHA-256',
+                                extension VARCHAR(10) NOT NULL COMMENT '扩展名',
+                                content_type VARCHAR(100) COMMENT '文件类型',
+                                size BIGINT NOT NULL COMMENT '文件大小（字节）',
+                                created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+                                updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+
+                                UNIQUE KEY uk_hash (hash)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='上传文件对象表';
+
 -- ===================== 插入初始数据 =====================
 INSERT INTO tb_user (username, password, email, nickname, role) VALUES
     ('admin', '$2a$10$N.zmdr9k7uOCQb376NoUnuTJ8iAt6Z5EHsM8lE9lBOsl7iAt6Z5EH', 'admin@blog.com', '管理员', 'ADMIN');
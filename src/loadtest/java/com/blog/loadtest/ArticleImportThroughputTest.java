@@ -0,0 +1,163 @@
+package com.blog.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.io.ByteArrayOutputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 文章批量导入：NDJSON 导入 loadtest.import-articles 篇（含已有和新标签、两条无效记录），
+ * 以及一个 Markdown zip，校验写入结果和标签文章数，吞吐写入 target/loadtest/import.txt
+ */
+@Slf4j
+class ArticleImportThroughputTest extends EmbeddedEnvironmentTest {
+
+    private static final Path REPORT_DIR = Paths.get("target", "loadtest");
+    private static final int NEW_TAGS = 10;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Value("${loadtest.import-articles}")
+    private int articles;
+
+    private static String adminToken;
+    private static String categoryName;
+
+    @BeforeEach
+    void admin() throws Exception {
+        if (adminToken != null) {
+            return;
+        }
+        adminToken = adminToken("imp");
+        categoryName = jdbcTemplate.queryForObject("SELECT name FROM tb_category ORDER BY id LIMIT 1", String.class);
+    }
+
+    @Test
+    void ndjson() throws Exception {
+        StringBuilder body = new StringBuilder();
+        int expectedLinks = 0;
+        for (int i = 0; i < articles; i++) {
+            Map<String, Object> record = new LinkedHashMap<>();
+            record.put("title", "imp 导入 " + i);
+            record.put("summary", "第 " + i + " 篇导入文章");
+            record.put("content", "# 导入文章 " + i + "\n\n" + "导入的正文段落，模拟迁移的历史文章。\n\n".repeat(20));
+            record.put("category", categoryName);
+            List<String> tags = new ArrayList<>();
+            tags.add("imp-tag-" + (i % 30));
+            tags.add("imp-new-" + (i % NEW_TAGS));
+            record.put("tags", tags);
+            expectedLinks += tags.size();
+            body.append(objectMapper.writeValueAsString(record)).append('\n');
+            if (i == articles / 2) {
+                // 无效记录：缺少正文、字段类型错误，跳过后继续
+                body.append("{\"title\": \"imp 无效\"}\n");
+                body.append("{\"title\": \"imp 无效\", \"content\": \"x\", \"tagIds\": \"not-a-list\"}\n");
+            }
+        }
+        byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+
+        long start = System.nanoTime();
+        JsonNode progress = await(submit("application/x-ndjson", bytes));
+        long nanos = System.nanoTime() - start;
+
+        assertEquals("COMPLETED", progress.path("state").asText(), progress.toString());
+        assertEquals(articles, progress.path("imported").asLong());
+        assertEquals(2, progress.path("failed").asLong());
+        assertEquals(NEW_TAGS, progress.path("tagsCreated").asLong());
+        assertEquals(articles, count("SELECT COUNT(*) FROM tb_article WHERE title LIKE 'imp 导入 %'"));
+        assertEquals(expectedLinks, count("SELECT COUNT(*) FROM tb_article_tag at JOIN tb_article a "
+                + "ON a.id = at.article_id WHERE a.title LIKE 'imp 导入 %'"));
+        assertEquals(count("SELECT COUNT(*) FROM tb_article_tag at JOIN tb_tag t ON t.id = at.tag_id "
+                        + "WHERE t.name = 'imp-new-0'"),
+                count("SELECT article_count FROM tb_tag WHERE name = 'imp-new-0'"));
+
+        String report = String.format("NDJSON 导入 %d 篇, %.1f MB, 服务端 %d ms (%d 篇/秒), 含提交和轮询 %.0f ms%n",
+                articles, bytes.length / 1048576.0, progress.path("elapsedMs").asLong(),
+                progress.path("perSecond").asLong(), nanos / 1e6);
+        Files.createDirectories(REPORT_DIR);
+        Files.writeString(REPORT_DIR.resolve("import.txt"), report);
+        log.info("批量导入: {}", report);
+    }
+
+    @Test
+    void markdownZip() throws Exception {
+        ByteArrayOutputStream zip = new ByteArrayOutputStream();
+        try (ZipOutputStream out = new ZipOutputStream(zip, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < 3; i++) {
+                out.putNextEntry(new ZipEntry("posts/imp-md-" + i + ".md"));
+                out.write(("---\ntitle: \"imp Markdown " + i + "\"\ncategory: " + categoryName
+                        + "\ntags:\n  - imp-tag-1\n  - imp-md-tag\ndate: 2021-03-0" + (i + 1) + " 08:00:00\n---\n"
+                        + "# 标题\n\n正文 " + i + "\n").getBytes(StandardCharsets.UTF_8));
+                out.closeEntry();
+            }
+            out.putNextEntry(new ZipEntry("posts/readme.txt"));
+            out.write("ignored".getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+        }
+
+        JsonNode progress = await(submit("application/zip", zip.toByteArray()));
+
+        assertEquals("COMPLETED", progress.path("state").asText(), progress.toString());
+        assertEquals(3, progress.path("imported").asLong());
+        assertEquals(3, count("SELECT COUNT(*) FROM tb_article a JOIN tb_article_tag at ON at.article_id = a.id "
+                + "JOIN tb_tag t ON t.id = at.tag_id WHERE a.title LIKE 'imp Markdown %' AND t.name = 'imp-md-tag'"));
+        assertEquals(1, count("SELECT COUNT(*) FROM tb_article WHERE title = 'imp Markdown 0' "
+                + "AND published_at = '2021-03-01 08:00:00'"));
+    }
+
+    private String submit(String contentType, byte[] body) throws Exception {
+        JsonNode progress = send(HttpRequest.newBuilder(baseUri().resolve("/api/admin/articles/import"))
+                .header("Content-Type", contentType)
+                .header("Authorization", "Bearer " + adminToken)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build());
+        return progress.path("id").asText();
+    }
+
+    /**
+     * 轮询进度直到任务结束
+     */
+    private JsonNode await(String jobId) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofMinutes(5).toNanos();
+        while (true) {
+            JsonNode progress = send(HttpRequest.newBuilder(baseUri().resolve("/api/admin/articles/import/" + jobId))
+                    .header("Authorization", "Bearer " + adminToken)
+                    .build());
+            String state = progress.path("state").asText();
+            if (!"QUEUED".equals(state) && !"RUNNING".equals(state) || System.nanoTime() > deadline) {
+                return progress;
+            }
+            Thread.sleep(100);
+        }
+    }
+
+    private JsonNode send(HttpRequest request) throws Exception {
+        JsonNode response = objectMapper.readTree(client.send(request, HttpResponse.BodyHandlers.ofByteArray()).body());
+        assertEquals(200, response.path("code").asInt(), response.toString());
+        return response.path("data");
+    }
+
+    private long count(String sql) {
+        Long value = jdbcTemplate.queryForObject(sql, Long.class);
+        return value == null ? 0 : value;
+    }
+}
@@ -0,0 +1,145 @@
+package com.blog.loadtest;
+
+import com.blog.monitor.SqlStatsRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 端到端压测：在随机端口启动完整应用，按读多写少的混合比例施压，报告写入 target/loadtest
+ * 运行：mvn -Ploadtest test
+ */
+@Slf4j
+class BlogLoadTest extends EmbeddedEnvironmentTest {
+
+    private static final Path REPORT_DIR = Paths.get("target", "loadtest");
+
+    @Autowired
+    private SqlStatsRegistry sqlStatsRegistry;
+
+    @Value("${loadtest.users}")
+    private int users;
+
+    @Value("${loadtest.articles}")
+    private int articles;
+
+    @Value("${loadtest.comments-per-article}")
+    private int commentsPerArticle;
+
+    @Value("${loadtest.concurrency}")
+    private int concurrency;
+
+    @Value("${loadtest.rate}")
+    private double rate;
+
+    @Value("${loadtest.warmup}")
+    private Duration warmup;
+
+    @Value("${loadtest.duration}")
+    private Duration duration;
+
+    @Value("${loadtest.max-error-rate}")
+    private double maxErrorRate;
+
+    @Test
+    void mixedWorkload() throws Exception {
+        LoadTestData data = seeder("lt").seed(users, articles, commentsPerArticle);
+
+        LoadGenerator generator = new LoadGenerator(scenarios(), objectMapper);
+        List<LoadGenerator.ScenarioResult> results = generator.run(data, concurrency, rate, warmup, duration,
+                sqlStatsRegistry::reset);
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("users", users);
+        settings.put("articles", articles);
+        settings.put("concurrency", concurrency);
+        settings.put("targetRate", rate);
+        settings.put("warmup", warmup.toString());
+        settings.put("duration", duration.toString());
+        settings.put("cpus", Runtime.getRuntime().availableProcessors());
+        settings.put("javaVersion", System.getProperty("java.version"));
+
+        LoadTestReport report = new LoadTestReport(settings, results, sqlStatsRegistry.snapshot());
+        report.write(REPORT_DIR, objectMapper);
+        // 服务端视角的指标（接口延迟、连接池、缓存、线程池队列），与客户端测得的延迟对照；应用端口上需要管理员
+        Files.write(REPORT_DIR.resolve("metrics.prom"), HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(baseUri().resolve("/actuator/prometheus"))
+                        .header("Authorization", "Bearer " + adminToken("lt-admin"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray()).body());
+        log.info("压测报告已写入 {}\n{}", REPORT_DIR.toAbsolutePath(), report.toText());
+
+        double errorRate = (double) report.totalErrors() / Math.max(1, report.totalRequests());
+        assertTrue(errorRate <= maxErrorRate,
+                "错误率 " + errorRate + " 超过 " + maxErrorRate + "，详见 " + REPORT_DIR.resolve("report.txt"));
+    }
+
+    /**
+     * 混合负载：读接口占大部分，写接口覆盖发文、评论、点赞、登录和发送验证码
+     */
+    private List<Scenario> scenarios() {
+        AtomicLong mailSequence = new AtomicLong();
+        return List.of(
+                new Scenario("article-list", "GET /api/articles", 25,
+                        d -> d.get("/api/articles?page=" + (1 + ThreadLocalRandom.current().nextInt(5)) + "&size=10", null)),
+                new Scenario("article-list-by-tag", "GET /api/articles", 5,
+                        d -> d.get("/api/articles?tagId=" + d.randomTagId(), null)),
+                new Scenario("article-detail", "GET /api/articles/{id}", 20,
+                        d -> d.get("/api/articles/" + d.randomArticleId(), null)),
+                new Scenario("article-detail-auth", "GET /api/articles/{id}", 10,
+                        d -> d.get("/api/articles/" + d.randomArticleId(), d.randomAccount().token())),
+                new Scenario("comment-list", "GET /api/comments", 10,
+                        d -> d.get("/api/comments?articleId=" + d.randomArticleId(), null)),
+                new Scenario("category-list", "GET /api/categories", 5,
+                        d -> d.get("/api/categories", null)),
+                new Scenario("tag-list", "GET /api/tags", 5,
+                        d -> d.get("/api/tags", null)),
+                new Scenario("login", "POST /api/auth/login", 3,
+                        d -> {
+                            LoadTestData.Account account = d.randomAccount();
+                            return d.post("/api/auth/login", null,
+                                    Map.of("username", account.username(), "password", account.password()));
+                        }),
+                new Scenario("article-create", "POST /api/articles", 2,
+                        d -> d.post("/api/articles", d.randomAccount().token(), Map.of(
+                                "title", "压测发布 " + System.nanoTime(),
+                                "summary", "压测",
+                                "content", "# 压测\n\n压测发布的文章正文。",
+                                "categoryId", 1,
+                                "tagIds", List.of(d.randomTagId()),
+                                "isPublished", true))),
+                new Scenario("comment-create", "POST /api/comments", 6,
+                        d -> d.post("/api/comments", d.randomAccount().token(), Map.of(
+                                "articleId", d.randomArticleId(),
+                                "content", "压测评论 " + System.nanoTime()))),
+                new Scenario("article-like-toggle", "POST /api/articles/{id}/like", 7,
+                        d -> {
+                            LoadTestData.Account account = d.randomAccount();
+                            long articleId = d.randomArticleId();
+                            String path = "/api/articles/" + articleId + "/like";
+                            return d.toggleLike(account, articleId)
+                                    ? d.post(path, account.token(), null)
+                                    : d.delete(path, account.token());
+                        }),
+                new Scenario("send-captcha", "POST /api/auth/send-captcha", 2,
+                        d -> d.post("/api/auth/send-captcha?email=lt_mail_" + mailSequence.incrementAndGet()
+                                + "@loadtest.local", null, null))
+        );
+    }
+}
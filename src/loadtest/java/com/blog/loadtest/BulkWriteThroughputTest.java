@@ -0,0 +1,129 @@
+package com.blog.loadtest;
+
+import com.blog.datasource.BatchWriter;
+import com.blog.entity.Like;
+import com.blog.mapper.LikeMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 批量写入吞吐（行/秒）：逐行 INSERT 与 BATCH 执行器、多行 VALUES、驱动 rewriteBatchedStatements 的对比，
+ * 结果写入 target/loadtest/bulk-write.txt。写入 tb_like（无外键），每种方式使用不同的 user_id
+ */
+@Slf4j
+class BulkWriteThroughputTest extends EmbeddedEnvironmentTest {
+
+    private static final Path REPORT_DIR = Paths.get("target", "loadtest");
+    private static final String REWRITE = "&rewriteBatchedStatements=true";
+    private static final long USER_ID_BASE = 900_000_000L;
+
+    @Autowired
+    private LikeMapper likeMapper;
+
+    @Autowired
+    private BatchWriter batchWriter;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${spring.datasource.url}")
+    private String jdbcUrl;
+
+    @Value("${loadtest.bulk-rows}")
+    private int rows;
+
+    private long nextUserId = USER_ID_BASE;
+
+    @Test
+    void rowsPerSecond() throws Exception {
+        Map<String, ToIntFunction<List<Like>>> modes = new LinkedHashMap<>();
+        // 改动前：SIMPLE 执行器逐行 insert，同一事务
+        modes.put("single-row insert (SIMPLE)", likes -> transactionTemplate.execute(status -> {
+            int affected = 0;
+            for (Like like : likes) {
+                affected += likeMapper.insert(like);
+            }
+            return affected;
+        }));
+        modes.put("JDBC batch, rewrite off", likes -> jdbcBatch(likes, jdbcUrl.replace(REWRITE, "")));
+        modes.put("JDBC batch, rewrite on", likes -> jdbcBatch(likes, jdbcUrl));
+        modes.put("BatchWriter.execute (BATCH)", likes -> batchWriter.execute(LikeMapper.class, likes, LikeMapper::insert));
+        modes.put("BatchWriter.insertValues", likes -> batchWriter.insertValues(LikeMapper.class, likes,
+                LikeMapper::insertBatch));
+
+        // 预热：类加载、语句解析和连接
+        modes.values().forEach(mode -> mode.applyAsInt(likes(Math.min(rows, 500))));
+
+        StringBuilder report = new StringBuilder(String.format("%-32s %10s %12s %14s%n", "mode", "rows", "millis", "rows/s"));
+        for (Map.Entry<String, ToIntFunction<List<Like>>> mode : modes.entrySet()) {
+            List<Like> likes = likes(rows);
+            long start = System.nanoTime();
+            mode.getValue().applyAsInt(likes);
+            long nanos = System.nanoTime() - start;
+
+            Long written = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_like WHERE user_id = ?", Long.class,
+                    likes.get(0).getUserId());
+            assertEquals(rows, written, mode.getKey());
+            report.append(String.format("%-32s %10d %12.1f %14.0f%n", mode.getKey(), rows, nanos / 1e6,
+                    rows * 1e9 / nanos));
+        }
+        jdbcTemplate.update("DELETE FROM tb_like WHERE user_id >= ?", USER_ID_BASE);
+
+        Files.createDirectories(REPORT_DIR);
+        Files.writeString(REPORT_DIR.resolve("bulk-write.txt"), report);
+        log.info("批量写入吞吐:\n{}", report);
+    }
+
+    /**
+     * 一个新 user_id 下的 count 条点赞
+     */
+    private List<Like> likes(int count) {
+        long userId = nextUserId++;
+        List<Like> likes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Like like = new Like();
+            like.setUserId(userId);
+            like.setTargetType("ARTICLE");
+            like.setTargetId((long) i + 1);
+            likes.add(like);
+        }
+        return likes;
+    }
+
+    private int jdbcBatch(List<Like> likes, String url) {
+        try (Connection connection = DriverManager.getConnection(url, "root", "")) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO tb_like (user_id, target_type, target_id) VALUES (?, ?, ?)")) {
+                for (Like like : likes) {
+                    statement.setLong(1, like.getUserId());
+                    statement.setString(2, like.getTargetType());
+                    statement.setLong(3, like.getTargetId());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+            connection.commit();
+            return likes.size();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
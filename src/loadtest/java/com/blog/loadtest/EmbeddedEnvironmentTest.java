@@ -0,0 +1,79 @@
+package com.blog.loadtest;
+
+import com.blog.cache.CacheInvalidationBus;
+import com.blog.service.DictionaryCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+
+/**
+ * 在内嵌环境中以随机端口启动完整应用的测试基类。
+ * 子类共享同一个 Spring 上下文和数据库，各自用不同前缀准备数据
+ */
+// 测试默认不创建指标导出，压测需要 /actuator/prometheus
+@AutoConfigureObservability
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+abstract class EmbeddedEnvironmentTest {
+
+    @DynamicPropertySource
+    static void environment(DynamicPropertyRegistry registry) throws Exception {
+        LoadTestEnvironment.start();
+        LoadTestEnvironment.registerProperties(registry);
+    }
+
+    @LocalServerPort
+    protected int port;
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    protected ObjectMapper objectMapper;
+
+    @Autowired
+    protected CacheInvalidationBus invalidationBus;
+
+    @Autowired
+    protected DictionaryCache dictionaryCache;
+
+    protected URI baseUri() {
+        return URI.create("http://127.0.0.1:" + port);
+    }
+
+    protected LoadTestSeeder seeder(String prefix) {
+        // 字典的失效消息只做标记，数据准备完后立即重新加载，不等调度合并
+        return new LoadTestSeeder(prefix, baseUri(), jdbcTemplate, objectMapper, () -> {
+            invalidationBus.invalidateAll();
+            dictionaryCache.refresh();
+        });
+    }
+
+    /**
+     * 以 prefix 注册一个账号并设为管理员，返回其 Token（角色写在 Token 中，改角色后重新登录）
+     */
+    protected String adminToken(String prefix) throws Exception {
+        LoadTestData.Account account = seeder(prefix).seed(1, 0, 0).randomAccount();
+        jdbcTemplate.update("UPDATE tb_user SET role = 'ADMIN' WHERE id = ?", account.id());
+        HttpResponse<byte[]> login = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(baseUri().resolve("/api/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(
+                                Map.of("username", account.username(), "password", account.password()))))
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        return objectMapper.readTree(login.body()).path("data").path("accessToken").asText();
+    }
+}
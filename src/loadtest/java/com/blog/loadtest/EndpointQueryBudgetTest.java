@@ -0,0 +1,78 @@
+package com.blog.loadtest;
+
+import com.blog.support.QueryBudget;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * 各公开接口的 SQL 条数预算，依赖 X-Sql-Count 响应头（application-loadtest.yml 中开启）。
+ * 接口改动使查询变多时在这里失败；优化后应同步收紧预算
+ */
+class EndpointQueryBudgetTest extends EmbeddedEnvironmentTest {
+
+    private static LoadTestData data;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @BeforeEach
+    void seed() throws Exception {
+        if (data == null) {
+            data = seeder("budget").seed(3, 20, 3);
+        }
+    }
+
+    @Test
+    void articleList() {
+        // 列表转换逐篇查询作者、分类、标签（N+1）：2 + 每篇至多 6 条
+        QueryBudget.assertAtMost(62, "GET /api/articles", get("/api/articles?page=1&size=10", null));
+    }
+
+    @Test
+    void articleDetail() {
+        QueryBudget.assertAtMost(6, "GET /api/articles/{id}",
+                get("/api/articles/" + data.randomArticleId(), null));
+    }
+
+    @Test
+    void articleDetailAuthenticated() {
+        // 多出点赞、收藏状态两条
+        QueryBudget.assertAtMost(8, "GET /api/articles/{id}",
+                get("/api/articles/" + data.randomArticleId(), data.randomAccount().token()));
+    }
+
+    @Test
+    void commentList() {
+        QueryBudget.assertAtMost(2, "GET /api/comments",
+                get("/api/comments?articleId=" + data.randomArticleId(), null));
+    }
+
+    @Test
+    void categoryList() {
+        QueryBudget.assertAtMost(4, "GET /api/categories", get("/api/categories", null));
+    }
+
+    @Test
+    void tagList() {
+        QueryBudget.assertAtMost(1, "GET /api/tags", get("/api/tags", null));
+    }
+
+    private HttpHeaders get(String path, String token) {
+        HttpHeaders headers = new HttpHeaders();
+        // 跳过响应缓存，统计的是接口实际执行的 SQL
+        headers.setCacheControl(CacheControl.noCache());
+        if (token != null) {
+            headers.setBearerAuth(token);
+        }
+        ResponseEntity<String> response = restTemplate.exchange(path, HttpMethod.GET, new HttpEntity<>(headers),
+                String.class);
+        return response.getHeaders();
+    }
+}
@@ -0,0 +1,176 @@
+package com.blog.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 开放模型的负载生成器
+ * 每个工作线程按固定间隔排定发送时间，延迟从计划发送时刻算起：
+ * 服务端变慢导致请求排队时，排队时间同样计入延迟，避免协调遗漏（coordinated omission）让尾延迟显得过于乐观
+ */
+public class LoadGenerator {
+
+    private final List<Scenario> scenarios;
+    private final int totalWeight;
+    private final ObjectMapper objectMapper;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final Map<String, Recorder> recorders = new LinkedHashMap<>();
+    private final Map<String, LongAdder> errors = new LinkedHashMap<>();
+    private final Map<String, AtomicReference<String>> errorSamples = new LinkedHashMap<>();
+
+    private volatile boolean running;
+
+    public LoadGenerator(List<Scenario> scenarios, ObjectMapper objectMapper) {
+        this.scenarios = List.copyOf(scenarios);
+        this.totalWeight = scenarios.stream().mapToInt(Scenario::weight).sum();
+        this.objectMapper = objectMapper;
+        for (Scenario scenario : scenarios) {
+            recorders.put(scenario.name(), new Recorder(3));
+            errors.put(scenario.name(), new LongAdder());
+            errorSamples.put(scenario.name(), new AtomicReference<>());
+        }
+    }
+
+    /**
+     * 运行混合负载，预热结束时清空统计并回调 afterWarmup，返回测量阶段各场景的结果
+     *
+     * @param concurrency 工作线程（连接）数
+     * @param rate        目标总吞吐，请求/秒
+     */
+    public List<ScenarioResult> run(LoadTestData data, int concurrency, double rate,
+                                    Duration warmup, Duration duration, Runnable afterWarmup)
+            throws InterruptedException {
+        long intervalNanos = (long) (concurrency * 1_000_000_000L / rate);
+        long start = System.nanoTime();
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency,
+                r -> new Thread(r, "loadtest-worker-" + threadIndex.incrementAndGet()));
+
+        running = true;
+        for (int i = 0; i < concurrency; i++) {
+            // 错开各线程的首次发送时间，使请求在整个间隔内均匀分布
+            long firstSend = start + intervalNanos * i / concurrency;
+            workers.execute(() -> work(data, firstSend, intervalNanos));
+        }
+
+        try {
+            Thread.sleep(warmup.toMillis());
+            recorders.values().forEach(Recorder::reset);
+            errors.values().forEach(LongAdder::reset);
+            errorSamples.values().forEach(sample -> sample.set(null));
+            afterWarmup.run();
+
+            long measureStart = System.nanoTime();
+            Thread.sleep(duration.toMillis());
+            double seconds = (System.nanoTime() - measureStart) / 1e9;
+
+            List<ScenarioResult> results = new ArrayList<>();
+            for (Scenario scenario : scenarios) {
+                results.add(new ScenarioResult(scenario.name(), scenario.endpoint(),
+                        recorders.get(scenario.name()).getIntervalHistogram(),
+                        errors.get(scenario.name()).sum(),
+                        errorSamples.get(scenario.name()).get(), seconds));
+            }
+            return results;
+        } finally {
+            running = false;
+            workers.shutdown();
+            workers.awaitTermination(30, TimeUnit.SECONDS);
+        }
+    }
+
+    private void work(LoadTestData data, long firstSend, long intervalNanos) {
+        long intendedStart = firstSend;
+        while (running) {
+            long wait;
+            while ((wait = intendedStart - System.nanoTime()) > 0 && running) {
+                LockSupport.parkNanos(wait);
+            }
+            if (!running) {
+                return;
+            }
+
+            Scenario scenario = pick();
+            String error;
+            try {
+                error = send(scenario.request().apply(data));
+            } catch (RuntimeException e) {
+                // 构造请求失败同样记为错误，不能让工作线程退出
+                error = e.toString();
+            }
+            long latencyNanos = System.nanoTime() - intendedStart;
+
+            recorders.get(scenario.name()).recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+            if (error != null) {
+                errors.get(scenario.name()).increment();
+                errorSamples.get(scenario.name()).compareAndSet(null, error);
+            }
+            intendedStart += intervalNanos;
+        }
+    }
+
+    private Scenario pick() {
+        int value = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Scenario scenario : scenarios) {
+            value -= scenario.weight();
+            if (value < 0) {
+                return scenario;
+            }
+        }
+        return scenarios.get(scenarios.size() - 1);
+    }
+
+    /**
+     * 发送请求，成功返回 null，否则返回错误描述
+     * 业务异常同样以 HTTP 200 返回，需要检查响应体中的 code
+     */
+    private String send(HttpRequest request) {
+        try {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() / 100 != 2) {
+                return "HTTP " + response.statusCode();
+            }
+            JsonNode body = objectMapper.readTree(response.body());
+            if (body.path("code").asInt() != 200) {
+                return body.path("code").asInt() + " " + body.path("message").asText();
+            }
+            return null;
+        } catch (IOException e) {
+            return e.getClass().getSimpleName() + ": " + e.getMessage();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "interrupted";
+        }
+    }
+
+    /**
+     * 单个场景在测量阶段的结果，延迟单位为微秒
+     */
+    public record ScenarioResult(String name, String endpoint, Histogram histogram,
+                                 long errors, String errorSample, double seconds) {
+    }
+}
@@ -0,0 +1,95 @@
+package com.blog.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 压测数据：预置的用户和文章，以及构造请求的辅助方法
+ */
+public class LoadTestData {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private final URI baseUri;
+    private final ObjectMapper objectMapper;
+    private final List<Account> accounts;
+    private final List<Long> articleIds;
+    private final List<Long> tagIds;
+
+    // 点赞状态，key 为 用户名:文章ID，用来交替发送点赞和取消点赞
+    private final Map<String, Boolean> likes = new ConcurrentHashMap<>();
+
+    public LoadTestData(URI baseUri, ObjectMapper objectMapper, List<Account> accounts,
+                        List<Long> articleIds, List<Long> tagIds) {
+        this.baseUri = baseUri;
+        this.objectMapper = objectMapper;
+        this.accounts = List.copyOf(accounts);
+        this.articleIds = List.copyOf(articleIds);
+        this.tagIds = List.copyOf(tagIds);
+    }
+
+    public Account randomAccount() {
+        return accounts.get(ThreadLocalRandom.current().nextInt(accounts.size()));
+    }
+
+    public long randomArticleId() {
+        return articleIds.get(ThreadLocalRandom.current().nextInt(articleIds.size()));
+    }
+
+    public long randomTagId() {
+        return tagIds.get(ThreadLocalRandom.current().nextInt(tagIds.size()));
+    }
+
+    /**
+     * 切换点赞状态，返回切换后是否为已点赞
+     */
+    public boolean toggleLike(Account account, long articleId) {
+        return likes.merge(account.username() + ":" + articleId, true, (liked, ignored) -> !liked);
+    }
+
+    public HttpRequest get(String path, String token) {
+        return builder(path, token).GET().build();
+    }
+
+    public HttpRequest post(String path, String token, Object body) {
+        return builder(path, token)
+                .header("Content-Type", "application/json")
+                .POST(body == null ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(toJson(body)))
+                .build();
+    }
+
+    public HttpRequest delete(String path, String token) {
+        return builder(path, token).DELETE().build();
+    }
+
+    private HttpRequest.Builder builder(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path)).timeout(REQUEST_TIMEOUT);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /**
+     * 预注册的用户
+     */
+    public record Account(Long id, String username, String password, String token) {
+    }
+}
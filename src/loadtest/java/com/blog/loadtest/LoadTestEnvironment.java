@@ -0,0 +1,99 @@
+package com.blog.loadtest;
+
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import com.github.fppt.jedismock.RedisServer;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * 压测环境：内嵌 MariaDB（按 docker/mysql/init.sql 建表）、进程内 Redis 和 SMTP 服务
+ * 整个 JVM 只启动一次，退出时关闭
+ */
+public final class LoadTestEnvironment {
+
+    private static final String INIT_SQL = "docker/mysql/init.sql";
+    private static final String DATABASE = "blog";
+
+    private static DB database;
+    private static RedisServer redisServer;
+    private static GreenMail greenMail;
+
+    private LoadTestEnvironment() {
+    }
+
+    public static synchronized void start() throws Exception {
+        if (database != null) {
+            return;
+        }
+
+        DBConfigurationBuilder config = DBConfigurationBuilder.newBuilder()
+                .setPort(0)
+                .setDefaultCharacterSet("utf8mb4");
+        // 以 root 运行时 mariadbd 需要显式指定用户
+        if ("root".equals(System.getProperty("user.name"))) {
+            config.addArg("--user=root");
+        }
+        database = DB.newEmbeddedDB(config.build());
+        database.start();
+        // MariaDB 没有 ngram 全文解析器，去掉后按默认解析器建索引
+        String initSql = Files.readString(Paths.get(INIT_SQL)).replace(" WITH PARSER ngram", "");
+        try (InputStream script = new ByteArrayInputStream(initSql.getBytes(StandardCharsets.UTF_8))) {
+            database.source(script, "root", "", null);
+        }
+
+        redisServer = RedisServer.newRedisServer(0);
+        redisServer.start();
+
+        greenMail = new GreenMail(ServerSetupTest.SMTP.dynamicPort());
+        greenMail.start();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(LoadTestEnvironment::stop, "loadtest-env-stop"));
+    }
+
+    private static String jdbcUrl() {
+        return "jdbc:mysql://127.0.0.1:" + database.getConfiguration().getPort()
+                + "/" + DATABASE + "?useUnicode=true&characterEncoding=utf8&serverTimezone=Asia/Shanghai"
+                + "&useSSL=false&allowPublicKeyRetrieval=true&rewriteBatchedStatements=true";
+    }
+
+    public static void registerProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", LoadTestEnvironment::jdbcUrl);
+        // -Dloadtest.replicas=N：N 个从库连接池指向同一个嵌入式库，用于验证读写分离路由
+        int replicas = Integer.getInteger("loadtest.replicas", 0);
+        for (int i = 0; i < replicas; i++) {
+            registry.add("blog.datasource.replicas[" + i + "].url", LoadTestEnvironment::jdbcUrl);
+        }
+        registry.add("spring.data.redis.host", () -> "127.0.0.1");
+        registry.add("spring.data.redis.port", () -> redisServer.getBindPort());
+        registry.add("spring.mail.host", () -> "127.0.0.1");
+        registry.add("spring.mail.port", () -> greenMail.getSmtp().getPort());
+    }
+
+    public static GreenMail mail() {
+        return greenMail;
+    }
+
+    private static synchronized void stop() {
+        try {
+            if (greenMail != null) {
+                greenMail.stop();
+            }
+            if (redisServer != null) {
+                redisServer.stop();
+            }
+            if (database != null) {
+                database.stop();
+            }
+        } catch (Exception e) {
+            System.err.println("关闭压测环境失败: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.blog.loadtest;
+
+import com.blog.monitor.SqlStatsRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 压测报告：report.json、report.txt 和每个场景的 HdrHistogram 百分位分布（.hgrm，可用 HdrHistogram 绘图工具查看）
+ */
+public class LoadTestReport {
+
+    // 直方图记录的是微秒，报告统一换算为毫秒
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final List<Map<String, Object>> rows = new ArrayList<>();
+    private final Map<String, Object> settings;
+    private final List<LoadGenerator.ScenarioResult> results;
+    private final Map<String, Set<String>> repeatedStatements = new TreeMap<>();
+
+    public LoadTestReport(Map<String, Object> settings, List<LoadGenerator.ScenarioResult> results,
+                          Map<String, SqlStatsRegistry.EndpointSnapshot> sqlStats) {
+        this.settings = settings;
+        this.results = results;
+        for (LoadGenerator.ScenarioResult result : results) {
+            rows.add(row(result, sqlStats.get(result.endpoint())));
+        }
+        sqlStats.forEach((endpoint, snapshot) -> {
+            if (!snapshot.repeatedStatements().isEmpty()) {
+                repeatedStatements.put(endpoint, snapshot.repeatedStatements());
+            }
+        });
+    }
+
+    public long totalRequests() {
+        return results.stream().mapToLong(result -> result.histogram().getTotalCount()).sum();
+    }
+
+    public long totalErrors() {
+        return results.stream().mapToLong(LoadGenerator.ScenarioResult::errors).sum();
+    }
+
+    public void write(Path dir, ObjectMapper objectMapper) throws IOException {
+        Files.createDirectories(dir);
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("settings", settings);
+        json.put("totalRequests", totalRequests());
+        json.put("totalErrors", totalErrors());
+        json.put("endpoints", rows);
+        json.put("repeatedStatements", repeatedStatements);
+        objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(dir.resolve("report.json").toFile(), json);
+
+        Files.writeString(dir.resolve("report.txt"), toText());
+
+        for (LoadGenerator.ScenarioResult result : results) {
+            Path file = dir.resolve(fileName(result.name()) + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                result.histogram().outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+    }
+
+    public String toText() {
+        StringBuilder text = new StringBuilder();
+        text.append("settings: ").append(settings).append('\n');
+        text.append(String.format("%-28s %8s %6s %8s %8s %8s %8s %8s %8s %8s %7s %7s%n",
+                "scenario", "requests", "errors", "req/s", "mean", "p50", "p90", "p99", "p99.9", "max",
+                "sql/req", "sqlmax"));
+        for (Map<String, Object> row : rows) {
+            text.append(String.format("%-28s %8d %6d %8.1f %8.2f %8.2f %8.2f %8.2f %8.2f %8.2f %7.2f %7d%n",
+                    row.get("name"), row.get("requests"), row.get("errors"), row.get("throughput"),
+                    row.get("meanMs"), row.get("p50Ms"), row.get("p90Ms"), row.get("p99Ms"),
+                    row.get("p999Ms"), row.get("maxMs"), row.get("sqlPerRequest"), row.get("sqlMax")));
+        }
+        text.append("(延迟单位 ms，从计划发送时刻算起；sql/req 为该接口模板在测量阶段的平均 SQL 条数)\n");
+        repeatedStatements.forEach((endpoint, statements) -> statements.forEach(sql ->
+                text.append("N+1 [").append(endpoint).append("]: ").append(sql).append('\n')));
+        for (LoadGenerator.ScenarioResult result : results) {
+            if (result.errorSample() != null) {
+                text.append("first error [").append(result.name()).append("]: ").append(result.errorSample()).append('\n');
+            }
+        }
+        return text.toString();
+    }
+
+    private static Map<String, Object> row(LoadGenerator.ScenarioResult result, SqlStatsRegistry.EndpointSnapshot sql) {
+        Histogram histogram = result.histogram();
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("name", result.name());
+        row.put("endpoint", result.endpoint());
+        row.put("requests", histogram.getTotalCount());
+        row.put("errors", result.errors());
+        row.put("throughput", histogram.getTotalCount() / result.seconds());
+        row.put("meanMs", histogram.getMean() / MICROS_PER_MILLI);
+        row.put("p50Ms", histogram.getValueAtPercentile(50) / MICROS_PER_MILLI);
+        row.put("p90Ms", histogram.getValueAtPercentile(90) / MICROS_PER_MILLI);
+        row.put("p99Ms", histogram.getValueAtPercentile(99) / MICROS_PER_MILLI);
+        row.put("p999Ms", histogram.getValueAtPercentile(99.9) / MICROS_PER_MILLI);
+        row.put("maxMs", histogram.getMaxValue() / MICROS_PER_MILLI);
+        // 同一接口模板的多个场景（如匿名和登录访问详情）共享 SQL 统计
+        row.put("sqlPerRequest", sql == null ? 0.0 : sql.avgStatements());
+        row.put("sqlMax", sql == null ? 0L : sql.maxStatements());
+        row.put("nPlusOneRequests", sql == null ? 0L : sql.nPlusOneRequests());
+        return row;
+    }
+
+    private static String fileName(String name) {
+        return name.replaceAll("[^A-Za-z0-9_-]+", "_");
+    }
+}
@@ -0,0 +1,161 @@
+package com.blog.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 压测数据准备
+ * 用户通过注册、登录接口创建（同时拿到 Token），文章、标签、评论数据量大，直接批量写库
+ */
+public class LoadTestSeeder {
+
+    private static final String PASSWORD = "loadtest123";
+    private static final int TAGS = 30;
+
+    private final String prefix;
+    private final URI baseUri;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Runnable afterSeed;
+    private final HttpClient client = HttpClient.newHttpClient();
+    // 固定种子，保证每次压测的数据分布一致
+    private final Random random = new Random(42);
+
+    /**
+     * @param prefix    用户名、标签名前缀，多个测试共用一个数据库时互不冲突
+     * @param afterSeed 直接写库之后执行，用于清空应用内的本机缓存（如标签字典）
+     */
+    public LoadTestSeeder(String prefix, URI baseUri, JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                          Runnable afterSeed) {
+        this.prefix = prefix;
+        this.baseUri = baseUri;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.afterSeed = afterSeed;
+    }
+
+    public LoadTestData seed(int users, int articles, int commentsPerArticle) throws Exception {
+        List<LoadTestData.Account> accounts = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            String username = prefix + "_user_" + i;
+            call("/api/auth/register", Map.of(
+                    "username", username,
+                    "password", PASSWORD,
+                    "email", username + "@loadtest.local",
+                    "nickname", prefix + " 用户" + i));
+            JsonNode login = call("/api/auth/login", Map.of("username", username, "password", PASSWORD));
+            accounts.add(new LoadTestData.Account(login.path("user").path("id").asLong(), username, PASSWORD,
+                    login.path("accessToken").asText()));
+        }
+
+        List<Long> tagIds = seedTags();
+        List<Long> articleIds = seedArticles(accounts, articles, tagIds);
+        seedComments(accounts, articleIds, commentsPerArticle);
+        afterSeed.run();
+        return new LoadTestData(baseUri, objectMapper, accounts, articleIds, tagIds);
+    }
+
+    private List<Long> seedTags() {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < TAGS; i++) {
+            rows.add(new Object[]{prefix + "-tag-" + i, String.format("#%06X", random.nextInt(0x1000000))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tb_tag (name, color) VALUES (?, ?)", rows);
+        return jdbcTemplate.queryForList("SELECT id FROM tb_tag WHERE name LIKE ? ORDER BY id", Long.class,
+                prefix + "-tag-%");
+    }
+
+    private List<Long> seedArticles(List<LoadTestData.Account> accounts, int count, List<Long> tagIds) {
+        List<Long> categoryIds = jdbcTemplate.queryForList("SELECT id FROM tb_category", Long.class);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String content = content(i);
+            rows.add(new Object[]{
+                    accounts.get(random.nextInt(accounts.size())).id(),
+                    prefix + " 文章 " + i,
+                    "第 " + i + " 篇压测文章的摘要",
+                    content,
+                    "<p>" + content + "</p>",
+                    categoryIds.get(random.nextInt(categoryIds.size())),
+                    random.nextInt(5000),
+                    Timestamp.valueOf(now.minusMinutes(i))
+            });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tb_article (user_id, title, summary, content, content_html, "
+                + "category_id, is_published, view_count, published_at, review_status) "
+                + "VALUES (?, ?, ?, ?, ?, ?, 1, ?, ?, 'APPROVED')", rows);
+        List<Long> articleIds = jdbcTemplate.queryForList("SELECT id FROM tb_article WHERE title LIKE ? ORDER BY id",
+                Long.class, prefix + " 文章 %");
+
+        // 每篇文章 0~3 个标签
+        List<Object[]> articleTags = new ArrayList<>();
+        for (Long articleId : articleIds) {
+            int tags = random.nextInt(4);
+            List<Long> shuffled = new ArrayList<>(tagIds);
+            Collections.shuffle(shuffled, random);
+            for (int t = 0; t < tags; t++) {
+                articleTags.add(new Object[]{articleId, shuffled.get(t)});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tb_article_tag (article_id, tag_id) VALUES (?, ?)", articleTags);
+        jdbcTemplate.update("UPDATE tb_tag t SET article_count = "
+                + "(SELECT COUNT(*) FROM tb_article_tag at WHERE at.tag_id = t.id)");
+        jdbcTemplate.update("UPDATE tb_category c SET article_count = "
+                + "(SELECT COUNT(*) FROM tb_article a WHERE a.category_id = c.id)");
+        return articleIds;
+    }
+
+    private void seedComments(List<LoadTestData.Account> accounts, List<Long> articleIds, int perArticle) {
+        List<Object[]> rows = new ArrayList<>();
+        for (Long articleId : articleIds) {
+            for (int i = 0; i < perArticle; i++) {
+                rows.add(new Object[]{articleId, accounts.get(random.nextInt(accounts.size())).id(),
+                        "压测评论 " + articleId + "-" + i});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tb_comment (article_id, user_id, content) VALUES (?, ?, ?)", rows);
+        jdbcTemplate.update("UPDATE tb_article SET comment_count = ? WHERE title LIKE ?", perArticle, prefix + " 文章 %");
+    }
+
+    /**
+     * 文章正文：几段 Markdown，长度 2~8KB
+     */
+    private String content(int index) {
+        StringBuilder content = new StringBuilder("# 压测文章 ").append(index).append("\n\n");
+        int paragraphs = 8 + random.nextInt(24);
+        for (int p = 0; p < paragraphs; p++) {
+            content.append("## 第 ").append(p + 1).append(" 节\n\n")
+                    .append("这是用于压测的正文段落，包含一些 `code` 和 **强调**，模拟真实文章的长度与结构。")
+                    .append("Lorem ipsum dolor sit amet, consectetur adipiscing elit.\n\n");
+        }
+        return content.toString();
+    }
+
+    private JsonNode call(String path, Object body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+        JsonNode response = objectMapper.readTree(client.send(request, HttpResponse.BodyHandlers.ofByteArray()).body());
+        if (response.path("code").asInt() != 200) {
+            throw new IllegalStateException("准备数据失败 " + path + ": " + response);
+        }
+        return response.path("data");
+    }
+}
@@ -0,0 +1,143 @@
+package com.blog.loadtest;
+
+import com.blog.storage.BlobStore;
+import com.blog.storage.CachingBlobStore;
+import com.blog.storage.S3BlobStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * S3BlobStore 对进程内 S3 服务（{@link S3Stub}）的读写：单次上传、分片上传、按偏移读取、查询和删除，
+ * 以及前面加本地缓存（{@link CachingBlobStore}）时查询结果与远程一致
+ */
+class S3BlobStoreTest {
+
+    private static final int PART_SIZE = 256 * 1024;
+
+    private S3Stub stub;
+    private S3Client s3Client;
+    private S3BlobStore store;
+
+    @BeforeEach
+    void start() throws IOException {
+        stub = new S3Stub();
+        s3Client = S3Client.builder()
+                .endpointOverride(stub.endpoint())
+                .region(Region.US_EAST_1)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("test", "test")))
+                .forcePathStyle(true)
+                .httpClientBuilder(UrlConnectionHttpClient.builder())
+                .build();
+        store = new S3BlobStore(s3Client, "blog-uploads", "uploads", PART_SIZE);
+    }
+
+    @AfterEach
+    void stop() {
+        s3Client.close();
+        stub.close();
+    }
+
+    @Test
+    void singlePartRoundTrip() throws IOException {
+        byte[] data = random(10_000);
+        store.put("objects/ab/small.jpg", new ByteArrayInputStream(data), data.length, "image/jpeg");
+
+        assertEquals(1, stub.putObjects());
+        assertEquals(0, stub.uploadedParts());
+        assertTrue(store.exists("objects/ab/small.jpg"));
+        assertEquals(data.length, store.stat("objects/ab/small.jpg").size());
+        assertArrayEquals(data, read(store, "objects/ab/small.jpg", 0));
+        assertArrayEquals(Arrays.copyOfRange(data, 4000, data.length), read(store, "objects/ab/small.jpg", 4000));
+
+        store.delete("objects/ab/small.jpg");
+        assertFalse(store.exists("objects/ab/small.jpg"));
+        assertNull(store.stat("objects/ab/small.jpg"));
+        assertThrows(NoSuchFileException.class, () -> store.open("objects/ab/small.jpg"));
+    }
+
+    @Test
+    void multipartRoundTrip() throws IOException {
+        // 长度未知，先读一小段再扩到分片大小：两个整分片加一个尾部分片
+        byte[] data = random(PART_SIZE * 2 + 1234);
+        store.put("objects/cd/large.bin", new ByteArrayInputStream(data), -1, "application/octet-stream");
+
+        assertEquals(0, stub.putObjects());
+        assertEquals(3, stub.uploadedParts());
+        assertEquals(0, stub.pendingUploads());
+        assertTrue(store.exists("objects/cd/large.bin"));
+        assertEquals(data.length, store.stat("objects/cd/large.bin").size());
+        assertArrayEquals(data, read(store, "objects/cd/large.bin", 0));
+        assertArrayEquals(Arrays.copyOfRange(data, PART_SIZE + 7, data.length),
+                read(store, "objects/cd/large.bin", PART_SIZE + 7));
+
+        store.delete("objects/cd/large.bin");
+        assertFalse(store.exists("objects/cd/large.bin"));
+    }
+
+    @Test
+    void exactlyOnePartWithKnownSize() throws IOException {
+        byte[] data = random(PART_SIZE);
+        store.put("objects/ef/part.bin", new ByteArrayInputStream(data), data.length, "application/octet-stream");
+
+        assertEquals(1, stub.uploadedParts());
+        assertArrayEquals(data, read(store, "objects/ef/part.bin", 0));
+    }
+
+    @Test
+    void cachedStatMatchesRemote(@TempDir Path cacheDir, @TempDir Path uploadDir) throws IOException, InterruptedException {
+        byte[] data = random(5_000);
+        store.put("objects/gh/cached.jpg", new ByteArrayInputStream(data), data.length, "image/jpeg");
+        BlobStore.BlobStat remote = store.stat("objects/gh/cached.jpg");
+        // S3 的修改时间精确到秒，等过一秒让本地下载时间明显不同
+        Thread.sleep(1100);
+
+        CachingBlobStore cached = new CachingBlobStore(store, cacheDir, 1024 * 1024);
+        assertEquals(remote, cached.stat("objects/gh/cached.jpg"));
+        assertArrayEquals(data, read(cached, "objects/gh/cached.jpg", 0));
+        assertEquals(remote, cached.stat("objects/gh/cached.jpg"));
+
+        // 重启后从缓存目录登记的文件同样返回远程的修改时间
+        CachingBlobStore restarted = new CachingBlobStore(store, cacheDir, 1024 * 1024);
+        assertEquals(remote, restarted.stat("objects/gh/cached.jpg"));
+
+        // 经缓存上传的文件
+        Path source = Files.write(uploadDir.resolve("upload.jpg"), data);
+        cached.put("objects/gh/uploaded.jpg", source, "image/jpeg");
+        assertEquals(store.stat("objects/gh/uploaded.jpg"), cached.stat("objects/gh/uploaded.jpg"));
+    }
+
+    private static byte[] read(BlobStore store, String key, long offset) throws IOException {
+        try (InputStream in = store.open(key, offset)) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static byte[] random(int size) {
+        byte[] data = new byte[size];
+        new Random(size).nextBytes(data);
+        return data;
+    }
+}
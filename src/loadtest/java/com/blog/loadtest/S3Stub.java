@@ -0,0 +1,259 @@
+package com.blog.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 进程内的最小 S3 兼容服务（path-style），只实现 S3BlobStore 用到的接口：
+ * PutObject、分片上传（创建/上传分片/完成/取消）、GetObject（含 Range）、HeadObject、DeleteObject。
+ * 不校验签名，解码 SDK 对 http 端点使用的 aws-chunked 请求体
+ */
+class S3Stub implements AutoCloseable {
+
+    private final HttpServer server;
+    private final Map<String, StoredObject> objects = new ConcurrentHashMap<>();
+    private final Map<String, SortedMap<Integer, byte[]>> uploads = new ConcurrentHashMap<>();
+    private final AtomicInteger putObjects = new AtomicInteger();
+    private final AtomicInteger uploadedParts = new AtomicInteger();
+
+    S3Stub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    URI endpoint() {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    /**
+     * PutObject 请求数
+     */
+    int putObjects() {
+        return putObjects.get();
+    }
+
+    /**
+     * UploadPart 请求数
+     */
+    int uploadedParts() {
+        return uploadedParts.get();
+    }
+
+    /**
+     * 进行中（未完成也未取消）的分片上传数
+     */
+    int pendingUploads() {
+        return uploads.size();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+            switch (exchange.getRequestMethod()) {
+                case "PUT" -> {
+                    byte[] body = body(exchange);
+                    if (query.containsKey("uploadId")) {
+                        SortedMap<Integer, byte[]> parts = uploads.get(query.get("uploadId"));
+                        if (parts == null) {
+                            error(exchange, 404, "NoSuchUpload");
+                            return;
+                        }
+                        parts.put(Integer.parseInt(query.get("partNumber")), body);
+                        uploadedParts.incrementAndGet();
+                        exchange.getResponseHeaders().add("ETag", quote(md5(body)));
+                    } else {
+                        StoredObject object = new StoredObject(body, quote(md5(body)), System.currentTimeMillis());
+                        objects.put(path, object);
+                        putObjects.incrementAndGet();
+                        exchange.getResponseHeaders().add("ETag", object.etag());
+                    }
+                    exchange.sendResponseHeaders(200, -1);
+                }
+                case "POST" -> {
+                    body(exchange);
+                    if (query.containsKey("uploads")) {
+                        String uploadId = UUID.randomUUID().toString();
+                        uploads.put(uploadId, new TreeMap<>());
+                        xml(exchange, "<InitiateMultipartUploadResult><Bucket>" + bucket(path) + "</Bucket><Key>"
+                                + key(path) + "</Key><UploadId>" + uploadId + "</UploadId></InitiateMultipartUploadResult>");
+                    } else {
+                        SortedMap<Integer, byte[]> parts = uploads.remove(query.get("uploadId"));
+                        if (parts == null) {
+                            error(exchange, 404, "NoSuchUpload");
+                            return;
+                        }
+                        ByteArrayOutputStream content = new ByteArrayOutputStream();
+                        ByteArrayOutputStream digests = new ByteArrayOutputStream();
+                        for (byte[] part : parts.values()) {
+                            content.writeBytes(part);
+                            digests.writeBytes(HexFormat.of().parseHex(md5(part)));
+                        }
+                        String etag = quote(md5(digests.toByteArray()) + "-" + parts.size());
+                        objects.put(path, new StoredObject(content.toByteArray(), etag, System.currentTimeMillis()));
+                        xml(exchange, "<CompleteMultipartUploadResult><Bucket>" + bucket(path) + "</Bucket><Key>"
+                                + key(path) + "</Key><ETag>" + etag + "</ETag></CompleteMultipartUploadResult>");
+                    }
+                }
+                case "GET", "HEAD" -> {
+                    StoredObject object = objects.get(path);
+                    if (object == null) {
+                        error(exchange, 404, "NoSuchKey");
+                        return;
+                    }
+                    int from = 0;
+                    String range = exchange.getRequestHeaders().getFirst("Range");
+                    if (range != null) {
+                        from = Integer.parseInt(range.substring("bytes=".length(), range.indexOf('-')));
+                        exchange.getResponseHeaders().add("Content-Range",
+                                "bytes " + from + "-" + (object.data().length - 1) + "/" + object.data().length);
+                    }
+                    int status = range != null ? 206 : 200;
+                    exchange.getResponseHeaders().add("ETag", object.etag());
+                    exchange.getResponseHeaders().add("Last-Modified", DateTimeFormatter.RFC_1123_DATE_TIME.format(
+                            ZonedDateTime.ofInstant(Instant.ofEpochMilli(object.lastModified()), ZoneOffset.UTC)));
+                    if ("HEAD".equals(exchange.getRequestMethod())) {
+                        exchange.getResponseHeaders().add("Content-Length", String.valueOf(object.data().length));
+                        exchange.sendResponseHeaders(status, -1);
+                        return;
+                    }
+                    int length = object.data().length - from;
+                    exchange.sendResponseHeaders(status, length == 0 ? -1 : length);
+                    try (OutputStream out = exchange.getResponseBody()) {
+                        out.write(object.data(), from, length);
+                    }
+                }
+                case "DELETE" -> {
+                    if (query.containsKey("uploadId")) {
+                        uploads.remove(query.get("uploadId"));
+                    } else {
+                        objects.remove(path);
+                    }
+                    exchange.sendResponseHeaders(204, -1);
+                }
+                default -> exchange.sendResponseHeaders(405, -1);
+            }
+        }
+    }
+
+    /**
+     * 读取请求体；x-amz-content-sha256 为 STREAMING-* 时按 aws-chunked 解码
+     * （每块为 "十六进制长度;chunk-signature=...\r\n数据\r\n"，长度 0 的块结束）
+     */
+    private static byte[] body(HttpExchange exchange) throws IOException {
+        InputStream in = exchange.getRequestBody();
+        String sha256 = exchange.getRequestHeaders().getFirst("x-amz-content-sha256");
+        if (sha256 == null || !sha256.startsWith("STREAMING-")) {
+            return in.readAllBytes();
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        while (true) {
+            String header = line(in);
+            int end = header.indexOf(';');
+            int size = Integer.parseInt(end < 0 ? header.trim() : header.substring(0, end), 16);
+            if (size == 0) {
+                in.readAllBytes();
+                return out.toByteArray();
+            }
+            out.write(in.readNBytes(size));
+            line(in);
+        }
+    }
+
+    private static String line(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = in.read()) != -1 && c != '\n') {
+            if (c != '\r') {
+                line.append((char) c);
+            }
+        }
+        return line.toString();
+    }
+
+    private static void xml(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/xml");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void error(HttpExchange exchange, int status, String code) throws IOException {
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        byte[] bytes = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?><Error><Code>" + code + "</Code><Message>" + code
+                + "</Message></Error>").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/xml");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, String> query(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery != null) {
+            for (String pair : rawQuery.split("&")) {
+                int eq = pair.indexOf('=');
+                query.put(eq < 0 ? pair : pair.substring(0, eq), eq < 0 ? "" : pair.substring(eq + 1));
+            }
+        }
+        return query;
+    }
+
+    private static String bucket(String path) {
+        return path.substring(1, path.indexOf('/', 1));
+    }
+
+    private static String key(String path) {
+        return path.substring(path.indexOf('/', 1) + 1);
+    }
+
+    private static String quote(String etag) {
+        return "\"" + etag + "\"";
+    }
+
+    private static String md5(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record StoredObject(byte[] data, String etag, long lastModified) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.blog.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.function.Function;
+
+/**
+ * 压测场景：一类请求及其在混合负载中的权重
+ *
+ * @param name     报告中的名称
+ * @param endpoint 接口模板（与 SqlStats 的统计键一致，如 GET /api/articles/{id}）
+ * @param weight   权重
+ * @param request  每次调用生成一个请求
+ */
+public record Scenario(String name, String endpoint, int weight, Function<LoadTestData, HttpRequest> request) {
+}
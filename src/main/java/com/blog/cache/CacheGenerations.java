@@ -0,0 +1,252 @@
+package com.blog.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 缓存代数（generation）计数器
+ * 计数保存在 Redis（blog:gen:*），各节点在本机内存保留副本并定时批量刷新，读取不访问 Redis。
+ * 缓存 key 中带上相关代数，失效只需对计数执行一次 INCR，旧 key 不再被访问，由 TTL 清理，
+ * 不需要 KEYS/SCAN 查找删除。递增后通过 {@link CacheInvalidationBus} 通知其他节点立即重新读取，
+ * 定时刷新兜底，其他节点最迟在一个刷新周期后看到新的代数。
+ * Redis 不可用时递增只在本机生效并记下次数，恢复后先补发到 Redis 再刷新，本机副本不会退回到较小的值
+ */
+@Slf4j
+@Component
+public class CacheGenerations implements LocalCache {
+
+    public static final String NAME = "generation";
+
+    private static final String KEY_PREFIX = "blog:gen:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final CacheInvalidationBus invalidationBus;
+
+    // 代数名称 -> 本机副本，长时间未读取的（如冷门分类、标签）移除，再次读取时从 Redis 加载
+    private final Cache<String, AtomicLong> mirror;
+
+    // 代数名称 -> 未能写入 Redis 的递增次数
+    private final Map<String, AtomicLong> pending = new ConcurrentHashMap<>();
+
+    public CacheGenerations(StringRedisTemplate redisTemplate, CacheInvalidationBus invalidationBus,
+                            @Value("${blog.cache.generation-idle-ttl:10m}") Duration idleTtl) {
+        this.redisTemplate = redisTemplate;
+        this.invalidationBus = invalidationBus;
+        this.mirror = Caffeine.newBuilder()
+                .expireAfterAccess(idleTtl)
+                .build();
+    }
+
+    /**
+     * 全站文章代数，任何已发布文章的增删改、发布状态变化时递增
+     */
+    public static String feed() {
+        return "article";
+    }
+
+    public static String namespace(CacheNamespace namespace) {
+        return namespace == CacheNamespace.ARTICLE ? feed() : namespace.name().toLowerCase();
+    }
+
+    /**
+     * 作者资料代数，昵称、头像等变化时递增；所有文章列表都带有作者信息
+     */
+    public static String authors() {
+        return "author";
+    }
+
+    /**
+     * 分类下的文章列表代数
+     */
+    public static String category(Long categoryId) {
+        return "category:" + categoryId;
+    }
+
+    /**
+     * 标签下的文章列表代数
+     */
+    public static String tag(Long tagId) {
+        return "tag:" + tagId;
+    }
+
+    /**
+     * 当前代数，本机没有副本时从 Redis 读取一次
+     */
+    public long get(String name) {
+        return mirror.get(name, key -> new AtomicLong(load(key) + pendingCount(key))).get();
+    }
+
+    /**
+     * 递增代数；在事务中调用时推迟到提交之后，避免并发请求在提交前读到旧数据并以新代数写入缓存
+     */
+    public void increment(Collection<String> names) {
+        Set<String> distinct = new LinkedHashSet<>(names);
+        if (distinct.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    incrementNow(distinct);
+                }
+            });
+        } else {
+            incrementNow(distinct);
+        }
+    }
+
+    public void increment(String... names) {
+        increment(List.of(names));
+    }
+
+    private void incrementNow(Set<String> names) {
+        try {
+            // 先补发之前失败的递增，否则这次 INCR 的结果可能不大于本机副本
+            replayPending();
+            Map<String, Long> deltas = new LinkedHashMap<>();
+            names.forEach(name -> deltas.put(name, 1L));
+            apply(deltas);
+        } catch (Exception e) {
+            // Redis 不可用时先让本机缓存失效，记下次数，恢复后补发
+            log.warn("缓存代数递增失败，仅在本机生效，恢复后补发: {}", names, e);
+            for (String name : names) {
+                pending.computeIfAbsent(name, key -> new AtomicLong()).incrementAndGet();
+                mirror.get(name, key -> new AtomicLong(load(key))).incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * 定时批量刷新本机副本，获取其他节点的递增；有未补发的递增时先补发，补发失败（Redis 仍不可用）时跳过
+     */
+    @Scheduled(fixedDelayString = "${blog.cache.generation-refresh-ms:1000}")
+    public void refresh() {
+        try {
+            replayPending();
+        } catch (Exception e) {
+            log.warn("补发缓存代数递增失败: {}", e.getMessage());
+            return;
+        }
+        reload(new ArrayList<>(mirror.asMap().keySet()));
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    /**
+     * 收到其他节点的递增通知：只重新读取本机用到的代数
+     */
+    @Override
+    public void invalidate(Collection<String> names) {
+        reload(names.stream().filter(mirror.asMap()::containsKey).toList());
+    }
+
+    @Override
+    public void invalidateAll() {
+        refresh();
+    }
+
+    private void reload(List<String> names) {
+        if (names.isEmpty()) {
+            return;
+        }
+        try {
+            List<String> values = redisTemplate.opsForValue()
+                    .multiGet(names.stream().map(name -> KEY_PREFIX + name).toList());
+            if (values == null) {
+                return;
+            }
+            for (int i = 0; i < names.size(); i++) {
+                update(names.get(i), parse(values.get(i)));
+            }
+        } catch (Exception e) {
+            log.warn("缓存代数刷新失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 把之前失败的递增补发到 Redis
+     */
+    private void replayPending() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<String, Long> deltas = new LinkedHashMap<>();
+        pending.forEach((name, count) -> deltas.put(name, count.get()));
+        apply(deltas);
+        log.info("已补发缓存代数递增: {}", deltas);
+    }
+
+    /**
+     * 在一次往返中按给定增量递增，更新本机副本并通知其他节点
+     */
+    private void apply(Map<String, Long> deltas) {
+        List<Object> values = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            deltas.forEach((name, delta) ->
+                    connection.stringCommands().incrBy((KEY_PREFIX + name).getBytes(StandardCharsets.UTF_8), delta));
+            return null;
+        });
+        int i = 0;
+        for (Map.Entry<String, Long> delta : deltas.entrySet()) {
+            String name = delta.getKey();
+            pending.computeIfPresent(name, (key, count) -> count.addAndGet(-delta.getValue()) <= 0 ? null : count);
+            update(name, ((Number) values.get(i++)).longValue());
+        }
+        invalidationBus.broadcast(NAME, deltas.keySet());
+    }
+
+    private void update(String name, long value) {
+        // 还有未补发的递增时 Redis 中的值偏小，保留本机副本
+        if (pending.containsKey(name)) {
+            return;
+        }
+        // 不计为访问：定时刷新不应让不再使用的代数一直留在副本中
+        AtomicLong generation = mirror.policy().getIfPresentQuietly(name);
+        if (generation == null) {
+            mirror.asMap().putIfAbsent(name, new AtomicLong(value));
+        } else {
+            generation.set(value);
+        }
+    }
+
+    private long pendingCount(String name) {
+        AtomicLong count = pending.get(name);
+        return count == null ? 0L : count.get();
+    }
+
+    private long load(String name) {
+        try {
+            return parse(redisTemplate.opsForValue().get(KEY_PREFIX + name));
+        } catch (Exception e) {
+            log.warn("读取缓存代数失败: {}", name, e);
+            return 0L;
+        }
+    }
+
+    private static long parse(String value) {
+        return value == null ? 0L : Long.parseLong(value);
+    }
+}
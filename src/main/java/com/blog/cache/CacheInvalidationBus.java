@@ -0,0 +1,144 @@
+package com.blog.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.SubscriptionListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 跨节点本机缓存失效总线（Redis pub/sub）
+ * 消息为一行文本：{@code 节点ID 序号 缓存名 key...}，不带 key 表示清空该缓存。
+ * 每个节点的序号从 1 连续递增，接收方发现某个节点的序号不连续（消息丢失、发送失败）时清空所有本机缓存。
+ * pub/sub 不保证送达，断线期间的消息在该节点下一条消息到达时由序号发现；
+ * 发送方之后可能一直没有新消息，因此订阅（重新）建立时也清空所有本机缓存
+ */
+@Slf4j
+@Component
+public class CacheInvalidationBus implements MessageListener, SubscriptionListener {
+
+    public static final String CHANNEL = "blog:cache:invalidate";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectProvider<LocalCache> localCaches;
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong sequence = new AtomicLong();
+
+    // 节点 ID -> 最后收到的序号
+    private final Map<String, Long> lastSequences = new ConcurrentHashMap<>();
+
+    public CacheInvalidationBus(StringRedisTemplate redisTemplate, ObjectProvider<LocalCache> localCaches) {
+        this.redisTemplate = redisTemplate;
+        this.localCaches = localCaches;
+    }
+
+    /**
+     * 失效本机缓存并通知其他节点；在事务中调用时推迟到提交之后
+     */
+    public void publish(String cache, Collection<String> keys) {
+        List<String> copy = List.copyOf(keys);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(cache, copy);
+                    broadcast(cache, copy);
+                }
+            });
+        } else {
+            apply(cache, copy);
+            broadcast(cache, copy);
+        }
+    }
+
+    public void publish(String cache, String... keys) {
+        publish(cache, List.of(keys));
+    }
+
+    /**
+     * 只通知其他节点，调用方已自行处理本机缓存
+     */
+    public void broadcast(String cache, Collection<String> keys) {
+        StringBuilder message = new StringBuilder(nodeId).append(' ').append(sequence.incrementAndGet())
+                .append(' ').append(cache);
+        keys.forEach(key -> message.append(' ').append(key));
+        try {
+            redisTemplate.convertAndSend(CHANNEL, message.toString());
+        } catch (Exception e) {
+            // 序号已占用，其他节点收到下一条消息时会发现缺口并清空缓存
+            log.warn("发送缓存失效消息失败: {}", message, e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(" ");
+        if (parts.length < 3 || parts[0].equals(nodeId)) {
+            return;
+        }
+        long received;
+        try {
+            received = Long.parseLong(parts[1]);
+        } catch (NumberFormatException e) {
+            log.warn("无法解析缓存失效消息: {}", new String(message.getBody(), StandardCharsets.UTF_8));
+            return;
+        }
+        Long last = lastSequences.put(parts[0], received);
+        if (last != null && received != last + 1) {
+            log.warn("缓存失效消息不连续（节点 {}: {} -> {}），清空本机缓存", parts[0], last, received);
+            invalidateAll();
+            return;
+        }
+        apply(parts[2], Arrays.asList(parts).subList(3, parts.length));
+    }
+
+    /**
+     * 启动或断线重连后订阅确认：期间的失效消息已丢失，清空本机缓存并重新建立各节点的序号基线
+     */
+    @Override
+    public void onChannelSubscribed(byte[] channel, long count) {
+        log.info("缓存失效频道已订阅，清空本机缓存");
+        lastSequences.clear();
+        invalidateAll();
+    }
+
+    /**
+     * 清空所有本机缓存
+     */
+    public void invalidateAll() {
+        localCaches.orderedStream().forEach(cache -> {
+            try {
+                cache.invalidateAll();
+            } catch (Exception e) {
+                log.warn("清空本机缓存失败: {}", cache.name(), e);
+            }
+        });
+    }
+
+    private void apply(String name, List<String> keys) {
+        localCaches.orderedStream().filter(cache -> cache.name().equals(name)).forEach(cache -> {
+            try {
+                if (keys.isEmpty()) {
+                    cache.invalidateAll();
+                } else {
+                    cache.invalidate(keys);
+                }
+            } catch (Exception e) {
+                log.warn("本机缓存失效失败: {} {}", name, keys, e);
+            }
+        });
+    }
+}
@@ -0,0 +1,14 @@
+package com.blog.cache;
+
+/**
+ * 缓存命名空间，每个命名空间一个版本号，写操作递增版本号使依赖它的缓存整体失效
+ */
+public enum CacheNamespace {
+
+    /** 文章内容、发布状态 */
+    ARTICLE,
+    /** 分类 */
+    CATEGORY,
+    /** 标签 */
+    TAG
+}
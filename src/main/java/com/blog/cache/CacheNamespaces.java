@@ -0,0 +1,51 @@
+package com.blog.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * 命名空间版本号，即 {@link CacheGenerations} 中每个命名空间的代数
+ * 缓存项保存生成时的版本快照，读取时版本已变化即视为失效，失效操作只是递增一个计数，
+ * 不需要找出并删除具体的 key，旧缓存项由 TTL 和容量淘汰
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheNamespaces {
+
+    private static final CacheNamespace[] ALL = CacheNamespace.values();
+    private static final String[] NAMES = Arrays.stream(ALL).map(CacheGenerations::namespace).toArray(String[]::new);
+
+    private final CacheGenerations generations;
+
+    /**
+     * 当前所有命名空间的版本号，在生成缓存内容之前获取
+     */
+    public long[] snapshot() {
+        long[] snapshot = new long[ALL.length];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = generations.get(NAMES[i]);
+        }
+        return snapshot;
+    }
+
+    /**
+     * 快照中给定命名空间的版本号是否仍是最新
+     */
+    public boolean isCurrent(CacheNamespace[] namespaces, long[] snapshot) {
+        for (CacheNamespace namespace : namespaces) {
+            if (generations.get(NAMES[namespace.ordinal()]) != snapshot[namespace.ordinal()]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 使命名空间失效，在事务中调用时推迟到提交之后
+     */
+    public void invalidate(CacheNamespace... namespaces) {
+        generations.increment(Arrays.stream(namespaces).map(namespace -> NAMES[namespace.ordinal()]).toList());
+    }
+}
@@ -0,0 +1,25 @@
+package com.blog.cache;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * 把 {@link RedisCodec} 适配为 RedisTemplate 的值序列化器
+ */
+public class CodecRedisSerializer<T> implements RedisSerializer<T> {
+
+    private final RedisCodec<T> codec;
+
+    public CodecRedisSerializer(RedisCodec<T> codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public byte[] serialize(T value) {
+        return value == null ? null : codec.encode(value);
+    }
+
+    @Override
+    public T deserialize(byte[] bytes) {
+        return bytes == null || bytes.length == 0 ? null : codec.decode(bytes);
+    }
+}
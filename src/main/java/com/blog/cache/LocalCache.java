@@ -0,0 +1,21 @@
+package com.blog.cache;
+
+import java.util.Collection;
+
+/**
+ * 进程内缓存，注册为 Bean 后由 {@link CacheInvalidationBus} 按名称投递其他节点发出的失效消息
+ */
+public interface LocalCache {
+
+    /**
+     * 缓存名称，与发布失效消息时使用的名称一致
+     */
+    String name();
+
+    void invalidate(Collection<String> keys);
+
+    /**
+     * 清空整个缓存，在可能漏收消息时调用
+     */
+    void invalidateAll();
+}
@@ -0,0 +1,113 @@
+package com.blog.cache;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.Arrays;
+
+/**
+ * 超过阈值时对内层编码结果做 LZ4 压缩
+ * 格式：首字节 0 表示未压缩，后接原始数据；1 表示 LZ4 块，后接变长整数原始长度和压缩数据。
+ * 压缩后没有明显变小时按未压缩存储，解压不用 fast 解码器，损坏的数据只会报错而不会越界读；
+ * 分配缓冲区前校验长度字段，损坏的头部不会导致超大分配
+ */
+public class Lz4Codec<T> implements RedisCodec<T> {
+
+    private static final byte RAW = 0;
+    private static final byte LZ4 = 1;
+
+    // 解压后长度上限：缓存值不会接近这个大小，超过即视为损坏
+    private static final int MAX_RAW_LENGTH = 64 * 1024 * 1024;
+    // LZ4 的压缩比不超过约 255:1，用来拒绝长度字段与压缩数据明显不符的值
+    private static final int MAX_RATIO = 255;
+
+    private static final LZ4Compressor COMPRESSOR = LZ4Factory.fastestInstance().fastCompressor();
+    private static final LZ4SafeDecompressor DECOMPRESSOR = LZ4Factory.fastestInstance().safeDecompressor();
+
+    private final RedisCodec<T> delegate;
+    private final int threshold;
+
+    public Lz4Codec(RedisCodec<T> delegate, int threshold) {
+        this.delegate = delegate;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public byte[] encode(T value) {
+        byte[] raw = delegate.encode(value);
+        if (raw.length >= threshold) {
+            int headerLength = 1 + varIntLength(raw.length);
+            byte[] out = new byte[headerLength + COMPRESSOR.maxCompressedLength(raw.length)];
+            int compressed = COMPRESSOR.compress(raw, 0, raw.length, out, headerLength);
+            // 至少省下 1/8 才值得解压的开销
+            if (headerLength + compressed < raw.length - (raw.length >> 3)) {
+                out[0] = LZ4;
+                writeVarInt(out, 1, raw.length);
+                return Arrays.copyOf(out, headerLength + compressed);
+            }
+        }
+        byte[] out = new byte[raw.length + 1];
+        out[0] = RAW;
+        System.arraycopy(raw, 0, out, 1, raw.length);
+        return out;
+    }
+
+    @Override
+    public T decode(byte[] bytes, int offset, int length) {
+        if (length == 0) {
+            throw new SerializationException("缓存值为空");
+        }
+        int end = offset + length;
+        byte format = bytes[offset++];
+        if (format == RAW) {
+            return delegate.decode(bytes, offset, end - offset);
+        }
+        if (format != LZ4) {
+            throw new SerializationException("未知的缓存值格式: " + format);
+        }
+        int rawLength = 0;
+        for (int shift = 0; ; shift += 7) {
+            if (offset >= end || shift > 28) {
+                throw new SerializationException("缓存值长度字段损坏");
+            }
+            byte b = bytes[offset++];
+            rawLength |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                break;
+            }
+        }
+        int compressedLength = end - offset;
+        if (rawLength < 0 || rawLength > MAX_RAW_LENGTH || rawLength > (long) compressedLength * MAX_RATIO + MAX_RATIO) {
+            throw new SerializationException("缓存值长度字段无效: " + rawLength + "（压缩数据 " + compressedLength + " 字节）");
+        }
+        byte[] raw = new byte[rawLength];
+        try {
+            int decompressed = DECOMPRESSOR.decompress(bytes, offset, compressedLength, raw, 0);
+            if (decompressed != rawLength) {
+                throw new SerializationException("缓存值长度不符: " + decompressed + " != " + rawLength);
+            }
+        } catch (LZ4Exception e) {
+            throw new SerializationException("LZ4 解压失败: " + e.getMessage(), e);
+        }
+        return delegate.decode(raw);
+    }
+
+    private static int varIntLength(int value) {
+        int length = 1;
+        while ((value >>>= 7) != 0) {
+            length++;
+        }
+        return length;
+    }
+
+    private static void writeVarInt(byte[] out, int offset, int value) {
+        while ((value & ~0x7F) != 0) {
+            out[offset++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out[offset] = (byte) value;
+    }
+}
@@ -0,0 +1,16 @@
+package com.blog.cache;
+
+/**
+ * Redis 值编解码
+ * 每种缓存值各用一个按具体类型构造的编解码器，不在数据里写类名
+ */
+public interface RedisCodec<T> {
+
+    byte[] encode(T value);
+
+    default T decode(byte[] bytes) {
+        return decode(bytes, 0, bytes.length);
+    }
+
+    T decode(byte[] bytes, int offset, int length);
+}
@@ -0,0 +1,78 @@
+package com.blog.cache;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis 缓存值编解码器和按类型的 RedisTemplate
+ * 每种缓存值用 {@link #codec(Class)} 或 {@link #codec(TypeReference)} 构造自己的编解码器，
+ * 再用 {@link #template(RedisCodec)} 得到只存这一种值的 RedisTemplate，key 为字符串
+ */
+@Component
+public class RedisCodecs {
+
+    private final ObjectMapper smileMapper;
+    private final RedisConnectionFactory connectionFactory;
+    private final int compressThreshold;
+
+    public RedisCodecs(RedisConnectionFactory connectionFactory,
+                       @Value("${blog.redis.codec.compress-threshold:1024}") int compressThreshold) {
+        this.smileMapper = createSmileMapper();
+        this.connectionFactory = connectionFactory;
+        this.compressThreshold = compressThreshold;
+    }
+
+    /**
+     * 缓存值使用的 Smile 映射器：时间按数值写出，忽略 null 和未知字段
+     */
+    public static ObjectMapper createSmileMapper() {
+        return SmileMapper.builder()
+                .addModule(new JavaTimeModule())
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+    }
+
+    public <T> RedisCodec<T> codec(Class<T> type) {
+        return codec(smileMapper.constructType(type));
+    }
+
+    public <T> RedisCodec<T> codec(TypeReference<T> type) {
+        return codec(smileMapper.constructType(type));
+    }
+
+    private <T> RedisCodec<T> codec(JavaType type) {
+        RedisCodec<T> codec = new SmileCodec<>(smileMapper, type);
+        // 阈值不大于 0 时不压缩
+        return compressThreshold > 0 ? new Lz4Codec<>(codec, compressThreshold) : codec;
+    }
+
+    public <T> RedisTemplate<String, T> template(RedisCodec<T> codec) {
+        RedisTemplate<String, T> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(RedisSerializer.string());
+        template.setHashKeySerializer(RedisSerializer.string());
+        template.setValueSerializer(new CodecRedisSerializer<>(codec));
+        template.setHashValueSerializer(new CodecRedisSerializer<>(codec));
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    public <T> RedisTemplate<String, T> template(Class<T> type) {
+        return template(codec(type));
+    }
+
+    public <T> RedisTemplate<String, T> template(TypeReference<T> type) {
+        return template(codec(type));
+    }
+}
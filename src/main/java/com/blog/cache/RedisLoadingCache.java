@@ -0,0 +1,208 @@
+package com.blog.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * 带击穿保护的 Redis 加载缓存，由 {@link RedisLoadingCaches} 创建
+ * <ul>
+ *     <li>本机内同一 key 的并发未命中合并为一次加载（{@link SingleFlight}）</li>
+ *     <li>跨节点用短期 Redis 锁（SET NX PX）保证同一时刻只有一个节点回源，其他节点短暂等待其写入的结果</li>
+ *     <li>缓存项记录加载耗时，按 {@link XFetch} 概率在过期前由一个请求触发后台刷新</li>
+ *     <li>逻辑过期后在宽限期内继续返回旧值，同时后台刷新</li>
+ * </ul>
+ * Redis 不可用时直接执行加载。key 中带代数的缓存在失效后换了新 key，不会读到旧值
+ */
+@Slf4j
+public class RedisLoadingCache<V> {
+
+    private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private static final long LOCK_POLL_MILLIS = 20;
+
+    private final String name;
+    private final RedisTemplate<String, Entry<V>> redisTemplate;
+    private final StringRedisTemplate lockTemplate;
+    private final Executor refreshExecutor;
+    private final Duration ttl;
+    private final Duration staleTtl;
+    private final Duration lockTimeout;
+    private final double beta;
+    private final SingleFlight<V> singleFlight = new SingleFlight<>();
+
+    RedisLoadingCache(String name, RedisTemplate<String, Entry<V>> redisTemplate, StringRedisTemplate lockTemplate,
+                      Executor refreshExecutor, Duration ttl, Duration staleTtl, Duration lockTimeout, double beta) {
+        this.name = name;
+        this.redisTemplate = redisTemplate;
+        this.lockTemplate = lockTemplate;
+        this.refreshExecutor = refreshExecutor;
+        this.ttl = ttl;
+        this.staleTtl = staleTtl;
+        this.lockTimeout = lockTimeout;
+        this.beta = beta;
+    }
+
+    /**
+     * 读取缓存，未命中时加载并写入；loader 返回 null 时不缓存
+     */
+    public V get(String key, Supplier<V> loader) {
+        if (ttl.isZero()) {
+            return loader.get();
+        }
+        Entry<V> entry;
+        try {
+            entry = redisTemplate.opsForValue().get(key);
+        } catch (Exception e) {
+            log.warn("读取缓存失败 [{}]: {}", name, e.getMessage());
+            return loader.get();
+        }
+
+        if (entry != null) {
+            long now = System.currentTimeMillis();
+            // 已过期（宽限期内的旧值）或按概率提前刷新：本次仍返回缓存值，由后台刷新
+            if (now >= entry.expiresAt() || XFetch.shouldRefresh(now, entry.expiresAt(), entry.loadMillis(), beta)) {
+                refreshAsync(key, loader);
+            }
+            return entry.value();
+        }
+        return singleFlight.execute(key, () -> loadExclusively(key, loader));
+    }
+
+    /**
+     * 持有跨节点锁时加载；锁被其他节点持有时等待其写入结果，超时后自行加载
+     */
+    private V loadExclusively(String key, Supplier<V> loader) {
+        String token = tryLock(key);
+        if (token != null) {
+            try {
+                return load(key, loader);
+            } finally {
+                unlock(key, token);
+            }
+        }
+
+        long deadline = System.currentTimeMillis() + lockTimeout.toMillis();
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(LOCK_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            try {
+                Entry<V> entry = redisTemplate.opsForValue().get(key);
+                if (entry != null) {
+                    return entry.value();
+                }
+            } catch (Exception e) {
+                break;
+            }
+        }
+        return load(key, loader);
+    }
+
+    private void refreshAsync(String key, Supplier<V> loader) {
+        singleFlight.executeAsync(key, () -> {
+            // 拿不到锁说明其他节点正在刷新
+            String token = tryLock(key);
+            if (token == null) {
+                return null;
+            }
+            try {
+                return load(key, loader);
+            } finally {
+                unlock(key, token);
+            }
+        }, refreshExecutor);
+    }
+
+    private V load(String key, Supplier<V> loader) {
+        long start = System.currentTimeMillis();
+        V value = loader.get();
+        long now = System.currentTimeMillis();
+        if (value != null) {
+            Entry<V> entry = new Entry<>(value, now + ttl.toMillis(), (int) Math.min(now - start, Integer.MAX_VALUE));
+            try {
+                // 物理 TTL 包含宽限期，逻辑过期后还能作为旧值返回
+                redisTemplate.opsForValue().set(key, entry, ttl.plus(staleTtl));
+            } catch (Exception e) {
+                log.warn("写入缓存失败 [{}]: {}", name, e.getMessage());
+            }
+        }
+        return value;
+    }
+
+    private String tryLock(String key) {
+        String token = UUID.randomUUID().toString();
+        try {
+            Boolean locked = lockTemplate.opsForValue().setIfAbsent(lockKey(key), token, lockTimeout);
+            return Boolean.TRUE.equals(locked) ? token : null;
+        } catch (Exception e) {
+            // Redis 不可用时不做跨节点互斥
+            return token;
+        }
+    }
+
+    private void unlock(String key, String token) {
+        try {
+            lockTemplate.execute(UNLOCK_SCRIPT, List.of(lockKey(key)), token);
+        } catch (Exception e) {
+            log.debug("释放缓存锁失败 [{}]: {}", name, e.getMessage());
+        }
+    }
+
+    private static String lockKey(String key) {
+        return key + ":lock";
+    }
+
+    /**
+     * 缓存项：值、逻辑过期时间（毫秒时间戳）和上次加载耗时（毫秒）
+     */
+    record Entry<V>(V value, long expiresAt, int loadMillis) {
+    }
+
+    /**
+     * 缓存项编码：8 字节过期时间 + 4 字节加载耗时 + 值的编码
+     */
+    static final class EntryCodec<V> implements RedisCodec<Entry<V>> {
+
+        private static final int HEADER_BYTES = Long.BYTES + Integer.BYTES;
+
+        private final RedisCodec<V> valueCodec;
+
+        EntryCodec(RedisCodec<V> valueCodec) {
+            this.valueCodec = valueCodec;
+        }
+
+        @Override
+        public byte[] encode(Entry<V> entry) {
+            byte[] value = valueCodec.encode(entry.value());
+            return ByteBuffer.allocate(HEADER_BYTES + value.length)
+                    .putLong(entry.expiresAt())
+                    .putInt(entry.loadMillis())
+                    .put(value)
+                    .array();
+        }
+
+        @Override
+        public Entry<V> decode(byte[] bytes, int offset, int length) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes, offset, length);
+            long expiresAt = buffer.getLong();
+            int loadMillis = buffer.getInt();
+            V value = valueCodec.decode(bytes, offset + HEADER_BYTES, length - HEADER_BYTES);
+            return new Entry<>(value, expiresAt, loadMillis);
+        }
+    }
+}
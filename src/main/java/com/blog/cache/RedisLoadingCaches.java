@@ -0,0 +1,51 @@
+package com.blog.cache;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+/**
+ * 创建 {@link RedisLoadingCache}，共用锁、后台刷新线程池和 XFetch 参数
+ */
+@Component
+public class RedisLoadingCaches {
+
+    private final RedisCodecs redisCodecs;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Executor refreshExecutor;
+    private final Duration lockTimeout;
+    private final double beta;
+
+    public RedisLoadingCaches(RedisCodecs redisCodecs, StringRedisTemplate stringRedisTemplate,
+                              @Qualifier("cacheRefreshExecutor") Executor refreshExecutor,
+                              @Value("${blog.cache.lock-timeout:2s}") Duration lockTimeout,
+                              @Value("${blog.cache.xfetch-beta:1.0}") double beta) {
+        this.redisCodecs = redisCodecs;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.refreshExecutor = refreshExecutor;
+        this.lockTimeout = lockTimeout;
+        this.beta = beta;
+    }
+
+    /**
+     * @param name     缓存名称，用于日志
+     * @param ttl      逻辑有效期，为 0 时不缓存
+     * @param staleTtl 逻辑过期后仍可返回旧值的宽限期
+     */
+    public <V> RedisLoadingCache<V> create(String name, TypeReference<V> type, Duration ttl, Duration staleTtl) {
+        RedisCodec<RedisLoadingCache.Entry<V>> codec = new RedisLoadingCache.EntryCodec<>(redisCodecs.codec(type));
+        return new RedisLoadingCache<>(name, redisCodecs.template(codec), stringRedisTemplate, refreshExecutor,
+                ttl, staleTtl, lockTimeout, beta);
+    }
+
+    public <V> RedisLoadingCache<V> create(String name, Class<V> type, Duration ttl, Duration staleTtl) {
+        RedisCodec<RedisLoadingCache.Entry<V>> codec = new RedisLoadingCache.EntryCodec<>(redisCodecs.codec(type));
+        return new RedisLoadingCache<>(name, redisCodecs.template(codec), stringRedisTemplate, refreshExecutor,
+                ttl, staleTtl, lockTimeout, beta);
+    }
+}
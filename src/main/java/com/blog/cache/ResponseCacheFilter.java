@@ -0,0 +1,344 @@
+package com.blog.cache;
+
+import com.blog.datasource.DataSourceRoute;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.RequestPath;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfoHandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.pattern.PathPattern;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 公开接口的响应缓存
+ * 只处理标注了 {@link ResponseCached} 的 GET 路由上不带 Authorization 的请求。缓存的是最终写出的 UTF-8 JSON 字节
+ * （可选同时保存 gzip 压缩结果），命中时直接写入输出流，不经过控制器、服务和 Jackson。
+ * key 为路径加排序后的查询参数；缓存项记录生成前的命名空间版本，命名空间失效后不再命中。
+ * 同一 key 并发未命中时只有一个请求执行控制器，其余请求等待并共享它的结果；临近过期时按 {@link XFetch}
+ * 概率由单个请求提前重新生成，其他请求继续命中。排在 Spring Security 之后，命中的响应同样经过 CORS 等处理
+ */
+@Slf4j
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 10)
+public class ResponseCacheFilter extends OncePerRequestFilter implements SmartInitializingSingleton, LocalCache {
+
+    /** 请求属性：响应可以缓存（成功结果），由 {@link ResponseCacheAdvice} 设置 */
+    static final String CACHEABLE_ATTRIBUTE = ResponseCacheFilter.class.getName() + ".CACHEABLE";
+
+    private static final String NO_STORE_ATTRIBUTE = ResponseCacheFilter.class.getName() + ".NO_STORE";
+
+    private final CacheNamespaces namespaces;
+    private final ApplicationContext applicationContext;
+    private final List<ResponseCacheHitListener> hitListeners;
+    private final Cache<String, CachedResponse> cache;
+    private final SingleFlight<CachedResponse> singleFlight = new SingleFlight<>();
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final double beta;
+    private final int maxEntryBytes;
+    private final int gzipMinBytes;
+
+    private volatile List<Route> routes = List.of();
+
+    public ResponseCacheFilter(CacheNamespaces namespaces, ApplicationContext applicationContext,
+                               ObjectProvider<ResponseCacheHitListener> hitListeners,
+                               @Value("${blog.response-cache.enabled:true}") boolean enabled,
+                               @Value("${blog.response-cache.ttl:60s}") Duration ttl,
+                               @Value("${blog.response-cache.max-bytes:67108864}") long maxBytes,
+                               @Value("${blog.response-cache.max-entry-bytes:262144}") int maxEntryBytes,
+                               @Value("${blog.response-cache.gzip-min-bytes:1024}") int gzipMinBytes,
+                               @Value("${blog.cache.xfetch-beta:1.0}") double beta) {
+        this.namespaces = namespaces;
+        this.applicationContext = applicationContext;
+        this.hitListeners = hitListeners.orderedStream().toList();
+        this.enabled = enabled;
+        this.maxEntryBytes = maxEntryBytes;
+        this.gzipMinBytes = gzipMinBytes;
+        this.ttlNanos = ttl.toNanos();
+        this.beta = beta;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumWeight(maxBytes)
+                .weigher((String key, CachedResponse value) -> key.length() * 2 + value.weight())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 当前请求的响应不写入缓存（如部分查询超时的文章详情）
+     */
+    public static void skipStore() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(NO_STORE_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    public Cache<String, ?> getCache() {
+        return cache;
+    }
+
+    @Override
+    public String name() {
+        return "response";
+    }
+
+    @Override
+    public void invalidate(Collection<String> keys) {
+        cache.invalidateAll(keys);
+    }
+
+    @Override
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<Route> found = new ArrayList<>();
+        for (RequestMappingInfoHandlerMapping mapping
+                : applicationContext.getBeansOfType(RequestMappingInfoHandlerMapping.class).values()) {
+            for (Map.Entry<RequestMappingInfo, HandlerMethod> entry : mapping.getHandlerMethods().entrySet()) {
+                ResponseCached cached = entry.getValue().getMethodAnnotation(ResponseCached.class);
+                RequestMappingInfo info = entry.getKey();
+                if (cached == null || info.getPathPatternsCondition() == null
+                        || !info.getMethodsCondition().getMethods().contains(RequestMethod.GET)) {
+                    continue;
+                }
+                for (PathPattern pattern : info.getPathPatternsCondition().getPatterns()) {
+                    found.add(new Route(pattern, cached.value()));
+                }
+            }
+        }
+        routes = List.copyOf(found);
+        log.info("响应缓存路由: {}", found.stream().map(route -> route.pattern().getPatternString()).toList());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !"GET".equals(request.getMethod()) || request.getHeader(HttpHeaders.AUTHORIZATION) != null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Route route = match(request);
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = key(request);
+        String cacheControl = request.getHeader(HttpHeaders.CACHE_CONTROL);
+        boolean bypass = cacheControl != null && cacheControl.contains("no-cache");
+        if (bypass) {
+            render(request, response, filterChain, route, key);
+            return;
+        }
+
+        CachedResponse cached = cache.getIfPresent(key);
+        if (cached != null && namespaces.isCurrent(route.namespaces(), cached.versions())) {
+            // 按概率提前重新生成：只由本次请求执行，同时进行的其他请求继续命中
+            if (singleFlight.isInFlight(key)
+                    || !XFetch.shouldRefresh(System.nanoTime(), cached.expiresAt(), cached.renderNanos(), beta)) {
+                writeHit(request, response, cached);
+                return;
+            }
+        }
+
+        boolean[] leader = new boolean[1];
+        CachedResponse shared;
+        try {
+            shared = singleFlight.execute(key, () -> {
+                leader[0] = true;
+                try {
+                    return render(request, response, filterChain, route, key);
+                } catch (IOException | ServletException e) {
+                    throw new RenderFailure(e);
+                }
+            });
+        } catch (RenderFailure e) {
+            if (!leader[0]) {
+                shared = null;
+            } else if (e.getCause() instanceof IOException io) {
+                throw io;
+            } else {
+                throw (ServletException) e.getCause();
+            }
+        } catch (RuntimeException e) {
+            if (leader[0]) {
+                throw e;
+            }
+            shared = null;
+        }
+        if (leader[0]) {
+            return;
+        }
+        // 等待的请求：共享生成结果，结果不可缓存时自己执行
+        if (shared != null) {
+            writeHit(request, response, shared);
+        } else {
+            render(request, response, filterChain, route, key);
+        }
+    }
+
+    /**
+     * 执行控制器生成响应，可缓存时写入缓存并返回缓存项
+     */
+    private CachedResponse render(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                                  Route route, String key) throws ServletException, IOException {
+        // 版本快照在生成响应之前获取：生成期间发生的失效会让这次结果直接过期
+        long[] versions = namespaces.snapshot();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        if (gzipMinBytes > 0) {
+            wrapper.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        wrapper.setHeader("X-Cache", "MISS");
+        long start = System.nanoTime();
+        // 生成结果供所有请求共享，查询走主库：从库可能还没有追上刚递增版本的那次写入
+        DataSourceRoute previous = DataSourceRoute.bind(DataSourceRoute.PRIMARY);
+        try {
+            filterChain.doFilter(request, wrapper);
+            return store(request, wrapper, route, key, versions, System.nanoTime() - start);
+        } finally {
+            DataSourceRoute.bind(previous);
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private Route match(HttpServletRequest request) {
+        PathContainer path = RequestPath.parse(request.getRequestURI(), request.getContextPath()).pathWithinApplication();
+        for (Route route : routes) {
+            if (route.pattern().matches(path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private CachedResponse store(HttpServletRequest request, ContentCachingResponseWrapper response, Route route,
+                                 String key, long[] versions, long renderNanos) throws IOException {
+        // 实际处理的路由必须与匹配的一致（同一路径可能由更具体的未缓存路由处理）
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (response.getStatus() != HttpServletResponse.SC_OK
+                || request.getAttribute(CACHEABLE_ATTRIBUTE) == null
+                || request.getAttribute(NO_STORE_ATTRIBUTE) != null
+                || !route.pattern().getPatternString().equals(pattern)
+                || response.getContentSize() > maxEntryBytes) {
+            return null;
+        }
+        byte[] body = response.getContentAsByteArray();
+        byte[] gzipBody = gzipMinBytes > 0 && body.length >= gzipMinBytes ? gzip(body) : null;
+        @SuppressWarnings("unchecked")
+        Map<String, String> uriVariables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        CachedResponse cached = new CachedResponse(body, gzipBody, response.getContentType(), (String) pattern,
+                uriVariables != null ? Map.copyOf(uriVariables) : Map.of(), versions,
+                System.nanoTime() + ttlNanos, renderNanos);
+        cache.put(key, cached);
+        return cached;
+    }
+
+    private void writeHit(HttpServletRequest request, HttpServletResponse response,
+                          CachedResponse cached) throws IOException {
+        // 监控、SQL 统计按路由模板归类，命中时没有经过处理器映射，手动补上
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, cached.pattern());
+        for (ResponseCacheHitListener listener : hitListeners) {
+            try {
+                listener.onHit(cached.pattern(), cached.uriVariables());
+            } catch (Exception e) {
+                log.warn("响应缓存命中回调失败: {}", cached.pattern(), e);
+            }
+        }
+
+        byte[] body = cached.body();
+        if (cached.gzipBody() != null) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+            if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+                body = cached.gzipBody();
+            }
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(cached.contentType());
+        response.setContentLength(body.length);
+        response.setHeader("X-Cache", "HIT");
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * 路径加按名称排序的查询参数，参数顺序不同的同一请求共用缓存项
+     */
+    private static String key(HttpServletRequest request) {
+        StringBuilder key = new StringBuilder(request.getRequestURI());
+        char separator = '?';
+        for (Map.Entry<String, String[]> parameter : new TreeMap<>(request.getParameterMap()).entrySet()) {
+            for (String value : parameter.getValue()) {
+                key.append(separator).append(parameter.getKey()).append('=').append(value);
+                separator = '&';
+            }
+        }
+        return key.toString();
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 在合并执行中传递生成响应时的受检异常
+     */
+    private static final class RenderFailure extends RuntimeException {
+
+        RenderFailure(Exception cause) {
+            super(cause);
+        }
+    }
+
+    private record Route(PathPattern pattern, CacheNamespace[] namespaces) {
+    }
+
+    private record CachedResponse(byte[] body, byte[] gzipBody, String contentType, String pattern,
+                                  Map<String, String> uriVariables, long[] versions,
+                                  long expiresAt, long renderNanos) {
+
+        int weight() {
+            return body.length + (gzipBody != null ? gzipBody.length : 0) + 128;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.blog.cache;
+
+import java.util.Map;
+
+/**
+ * 响应缓存命中回调，命中时不执行控制器方法，需要每次请求都做的副作用（如浏览量计数）在这里补上
+ */
+public interface ResponseCacheHitListener {
+
+    /**
+     * @param pattern      命中的路由，如 /api/articles/{id}
+     * @param uriVariables 路径变量
+     */
+    void onHit(String pattern, Map<String, String> uriVariables);
+}
@@ -0,0 +1,15 @@
+package com.blog.cache;
+
+import java.lang.annotation.*;
+
+/**
+ * 匿名 GET 请求的响应缓存，由 {@link ResponseCacheFilter} 保存最终的 JSON 字节
+ * 命名空间列出响应内容依赖的数据，其中任一失效时缓存项作废
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ResponseCached {
+
+    CacheNamespace[] value();
+}
@@ -0,0 +1,81 @@
+package com.blog.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * 本机内的同 key 合并执行：同一 key 的并发调用只执行一次加载，其余调用等待并共享结果
+ */
+public class SingleFlight<V> {
+
+    private final ConcurrentHashMap<String, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * 执行加载；已有同 key 的加载在进行时等待其结果，加载抛出的异常同样传给等待者
+     */
+    public V execute(String key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            return await(existing);
+        }
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * 没有同 key 的加载在进行时提交到线程池异步执行，返回是否提交
+     */
+    public boolean executeAsync(String key, Supplier<V> loader, Executor executor) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(key, flight) != null) {
+            return false;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    flight.complete(loader.get());
+                } catch (Throwable e) {
+                    flight.completeExceptionally(e);
+                } finally {
+                    inFlight.remove(key, flight);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key, flight);
+            flight.cancel(false);
+            return false;
+        }
+    }
+
+    public boolean isInFlight(String key) {
+        return inFlight.containsKey(key);
+    }
+
+    private static <V> V await(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
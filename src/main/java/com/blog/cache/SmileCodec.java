@@ -0,0 +1,43 @@
+package com.blog.cache;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+
+/**
+ * Smile（二进制 JSON）编解码
+ * 读写器按目标类型预先构造，字段名在同一个值内只写一次（后续为回指），数字按变长整数编码；
+ * 未知字段忽略，DTO 增减字段后旧缓存仍可读
+ */
+public class SmileCodec<T> implements RedisCodec<T> {
+
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+
+    public SmileCodec(ObjectMapper smileMapper, JavaType type) {
+        this.writer = smileMapper.writerFor(type);
+        this.reader = smileMapper.readerFor(type);
+    }
+
+    @Override
+    public byte[] encode(T value) {
+        try {
+            return writer.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new SerializationException("Smile 编码失败: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public T decode(byte[] bytes, int offset, int length) {
+        try {
+            return reader.readValue(bytes, offset, length);
+        } catch (IOException e) {
+            throw new SerializationException("Smile 解码失败: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.blog.cache;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 概率提前刷新（XFetch）
+ * 越接近过期、重新计算越慢（delta 越大），提前刷新的概率越高；热点 key 在过期前通常已被某一个请求刷新，
+ * 不会在过期瞬间让大量请求同时回源。beta 大于 1 更早刷新，小于 1 更晚
+ */
+public final class XFetch {
+
+    private XFetch() {
+    }
+
+    /**
+     * @param now       当前时间
+     * @param expiresAt 逻辑过期时间
+     * @param delta     上次重新计算的耗时（与时间同单位）
+     */
+    public static boolean shouldRefresh(long now, long expiresAt, long delta, double beta) {
+        // -ln(rand) 服从指数分布，期望为 1
+        double random = ThreadLocalRandom.current().nextDouble();
+        return now - delta * beta * Math.log(random == 0 ? Double.MIN_VALUE : random) >= expiresAt;
+    }
+}
@@ -0,0 +1,142 @@
+package com.blog.config;
+
+import com.blog.datasource.DataSourceRouteTaskDecorator;
+import com.blog.datasource.ReadOnly;
+import com.blog.datasource.ReadOnlyRoutingInterceptor;
+import com.blog.datasource.ReadWriteRoutingDataSource;
+import com.blog.datasource.ReplicaLagGuard;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 读写分离配置，配置了 blog.datasource.replicas 时生效
+ * 主库使用 spring.datasource，从库沿用 spring.datasource.hikari 的连接池参数，只覆盖地址和账号；
+ * {@link ReadOnly} 方法的查询走从库，写请求和刚写过数据的用户走主库
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "blog.datasource.replicas[0].url")
+public class DataSourceConfig {
+
+    /**
+     * 从库地址和账号，账号为空时使用主库的
+     */
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource dataSource(DataSourceProperties properties, Environment environment,
+                                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        Binder binder = Binder.get(environment);
+        ReadWriteRoutingDataSource.Balance balance = binder
+                .bind("blog.datasource.balance", ReadWriteRoutingDataSource.Balance.class)
+                .orElse(ReadWriteRoutingDataSource.Balance.ROUND_ROBIN);
+        List<Replica> replicaProperties = binder.bind("blog.datasource.replicas", Bindable.listOf(Replica.class))
+                .orElse(List.of());
+
+        HikariDataSource primary = createPool(binder, properties, "primary",
+                properties.determineUrl(), properties.determineUsername(), properties.determinePassword());
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaProperties.size(); i++) {
+            Replica replica = replicaProperties.get(i);
+            HikariDataSource pool = createPool(binder, properties, "replica-" + (i + 1), replica.getUrl(),
+                    replica.getUsername() != null ? replica.getUsername() : properties.determineUsername(),
+                    replica.getPassword() != null ? replica.getPassword() : properties.determinePassword());
+            // 从库连接只读，误路由的写操作直接失败而不是写进从库
+            pool.setReadOnly(true);
+            replicas.add(pool);
+        }
+
+        // 连接池不是容器中的 Bean，Hikari 指标需要自己接上（hikaricp.*，pool 标签区分主从）
+        meterRegistry.ifAvailable(registry -> {
+            MicrometerMetricsTrackerFactory metrics = new MicrometerMetricsTrackerFactory(registry);
+            primary.setMetricsTrackerFactory(metrics);
+            replicas.forEach(replica -> replica.setMetricsTrackerFactory(metrics));
+        });
+
+        log.info("启用读写分离: 1 个主库, {} 个从库, 负载均衡 {}", replicas.size(), balance);
+        return new ReadWriteRoutingDataSource(primary, replicas, balance);
+    }
+
+    private static HikariDataSource createPool(Binder binder, DataSourceProperties properties, String name,
+                                               String url, String username, String password) {
+        HikariDataSource pool = new HikariDataSource();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        pool.setDriverClassName(properties.determineDriverClassName());
+        pool.setJdbcUrl(url);
+        pool.setUsername(username);
+        pool.setPassword(password);
+        return pool;
+    }
+
+    /**
+     * {@link ReadOnly} 切面，排在事务切面之前，路由在取连接前确定
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor readOnlyRoutingAdvisor() {
+        ComposablePointcut pointcut = new ComposablePointcut(new AnnotationMatchingPointcut(ReadOnly.class, true))
+                .union(AnnotationMatchingPointcut.forMethodAnnotation(ReadOnly.class));
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, new ReadOnlyRoutingInterceptor());
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE + 100);
+        return advisor;
+    }
+
+    /**
+     * 线程池任务沿用提交线程的路由
+     */
+    @Bean
+    public DataSourceRouteTaskDecorator dataSourceRouteTaskDecorator() {
+        return new DataSourceRouteTaskDecorator();
+    }
+
+    /**
+     * 从库延迟保护：用户写入成功后在 read-your-writes 时长内读主库
+     */
+    @Bean
+    public ReplicaLagGuard replicaLagGuard(
+            @Value("${blog.datasource.read-your-writes:5s}") Duration pinDuration,
+            @Value("${blog.datasource.read-your-writes-max-users:100000}") long maxUsers) {
+        return new ReplicaLagGuard(pinDuration, maxUsers);
+    }
+
+    @Bean
+    public WebMvcConfigurer replicaLagGuardConfigurer(ReplicaLagGuard replicaLagGuard) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(replicaLagGuard).order(Ordered.HIGHEST_PRECEDENCE);
+            }
+        };
+    }
+}
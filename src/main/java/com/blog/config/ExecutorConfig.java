@@ -0,0 +1,141 @@
+package com.blog.config;
+
+import com.blog.datasource.DataSourceRouteTaskDecorator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 后台任务线程池配置
+ */
+@Configuration
+@EnableScheduling
+public class ExecutorConfig {
+
+    /**
+     * 图片衍生（缩略图）线程池
+     * 有界队列，队列满时拒绝任务，由懒加载回填机制稍后补齐
+     */
+    @Bean
+    public ThreadPoolTaskExecutor imageTaskExecutor(
+            @Value("${blog.image.workers:2}") int workers,
+            @Value("${blog.image.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 邮件发送线程池
+     * JavaMail 的 SMTP 发送在 synchronized 方法内做阻塞 I/O，虚拟线程执行会钉住载体线程，因此固定在平台线程上执行；
+     * 同时限制了同时打开的 SMTP 连接数
+     */
+    @Bean
+    public ThreadPoolTaskExecutor mailTaskExecutor(
+            @Value("${blog.mail.workers:4}") int workers,
+            @Value("${blog.mail.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("mail-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 文章详情并行查询线程池
+     * 有界，线程数不宜超过数据库连接池大小；队列满时由调用线程执行，退化为串行查询。
+     * 任务属于某个请求，按顺序叠加所有 TaskDecorator，把请求上下文（SQL 统计、数据源路由）传给工作线程
+     */
+    @Bean
+    public ThreadPoolTaskExecutor detailTaskExecutor(
+            @Value("${blog.article.detail-workers:8}") int workers,
+            @Value("${blog.article.detail-queue-capacity:256}") int queueCapacity,
+            ObjectProvider<TaskDecorator> taskDecorators) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("detail-");
+        List<TaskDecorator> decorators = taskDecorators.orderedStream().toList();
+        if (!decorators.isEmpty()) {
+            executor.setTaskDecorator(runnable -> {
+                Runnable decorated = runnable;
+                for (TaskDecorator decorator : decorators) {
+                    decorated = decorator.decorate(decorated);
+                }
+                return decorated;
+            });
+        }
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 缓存后台刷新线程池
+     * 刷新不属于触发它的请求，只继承数据源路由（读从库），不计入请求的 SQL 统计；队列满时放弃刷新，继续返回旧值
+     */
+    @Bean
+    public ThreadPoolTaskExecutor cacheRefreshExecutor(
+            @Value("${blog.cache.refresh-workers:2}") int workers,
+            @Value("${blog.cache.refresh-queue-capacity:64}") int queueCapacity,
+            ObjectProvider<DataSourceRouteTaskDecorator> routeDecorator) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("cache-refresh-");
+        routeDecorator.ifAvailable(executor::setTaskDecorator);
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 缓存失效消息的监听线程，单线程按到达顺序处理（CacheInvalidationBus 的序号检查依赖顺序）。
+     * 声明为 Bean，关闭时由容器在监听容器停止后销毁
+     */
+    @Bean
+    public ThreadPoolTaskExecutor cacheInvalidationExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("cache-invalidate-");
+        executor.setDaemon(true);
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 文章批量导入线程池
+     * 导入任务长时间占用一个数据库连接，默认同时只执行一个，其余排队；队列满时拒绝提交
+     */
+    @Bean
+    public ThreadPoolTaskExecutor articleImportExecutor(
+            @Value("${blog.article.import.workers:1}") int workers,
+            @Value("${blog.article.import.queue-capacity:4}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("article-import-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,22 @@
+package com.blog.config;
+
+import io.micrometer.observation.ObservationPredicate;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 指标配置
+ * 应用指标在 com.blog.monitor 中以预注册的 Meter 记录，这里关闭框架按请求创建 Observation 的埋点
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Spring Security 对每个请求、每个过滤器都创建 Observation，开销与请求数成正比，
+     * 接口延迟已由 http.server.requests 覆盖，不再重复记录
+     */
+    @Bean
+    public ObservationPredicate disableSecurityObservations() {
+        return (name, context) -> !name.startsWith("spring.security.");
+    }
+}
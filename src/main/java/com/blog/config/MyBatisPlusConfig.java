@@ -3,6 +3,8 @@ package com.blog.config;
 import com.baomidou.mybatisplus.annotation.DbType;
 import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import com.blog.monitor.MapperMetrics;
+import com.blog.monitor.SqlStatsInterceptor;
 import org.mybatis.spring.annotation.MapperScan;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -32,4 +34,12 @@ public class MyBatisPlusConfig {
 
         return interceptor;
     }
+
+    /**
+     * SQL 统计插件：按 Mapper 方法记录耗时指标；按请求统计语句条数、数据库耗时，识别 N+1
+     */
+    @Bean
+    public SqlStatsInterceptor sqlStatsInterceptor(MapperMetrics mapperMetrics) {
+        return new SqlStatsInterceptor(mapperMetrics);
+    }
 }
\ No newline at end of file
@@ -1,18 +1,26 @@
 package com.blog.config;
 
+import com.blog.cache.CacheInvalidationBus;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 /**
  * Redis 配置
+ * 通用 RedisTemplate 在值中写入类名，体积大且反序列化慢；缓存值优先用 RedisCodecs 按类型构造的模板
  */
 @Configuration
 public class RedisConfig {
@@ -27,7 +35,16 @@ public class RedisConfig {
 
         ObjectMapper mapper = new ObjectMapper();
         mapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
-        mapper.activateDefaultTyping(LaissezFaireSubTypeValidator.instance, ObjectMapper.DefaultTyping.NON_FINAL);
+        // 只允许反序列化本项目和 JDK 常用类型，避免 Redis 中被写入的类名触发任意类实例化
+        mapper.activateDefaultTyping(BasicPolymorphicTypeValidator.builder()
+                .allowIfSubType("com.blog.")
+                .allowIfSubType("java.util.")
+                .allowIfSubType("java.time.")
+                .allowIfSubType("java.lang.")
+                .build(), ObjectMapper.DefaultTyping.NON_FINAL);
+        // 支持 LocalDateTime 等 java.time 类型（实体和 DTO 的时间字段）
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
         jackson2JsonRedisSerializer.setObjectMapper(mapper);
 
         // String 序列化
@@ -44,4 +61,19 @@ public class RedisConfig {
         template.afterPropertiesSet();
         return template;
     }
-}
\ No newline at end of file
+
+    /**
+     * 订阅缓存失效消息
+     * 消息在单个线程（cacheInvalidationExecutor）上按到达顺序处理，序号检查依赖顺序
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(
+            RedisConnectionFactory connectionFactory, CacheInvalidationBus invalidationBus,
+            @Qualifier("cacheInvalidationExecutor") ThreadPoolTaskExecutor cacheInvalidationExecutor) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.setTaskExecutor(cacheInvalidationExecutor);
+        container.addMessageListener(invalidationBus, new ChannelTopic(CacheInvalidationBus.CHANNEL));
+        return container;
+    }
+}
@@ -3,6 +3,7 @@ package com.blog.config;
 import com.blog.security.JwtAuthenticationFilter;
 import com.blog.security.OAuth2LoginSuccessHandler;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -13,6 +14,8 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 /**
  * Spring Security 配置
@@ -26,6 +29,13 @@ public class SecurityConfig {
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final OAuth2LoginSuccessHandler oauth2LoginSuccessHandler;
 
+    @Value("${server.port:8080}")
+    private int serverPort;
+
+    // 单独的管理端口（内网），未配置时为 -1
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
     /**
      * 密码加密器
      */
@@ -53,14 +63,22 @@ public class SecurityConfig {
                                 "/api/categories",        // 分类列表
                                 "/api/categories/{id}",   // 分类详情
                                 "/api/tags",              // 标签列表
+                                "/api/tags/search",       // 标签搜索（与标签列表同为公开字典数据）
                                 "/api/comments",          // 评论列表（公开）
                                 "/uploads/**",            // 上传文件访问
                                 "/swagger-ui/**",         // Swagger UI
                                 "/swagger-ui.html",       // Swagger UI
                                 "/v3/api-docs/**",        // OpenAPI 文档
-                                "/error"                  // 错误页面
+                                "/error",                 // 错误页面
+                                "/actuator/health"        // 健康检查
                         ).permitAll()
 
+                        // 监控指标抓取：只在单独的管理端口上免登录
+                        .requestMatchers(prometheusOnManagementPort()).permitAll()
+
+                        // 其余监控端点
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+
                         // 管理员接口
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
 
@@ -83,4 +101,13 @@ public class SecurityConfig {
 
         return http.build();
     }
+
+    /**
+     * 管理端口与应用端口不同时，该端口上的 /actuator/prometheus；应用端口上仍按 /actuator/** 需要管理员
+     */
+    private RequestMatcher prometheusOnManagementPort() {
+        RequestMatcher prometheus = AntPathRequestMatcher.antMatcher("/actuator/prometheus");
+        return request -> managementPort > 0 && managementPort != serverPort
+                && request.getLocalPort() == managementPort && prometheus.matches(request);
+    }
 }
\ No newline at end of file
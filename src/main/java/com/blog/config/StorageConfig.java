@@ -0,0 +1,77 @@
+package com.blog.config;
+
+import com.blog.storage.BlobStore;
+import com.blog.storage.CachingBlobStore;
+import com.blog.storage.LocalBlobStore;
+import com.blog.storage.S3BlobStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Paths;
+
+/**
+ * 上传文件存储配置
+ * blog.storage.type=local（默认）使用本地目录，=s3 使用 S3 兼容对象存储
+ */
+@Slf4j
+@Configuration
+public class StorageConfig {
+
+    /**
+     * 本地文件系统存储
+     */
+    @Bean
+    @ConditionalOnProperty(name = "blog.storage.type", havingValue = "local", matchIfMissing = true)
+    public BlobStore localBlobStore(
+            @Value("${blog.storage.local.root:${user.dir}/uploads}") String root) throws IOException {
+        log.info("上传文件使用本地存储: {}", root);
+        return new LocalBlobStore(Paths.get(root));
+    }
+
+    /**
+     * S3 兼容对象存储，可选本地磁盘读穿缓存
+     */
+    @Bean
+    @ConditionalOnProperty(name = "blog.storage.type", havingValue = "s3")
+    public BlobStore s3BlobStore(
+            @Value("${blog.storage.s3.endpoint:}") String endpoint,
+            @Value("${blog.storage.s3.region:us-east-1}") String region,
+            @Value("${blog.storage.s3.bucket}") String bucket,
+            @Value("${blog.storage.s3.prefix:uploads}") String prefix,
+            @Value("${blog.storage.s3.access-key}") String accessKey,
+            @Value("${blog.storage.s3.secret-key}") String secretKey,
+            @Value("${blog.storage.s3.path-style:true}") boolean pathStyle,
+            @Value("${blog.storage.s3.part-size:8388608}") int partSize,
+            @Value("${blog.storage.cache.enabled:true}") boolean cacheEnabled,
+            @Value("${blog.storage.cache.dir:${user.dir}/uploads-cache}") String cacheDir,
+            @Value("${blog.storage.cache.max-bytes:1073741824}") long cacheMaxBytes) throws IOException {
+        var builder = S3Client.builder()
+                .region(Region.of(region))
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey)))
+                .forcePathStyle(pathStyle)
+                .httpClientBuilder(UrlConnectionHttpClient.builder());
+        if (!endpoint.isEmpty()) {
+            // MinIO 等兼容服务
+            builder.endpointOverride(URI.create(endpoint));
+        }
+
+        BlobStore store = new S3BlobStore(builder.build(), bucket, prefix, partSize);
+        log.info("上传文件使用对象存储: {}/{}", endpoint.isEmpty() ? "s3" : endpoint, bucket);
+
+        if (cacheEnabled) {
+            log.info("启用本地读缓存: {} (上限 {} 字节)", cacheDir, cacheMaxBytes);
+            return new CachingBlobStore(store, Paths.get(cacheDir), cacheMaxBytes);
+        }
+        return store;
+    }
+}
@@ -0,0 +1,41 @@
+package com.blog.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 虚拟线程模式配置（blog.virtual-threads.enabled=true 时生效，需要 JDK 21+）
+ * Tomcat 请求处理和 Spring MVC 异步请求改为每个任务一个虚拟线程，JDBC、Redis 等阻塞调用期间不再占用平台线程。
+ * 图片处理是 CPU 密集任务，仍使用平台线程池；SMTP 发送见 EmailService
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "blog.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    /**
+     * Tomcat 请求处理线程
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        ExecutorService executor = VirtualThreads.newExecutor("http-vt-");
+        log.info("Tomcat 请求处理已切换为虚拟线程");
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    /**
+     * Spring MVC 异步请求（Callable、StreamingResponseBody 等）使用的执行器
+     */
+    @Bean(name = "applicationTaskExecutor")
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(VirtualThreads.newExecutor("task-vt-"));
+    }
+}
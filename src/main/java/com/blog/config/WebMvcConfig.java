@@ -1,10 +1,13 @@
 package com.blog.config;
 
+import com.blog.storage.UploadResourceHandler;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.core.Ordered;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.handler.SimpleUrlHandlerMapping;
 
-import java.io.File;
+import java.util.Map;
 
 /**
  * Web MVC 配置
@@ -12,31 +15,15 @@ import java.io.File;
 @Configuration
 public class WebMvcConfig implements WebMvcConfigurer {
 
-    @Override
-    public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        // 获取uploads目录的绝对路径
-        String uploadPath = getUploadDir();
-
-        // 配置上传文件的访问路径
-        // 访问 /uploads/** 会映射到实际的uploads目录
-        registry.addResourceHandler("/uploads/**")
-                .addResourceLocations("file:" + uploadPath);
-    }
-
     /**
-     * 获取上传目录（项目根目录下的uploads文件夹）
+     * 上传文件访问映射
+     * 访问 /uploads/** 由专用处理器直接从uploads目录发送（零拷贝、Range、ETag）
      */
-    private String getUploadDir() {
-        // 使用当前工作目录
-        String workDir = System.getProperty("user.dir");
-        String uploadPath = workDir + File.separator + "uploads" + File.separator;
-
-        // 确保目录存在
-        File dir = new File(uploadPath);
-        if (!dir.exists()) {
-            dir.mkdirs();
-        }
-
-        return uploadPath;
+    @Bean
+    public SimpleUrlHandlerMapping uploadHandlerMapping(UploadResourceHandler uploadResourceHandler) {
+        SimpleUrlHandlerMapping mapping = new SimpleUrlHandlerMapping();
+        mapping.setUrlMap(Map.of("/uploads/**", uploadResourceHandler));
+        mapping.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return mapping;
     }
 }
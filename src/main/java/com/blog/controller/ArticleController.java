@@ -1,5 +1,8 @@
 package com.blog.controller;
 
+import com.blog.cache.CacheNamespace;
+import com.blog.cache.ResponseCacheFilter;
+import com.blog.cache.ResponseCached;
 import com.blog.common.Constants;
 import com.blog.common.PageResult;
 import com.blog.common.Result;
@@ -32,6 +35,7 @@ public class ArticleController {
      */
     @Operation(summary = "获取文章列表")
     @GetMapping
+    @ResponseCached({CacheNamespace.ARTICLE, CacheNamespace.CATEGORY, CacheNamespace.TAG})
     public Result<PageResult<ArticleListResponse>> getArticleList(
             @Parameter(description = "页码") @RequestParam(defaultValue = "1") int page,
             @Parameter(description = "每页大小") @RequestParam(defaultValue = "10") int size,
@@ -52,12 +56,16 @@ public class ArticleController {
      */
     @Operation(summary = "获取文章详情")
     @GetMapping("/{id}")
+    @ResponseCached({CacheNamespace.ARTICLE, CacheNamespace.CATEGORY, CacheNamespace.TAG})
     public Result<ArticleDetailResponse> getArticleDetail(
             @PathVariable Long id,
             @AuthenticationPrincipal UserPrincipal currentUser
     ) {
         Long userId = currentUser != null ? currentUser.getUserId() : null;
         ArticleDetailResponse response = articleService.getArticleDetail(id, userId);
+        if (Boolean.TRUE.equals(response.getPartial())) {
+            ResponseCacheFilter.skipStore();
+        }
         return Result.success(response);
     }
 
@@ -0,0 +1,79 @@
+package com.blog.controller;
+
+import com.blog.common.Result;
+import com.blog.exception.ResourceNotFoundException;
+import com.blog.security.UserPrincipal;
+import com.blog.service.ArticleImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * 文章批量导入控制器（仅管理员）
+ */
+@Slf4j
+@Tag(name = "文章批量导入", description = "管理员批量导入文章（NDJSON 或 Markdown zip）")
+@RestController
+@RequestMapping("/api/admin/articles/import")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class ArticleImportController {
+
+    private final ArticleImportService articleImportService;
+
+    /**
+     * 提交导入任务：请求体为 NDJSON（每行一篇文章）或 Markdown 文件的 zip，立即返回任务进度，后台执行
+     */
+    @Operation(summary = "提交文章批量导入任务")
+    @PostMapping
+    public Result<ArticleImportService.ImportProgress> submit(
+            @Parameter(description = "ndjson 或 zip，不填时按 Content-Type 判断") @RequestParam(required = false) String format,
+            HttpServletRequest request,
+            @AuthenticationPrincipal UserPrincipal currentUser
+    ) {
+        if (format == null || format.isBlank()) {
+            String contentType = request.getContentType();
+            format = contentType != null && contentType.contains("zip")
+                    ? ArticleImportService.FORMAT_ZIP
+                    : ArticleImportService.FORMAT_NDJSON;
+        }
+        try (InputStream in = request.getInputStream()) {
+            return Result.success(articleImportService.submit(in, format, currentUser.getUserId()));
+        } catch (IOException e) {
+            log.error("接收导入文件失败", e);
+            return Result.error("接收导入文件失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 查询导入进度
+     */
+    @Operation(summary = "查询文章导入进度")
+    @GetMapping("/{jobId}")
+    public Result<ArticleImportService.ImportProgress> getProgress(@PathVariable String jobId) {
+        ArticleImportService.ImportProgress progress = articleImportService.getProgress(jobId);
+        if (progress == null) {
+            throw new ResourceNotFoundException("导入任务不存在或已过期: " + jobId);
+        }
+        return Result.success(progress);
+    }
+
+    /**
+     * 最近的导入任务
+     */
+    @Operation(summary = "最近的文章导入任务")
+    @GetMapping
+    public Result<List<ArticleImportService.ImportProgress>> listProgress() {
+        return Result.success(articleImportService.listProgress());
+    }
+}
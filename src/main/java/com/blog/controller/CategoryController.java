@@ -1,18 +1,22 @@
 package com.blog.controller;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.blog.cache.CacheNamespace;
+import com.blog.cache.ResponseCached;
 import com.blog.common.Constants;
 import com.blog.common.Result;
+import com.blog.datasource.ReadOnly;
 import com.blog.entity.Article;
 import com.blog.entity.Category;
 import com.blog.mapper.ArticleMapper;
-import com.blog.mapper.CategoryMapper;
+import com.blog.service.DictionaryCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * 分类控制器
@@ -23,7 +27,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class CategoryController {
 
-    private final CategoryMapper categoryMapper;
+    private final DictionaryCache dictionaryCache;
     private final ArticleMapper articleMapper;
 
     /**
@@ -31,11 +35,12 @@ public class CategoryController {
      */
     @Operation(summary = "获取分类列表")
     @GetMapping
+    @ReadOnly
+    @ResponseCached({CacheNamespace.CATEGORY, CacheNamespace.ARTICLE})
     public Result<List<Category>> getCategoryList() {
-        List<Category> categories = categoryMapper.selectList(
-                new LambdaQueryWrapper<Category>()
-                        .orderByAsc(Category::getSortOrder)
-        );
+        List<Category> categories = dictionaryCache.categories().stream()
+                .map(DictionaryCache.CategoryEntry::toEntity)
+                .collect(Collectors.toList());
 
         // 动态计算每个分类的文章数量（只统计已发布的文章）
         for (Category category : categories) {
@@ -55,8 +60,9 @@ public class CategoryController {
      */
     @Operation(summary = "获取分类详情")
     @GetMapping("/{id}")
+    @ResponseCached(CacheNamespace.CATEGORY)
     public Result<Category> getCategoryDetail(@PathVariable Long id) {
-        Category category = categoryMapper.selectById(id);
-        return Result.success(category);
+        DictionaryCache.CategoryEntry category = dictionaryCache.category(id);
+        return Result.success(category != null ? category.toEntity() : null);
     }
 }
\ No newline at end of file
@@ -1,23 +1,33 @@
 package com.blog.controller;
 
 import com.blog.common.Result;
+import com.blog.dto.request.ChunkedUploadInitRequest;
+import com.blog.dto.response.ChunkedUploadResponse;
+import com.blog.entity.FileObject;
+import com.blog.security.UserPrincipal;
+import com.blog.service.ChunkedUploadService;
+import com.blog.service.FileStorageService;
+import com.blog.service.ImageVariantService;
 import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletRequest;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.apache.commons.fileupload2.core.DiskFileItem;
+import org.apache.commons.fileupload2.core.DiskFileItemFactory;
+import org.apache.commons.fileupload2.core.FileItemInput;
+import org.apache.commons.fileupload2.core.FileItemInputIterator;
+import org.apache.commons.fileupload2.core.FileUploadSizeException;
+import org.apache.commons.fileupload2.jakarta.servlet6.JakartaServletFileUpload;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.UUID;
 
 /**
  * 文件上传控制器
@@ -26,33 +36,28 @@ import java.util.UUID;
 @Tag(name = "文件管理", description = "文件上传")
 @RestController
 @RequestMapping("/api/upload")
+@RequiredArgsConstructor
 public class FileController {
 
-    // 上传目录：jar包所在目录下的uploads文件夹
-    private static final String UPLOAD_DIR = getUploadDir();
-
     // 允许的图片格式
     private static final String[] ALLOWED_EXTENSIONS = {".jpg", ".jpeg", ".png", ".gif", ".webp"};
 
     // 最大文件大小 5MB
     private static final long MAX_FILE_SIZE = 5 * 1024 * 1024;
 
-    /**
-     * 获取上传目录（项目根目录下的uploads文件夹）
-     */
-    private static String getUploadDir() {
-        // 使用当前工作目录
-        String workDir = System.getProperty("user.dir");
-        String uploadPath = workDir + File.separator + "uploads" + File.separator;
-
-        // 确保目录存在
-        File dir = new File(uploadPath);
-        if (!dir.exists()) {
-            dir.mkdirs();
-        }
+    // multipart 边界和表单字段的额外开销
+    private static final long MULTIPART_OVERHEAD = 64 * 1024;
 
-        return uploadPath;
-    }
+    // 流式上传类型 -> 分类目录
+    private static final Map<String, String> STREAM_TYPES = Map.of(
+            "cover", "covers",
+            "avatar", "avatars",
+            "image", "images"
+    );
+
+    private final FileStorageService fileStorageService;
+    private final ImageVariantService imageVariantService;
+    private final ChunkedUploadService chunkedUploadService;
 
     /**
      * 上传文章封面
@@ -115,35 +120,163 @@ public class FileController {
         }
 
         try {
-            // 创建上传目录（按日期分类）
-            String dateDir = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-            String uploadPath = UPLOAD_DIR + subDir + "/" + dateDir;
-            File dir = new File(uploadPath);
-            if (!dir.exists()) {
-                dir.mkdirs();
+            // 按内容哈希存储，相同文件只保存一份
+            // 按文件头识别类型并去掉 EXIF 等元数据
+            FileObject fileObject;
+            try (InputStream in = file.getInputStream()) {
+                fileObject = fileStorageService.storeImage(in, MAX_FILE_SIZE);
             }
+            return uploadSuccess(fileObject, subDir);
 
-            // 生成唯一文件名
-            String filename = UUID.randomUUID().toString().replace("-", "") + extension;
-            String filePath = uploadPath + "/" + filename;
+        } catch (IOException e) {
+            log.error("文件上传失败", e);
+            return Result.error("文件上传失败: " + e.getMessage());
+        }
+    }
 
-            // 保存文件
-            File destFile = new File(filePath);
-            file.transferTo(destFile);
+    /**
+     * 流式上传图片
+     * 直接解析 multipart 请求流写入存储，不经过容器的内存/临时文件缓冲；按文件头识别图片类型
+     */
+    @Operation(summary = "流式上传图片（type: cover、avatar、image）")
+    @PostMapping("/stream/{type}")
+    public Result<Map<String, String>> uploadStream(@PathVariable String type, HttpServletRequest request) {
+        String subDir = STREAM_TYPES.get(type);
+        if (subDir == null) {
+            return Result.error("不支持的上传类型: " + type);
+        }
+        if (!JakartaServletFileUpload.isMultipartContent(request)) {
+            return Result.error("请使用 multipart/form-data 上传");
+        }
 
-            // 返回访问URL
-            String url = "/uploads/" + subDir + "/" + dateDir + "/" + filename;
+        JakartaServletFileUpload<DiskFileItem, DiskFileItemFactory> upload = new JakartaServletFileUpload<>();
+        // 整个请求体上限：文件上限加少量表单开销
+        upload.setSizeMax(MAX_FILE_SIZE + MULTIPART_OVERHEAD);
+
+        try {
+            FileItemInputIterator items = upload.getItemIterator(request);
+            while (items.hasNext()) {
+                FileItemInput item = items.next();
+                if (item.isFormField() || !"file".equals(item.getFieldName())) {
+                    continue;
+                }
+                try (InputStream in = item.getInputStream()) {
+                    FileObject fileObject = fileStorageService.storeImage(in, MAX_FILE_SIZE);
+                    return uploadSuccess(fileObject, subDir);
+                }
+            }
+            return Result.error("文件不能为空");
+
+        } catch (FileUploadSizeException e) {
+            return Result.error("文件大小不能超过5MB");
+        } catch (IOException e) {
+            log.error("文件上传失败", e);
+            return Result.error("文件上传失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 初始化分片上传（断点续传）
+     */
+    @Operation(summary = "初始化分片上传")
+    @PostMapping("/chunked/init")
+    public Result<ChunkedUploadResponse> initChunked(
+            @Valid @RequestBody ChunkedUploadInitRequest request,
+            @AuthenticationPrincipal UserPrincipal currentUser
+    ) {
+        try {
+            return Result.success(chunkedUploadService.init(request, currentUser.getUserId()));
+        } catch (IOException e) {
+            log.error("初始化分片上传失败", e);
+            return Result.error("初始化分片上传失败: " + e.getMessage());
+        }
+    }
 
-            Map<String, String> result = new HashMap<>();
-            result.put("url", url);
-            result.put("filename", filename);
+    /**
+     * 上传分片：请求体为分片原始字节，X-Chunk-Sha256 为分片的 SHA-256
+     */
+    @Operation(summary = "上传分片")
+    @PutMapping("/chunked/{uploadId}/{index}")
+    public Result<ChunkedUploadResponse> uploadChunk(
+            @PathVariable String uploadId,
+            @PathVariable Integer index,
+            @RequestHeader(value = "X-Chunk-Sha256", required = false) String checksum,
+            HttpServletRequest request,
+            @AuthenticationPrincipal UserPrincipal currentUser
+    ) {
+        try (InputStream in = request.getInputStream()) {
+            return Result.success(chunkedUploadService.uploadChunk(
+                    uploadId, index, in, checksum, currentUser.getUserId()));
+        } catch (IOException e) {
+            log.error("分片上传失败", e);
+            return Result.error("分片上传失败: " + e.getMessage());
+        }
+    }
 
-            log.info("文件上传成功: {}", url);
-            return Result.success("上传成功", result);
+    /**
+     * 查询分片上传进度
+     */
+    @Operation(summary = "查询分片上传进度")
+    @GetMapping("/chunked/{uploadId}")
+    public Result<ChunkedUploadResponse> getChunkedStatus(
+            @PathVariable String uploadId,
+            @AuthenticationPrincipal UserPrincipal currentUser
+    ) {
+        return Result.success(chunkedUploadService.getStatus(uploadId, currentUser.getUserId()));
+    }
 
+    /**
+     * 完成分片上传
+     */
+    @Operation(summary = "完成分片上传")
+    @PostMapping("/chunked/{uploadId}/complete")
+    public Result<Map<String, String>> completeChunked(
+            @PathVariable String uploadId,
+            @AuthenticationPrincipal UserPrincipal currentUser
+    ) {
+        try {
+            String subDir = STREAM_TYPES.get(chunkedUploadService.getType(uploadId, currentUser.getUserId()));
+            FileObject fileObject = chunkedUploadService.complete(uploadId, currentUser.getUserId());
+            return uploadSuccess(fileObject, subDir);
         } catch (IOException e) {
             log.error("文件上传失败", e);
             return Result.error("文件上传失败: " + e.getMessage());
         }
     }
+
+    /**
+     * 取消分片上传
+     */
+    @Operation(summary = "取消分片上传")
+    @DeleteMapping("/chunked/{uploadId}")
+    public Result<Void> abortChunked(
+            @PathVariable String uploadId,
+            @AuthenticationPrincipal UserPrincipal currentUser
+    ) {
+        try {
+            chunkedUploadService.abort(uploadId, currentUser.getUserId());
+            return Result.success("已取消", null);
+        } catch (IOException e) {
+            log.error("取消分片上传失败", e);
+            return Result.error("取消分片上传失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 上传成功：提交缩略图任务并返回访问地址
+     */
+    private Result<Map<String, String>> uploadSuccess(FileObject fileObject, String subDir) {
+        String url = fileStorageService.getUrl(fileObject);
+
+        // 后台生成缩略图
+        imageVariantService.scheduleDerivation(url);
+
+        Map<String, String> result = new HashMap<>();
+        result.put("url", url);
+        result.put("filename", fileObject.getHash() + fileObject.getExtension());
+        result.put("hash", fileObject.getHash());
+
+        log.info("文件上传成功: {} ({})", url, subDir);
+        return Result.success("上传成功", result);
+    }
 }
@@ -0,0 +1,43 @@
+package com.blog.controller;
+
+import com.blog.common.Result;
+import com.blog.monitor.SqlStatsRegistry;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * SQL 统计控制器（仅管理员）
+ */
+@Tag(name = "SQL 统计", description = "按接口查看 SQL 条数、数据库耗时和疑似 N+1")
+@RestController
+@RequestMapping("/api/admin/sql-stats")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class SqlStatsController {
+
+    private final SqlStatsRegistry sqlStatsRegistry;
+
+    /**
+     * 获取各接口的 SQL 统计
+     */
+    @Operation(summary = "获取各接口的 SQL 统计")
+    @GetMapping
+    public Result<Map<String, SqlStatsRegistry.EndpointSnapshot>> getStats() {
+        return Result.success(sqlStatsRegistry.snapshot());
+    }
+
+    /**
+     * 清空统计
+     */
+    @Operation(summary = "清空 SQL 统计")
+    @DeleteMapping
+    public Result<Void> reset() {
+        sqlStatsRegistry.reset();
+        return Result.success("已清空", null);
+    }
+}
@@ -1,13 +1,15 @@
 package com.blog.controller;
-import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.blog.cache.CacheNamespace;
+import com.blog.cache.ResponseCached;
 import com.blog.common.Result;
 import com.blog.entity.Tag;
-import com.blog.mapper.TagMapper;
+import com.blog.service.DictionaryCache;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * 标签控制器
@@ -18,18 +20,18 @@ import java.util.List;
 @RequiredArgsConstructor
 public class TagController {
 
-    private final TagMapper tagMapper;
+    private final DictionaryCache dictionaryCache;
 
     /**
      * 获取所有标签
      */
     @Operation(summary = "获取标签列表")
     @GetMapping
+    @ResponseCached(CacheNamespace.TAG)
     public Result<List<Tag>> getTagList() {
-        List<Tag> tags = tagMapper.selectList(
-                new LambdaQueryWrapper<Tag>()
-                        .orderByDesc(Tag::getArticleCount)
-        );
+        List<Tag> tags = dictionaryCache.tags().stream()
+                .map(DictionaryCache.TagEntry::toEntity)
+                .collect(Collectors.toList());
         return Result.success(tags);
     }
 
@@ -38,13 +40,11 @@ public class TagController {
      */
     @Operation(summary = "搜索标签")
     @GetMapping("/search")
+    @ResponseCached(CacheNamespace.TAG)
     public Result<List<Tag>> searchTags(@RequestParam String keyword) {
-        List<Tag> tags = tagMapper.selectList(
-                new LambdaQueryWrapper<Tag>()
-                        .like(Tag::getName, keyword)
-                        .orderByDesc(Tag::getArticleCount)
-                        .last("LIMIT 10")
-        );
+        List<Tag> tags = dictionaryCache.searchTags(keyword).stream()
+                .map(DictionaryCache.TagEntry::toEntity)
+                .collect(Collectors.toList());
         return Result.success(tags);
     }
 }
\ No newline at end of file
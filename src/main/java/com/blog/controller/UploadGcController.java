@@ -0,0 +1,59 @@
+package com.blog.controller;
+
+import com.blog.common.Result;
+import com.blog.service.UploadGcService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 上传文件回收控制器（仅管理员）
+ */
+@Slf4j
+@Tag(name = "上传文件回收", description = "管理员清理未引用的上传文件")
+@RestController
+@RequestMapping("/api/admin/uploads/gc")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class UploadGcController {
+
+    private final UploadGcService uploadGcService;
+
+    /**
+     * 获取回收统计
+     */
+    @Operation(summary = "获取上传文件回收统计")
+    @GetMapping
+    public Result<Map<String, Object>> getStats() {
+        Map<String, Object> result = new HashMap<>();
+        result.put("lastReport", uploadGcService.getLastReport());
+        result.put("reclaimedFiles", uploadGcService.getReclaimedFiles());
+        result.put("reclaimedBytes", uploadGcService.getReclaimedBytes());
+        return Result.success(result);
+    }
+
+    /**
+     * 立即执行一次回收
+     */
+    @Operation(summary = "立即执行上传文件回收")
+    @PostMapping
+    public Result<UploadGcService.GcReport> collect() {
+        try {
+            UploadGcService.GcReport report = uploadGcService.collect();
+            if (report == null) {
+                return Result.error("回收正在进行或当前存储不支持回收");
+            }
+            return Result.success(report);
+        } catch (IOException e) {
+            log.error("上传文件回收失败", e);
+            return Result.error("上传文件回收失败: " + e.getMessage());
+        }
+    }
+}
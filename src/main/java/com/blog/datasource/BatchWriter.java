@@ -0,0 +1,101 @@
+package com.blog.datasource;
+
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * 批量写入
+ * 两种方式：
+ * 1. {@link #execute}：BATCH 执行器的 SqlSession，同一语句 addBatch 累积，每 flush-size 条发送一次。
+ *    驱动连接属性 rewriteBatchedStatements（application.yml 中 spring.datasource.hikari.data-source-properties
+ *    统一开启，不依赖各环境的 URL）让驱动把一批 INSERT 改写成多行 VALUES，一次往返写入；
+ *    useGeneratedKeys 的自增 id 在发送后回填
+ * 2. {@link #insertValues}：按 values-size 切段调用 Mapper 的多行 INSERT（insertBatch），不依赖驱动参数
+ * 两者都在事务中执行：已有事务时加入，否则新开事务，中途失败整体回滚
+ * <p>
+ * 注意：BATCH 会话在事务内绑定，同一事务中不能先用普通 Mapper（SIMPLE 执行器）再调用这里的方法，
+ * 否则 MyBatis-Spring 抛出 "Cannot change the ExecutorType"。需要混用时把批量写入放到单独的事务里
+ */
+@Component
+public class BatchWriter {
+
+    private final SqlSessionTemplate batchTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int flushSize;
+    private final int valuesSize;
+
+    // 不注册为 SqlSessionTemplate Bean：否则 MyBatis-Plus 不再创建默认模板，所有 Mapper 都会变成 BATCH
+    public BatchWriter(SqlSessionFactory sqlSessionFactory, TransactionTemplate transactionTemplate,
+                       @Value("${blog.batch.flush-size:500}") int flushSize,
+                       @Value("${blog.batch.values-size:500}") int valuesSize) {
+        this.batchTemplate = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+        this.transactionTemplate = transactionTemplate;
+        this.flushSize = flushSize;
+        this.valuesSize = valuesSize;
+    }
+
+    /**
+     * 用 BATCH 执行器对每行执行 statement（如 mapper::insert），返回影响行数
+     */
+    public <M, T> int execute(Class<M> mapperType, Collection<T> rows, BiConsumer<M, T> statement) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        Integer affected = transactionTemplate.execute(status -> {
+            M mapper = batchTemplate.getMapper(mapperType);
+            int total = 0;
+            int pending = 0;
+            for (T row : rows) {
+                statement.accept(mapper, row);
+                if (++pending == flushSize) {
+                    total += flush();
+                    pending = 0;
+                }
+            }
+            return total + flush();
+        });
+        return affected == null ? 0 : affected;
+    }
+
+    /**
+     * 把 rows 按 values-size 切段交给多行 INSERT（如 mapper::insertBatch），避免单条 SQL 超过 max_allowed_packet，
+     * 返回影响行数。同样经过 BATCH 会话，可以和 {@link #execute} 在同一事务中混用
+     */
+    public <M, T> int insertValues(Class<M> mapperType, List<T> rows, BiConsumer<M, List<T>> multiRowInsert) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        Integer affected = transactionTemplate.execute(status -> {
+            M mapper = batchTemplate.getMapper(mapperType);
+            int total = 0;
+            for (int from = 0; from < rows.size(); from += valuesSize) {
+                multiRowInsert.accept(mapper, rows.subList(from, Math.min(rows.size(), from + valuesSize)));
+                // 每段已是多行语句，逐段发送，不在内存中累积
+                total += flush();
+            }
+            return total;
+        });
+        return affected == null ? 0 : affected;
+    }
+
+    private int flush() {
+        int affected = 0;
+        for (BatchResult result : batchTemplate.flushStatements()) {
+            for (int count : result.getUpdateCounts()) {
+                // 驱动改写后的批次可能只返回 SUCCESS_NO_INFO，按一行计
+                affected += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+            }
+        }
+        return affected;
+    }
+}
@@ -0,0 +1,61 @@
+package com.blog.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * 当前线程的数据源路由
+ * 未绑定时走主库；{@link ReadOnly} 方法把未绑定的线程切到从库，
+ * 写请求和刚写过数据的用户在请求开始时绑定主库，之后的只读方法不再切换
+ */
+public enum DataSourceRoute {
+
+    PRIMARY,
+    REPLICA;
+
+    private static final ThreadLocal<DataSourceRoute> CURRENT = new ThreadLocal<>();
+
+    /**
+     * 当前线程绑定的路由，未绑定返回 null
+     */
+    public static DataSourceRoute current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 绑定路由，返回之前的值，用于恢复
+     */
+    public static DataSourceRoute bind(DataSourceRoute route) {
+        DataSourceRoute previous = CURRENT.get();
+        if (route == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(route);
+        }
+        return previous;
+    }
+
+    /**
+     * 在主库上执行，用于只读方法中夹带的少量写操作（如浏览量自增）
+     */
+    public static void onPrimary(Runnable action) {
+        DataSourceRoute previous = bind(PRIMARY);
+        try {
+            action.run();
+        } finally {
+            bind(previous);
+        }
+    }
+
+    /**
+     * 在主库上执行并返回结果，用于填充共享缓存的查询：
+     * 从库可能落后于刚递增的缓存代数，从从库读到的旧数据会以新代数缓存并提供给所有请求
+     */
+    public static <T> T fromPrimary(Supplier<T> action) {
+        DataSourceRoute previous = bind(PRIMARY);
+        try {
+            return action.get();
+        } finally {
+            bind(previous);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.blog.datasource;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * 把提交线程的数据源路由带到线程池工作线程，文章详情的并行查询因此和所属请求走同一个库
+ */
+public class DataSourceRouteTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        DataSourceRoute route = DataSourceRoute.current();
+        if (route == null) {
+            return runnable;
+        }
+        return () -> {
+            DataSourceRoute previous = DataSourceRoute.bind(route);
+            try {
+                runnable.run();
+            } finally {
+                DataSourceRoute.bind(previous);
+            }
+        };
+    }
+}
@@ -0,0 +1,14 @@
+package com.blog.datasource;
+
+import java.lang.annotation.*;
+
+/**
+ * 只读方法：配置了从库时，方法内的查询路由到从库
+ * 方法内不能有写操作（从库连接是只读的）；已在读写事务中、当前请求是写请求、
+ * 或当前用户刚写过数据时仍走主库，见 {@link DataSourceRoute}
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ReadOnly {
+}
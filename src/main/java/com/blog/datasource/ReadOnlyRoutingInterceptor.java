@@ -0,0 +1,25 @@
+package com.blog.datasource;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * {@link ReadOnly} 方法的切面：线程未绑定路由且不在事务中时，方法执行期间切到从库
+ */
+public class ReadOnlyRoutingInterceptor implements MethodInterceptor {
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        // 已绑定（写请求、刚写过的用户、外层只读方法）或事务已持有主库连接时保持不变
+        if (DataSourceRoute.current() != null || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return invocation.proceed();
+        }
+        DataSourceRoute.bind(DataSourceRoute.REPLICA);
+        try {
+            return invocation.proceed();
+        } finally {
+            DataSourceRoute.bind(null);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.blog.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 读写分离数据源：一个主库、N 个从库
+ * 线程路由为 {@link DataSourceRoute#REPLICA} 时从从库取连接，其余情况走主库。
+ * 从库按轮询或最少活跃连接选择，取连接失败时退回主库，不让单个从库故障影响读请求
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements DisposableBean {
+
+    /**
+     * 从库负载均衡策略
+     */
+    public enum Balance {
+        ROUND_ROBIN,
+        LEAST_CONNECTIONS
+    }
+
+    private final HikariDataSource primary;
+    private final HikariDataSource[] replicas;
+    private final Balance balance;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReadWriteRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas, Balance balance) {
+        this.primary = primary;
+        this.replicas = replicas.toArray(new HikariDataSource[0]);
+        this.balance = balance;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (DataSourceRoute.current() != DataSourceRoute.REPLICA || replicas.length == 0) {
+            return primary.getConnection();
+        }
+        HikariDataSource replica = selectReplica();
+        try {
+            return replica.getConnection();
+        } catch (SQLException e) {
+            log.warn("从库 {} 获取连接失败，本次查询改走主库: {}", replica.getPoolName(), e.getMessage());
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        // 指定账号的连接不参与读写路由，交给主库数据源处理
+        return primary.getConnection(username, password);
+    }
+
+    private HikariDataSource selectReplica() {
+        if (replicas.length == 1) {
+            return replicas[0];
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.length);
+        if (balance == Balance.ROUND_ROBIN) {
+            return replicas[start];
+        }
+        // 从轮询位置开始找活跃连接最少的，连接数相同时仍然轮流
+        HikariDataSource selected = replicas[start];
+        int least = activeConnections(selected);
+        for (int i = 1; i < replicas.length && least > 0; i++) {
+            HikariDataSource replica = replicas[(start + i) % replicas.length];
+            int active = activeConnections(replica);
+            if (active < least) {
+                least = active;
+                selected = replica;
+            }
+        }
+        return selected;
+    }
+
+    private static int activeConnections(HikariDataSource dataSource) {
+        // 连接池在第一次取连接时才启动，之前没有 MXBean
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        return pool != null ? pool.getActiveConnections() : 0;
+    }
+
+    public HikariDataSource getPrimary() {
+        return primary;
+    }
+
+    public List<HikariDataSource> getReplicas() {
+        return List.of(replicas);
+    }
+
+    @Override
+    public void destroy() {
+        for (HikariDataSource replica : replicas) {
+            replica.close();
+        }
+        primary.close();
+    }
+}
@@ -0,0 +1,74 @@
+package com.blog.datasource;
+
+import com.blog.security.UserPrincipal;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+
+/**
+ * 从库延迟保护，保证用户读到自己刚写的数据
+ * 写请求（非 GET/HEAD/OPTIONS）全程走主库，成功后把该用户在一段时间内固定到主库，
+ * 时长应大于从库的复制延迟。记录保存在本机内存，多实例部署时需要按用户做会话粘滞
+ */
+public class ReplicaLagGuard implements HandlerInterceptor {
+
+    private final Cache<Long, Boolean> recentWriters;
+
+    public ReplicaLagGuard(Duration pinDuration, long maxUsers) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(pinDuration)
+                .maximumSize(maxUsers)
+                .build();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (isWrite(request)) {
+            DataSourceRoute.bind(DataSourceRoute.PRIMARY);
+        } else {
+            Long userId = currentUserId();
+            if (userId != null && isPinned(userId)) {
+                DataSourceRoute.bind(DataSourceRoute.PRIMARY);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        DataSourceRoute.bind(null);
+        if (ex == null && response.getStatus() < 400 && isWrite(request)) {
+            Long userId = currentUserId();
+            if (userId != null) {
+                recentWriters.put(userId, Boolean.TRUE);
+            }
+        }
+    }
+
+    /**
+     * 用户是否仍固定在主库
+     */
+    public boolean isPinned(Long userId) {
+        return recentWriters.getIfPresent(userId) != null;
+    }
+
+    private static boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !"GET".equals(method) && !"HEAD".equals(method) && !"OPTIONS".equals(method);
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getUserId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,50 @@
+package com.blog.dto.request;
+
+import lombok.Data;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 批量导入的一篇文章（NDJSON 的一行，或 Markdown 文件的 front matter 加正文）
+ * 分类、标签可以用 id 或名称，名称按分类标签字典解析
+ */
+@Data
+public class ArticleImportRecord {
+
+    private String title;
+
+    private String summary;
+
+    private String content;
+
+    private String coverImage;
+
+    private Long categoryId;
+
+    /**
+     * 分类名称，categoryId 为空时使用
+     */
+    private String category;
+
+    private List<Long> tagIds;
+
+    /**
+     * 标签名称，不存在的标签按配置自动创建
+     */
+    private List<String> tags;
+
+    /**
+     * 是否发布，默认 true
+     */
+    private Boolean published;
+
+    /**
+     * 原发布时间，迁移时保留；为空时取导入时间
+     */
+    private LocalDateTime publishedAt;
+
+    /**
+     * 原创建时间，为空时取导入时间
+     */
+    private LocalDateTime createdAt;
+}
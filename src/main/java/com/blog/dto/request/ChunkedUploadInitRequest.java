@@ -0,0 +1,24 @@
+package com.blog.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+/**
+ * 分片上传初始化请求 DTO
+ */
+@Data
+public class ChunkedUploadInitRequest {
+
+    @NotBlank(message = "上传类型不能为空")
+    @Pattern(regexp = "cover|avatar|image", message = "上传类型只能是cover、avatar或image")
+    private String type;
+
+    @NotNull(message = "文件大小不能为空")
+    @Positive(message = "文件大小必须大于0")
+    private Long totalSize;
+
+    private Integer chunkSize; // 分片大小（可选，服务端会限制在允许范围内）
+}
@@ -16,6 +16,7 @@ public class ArticleDetailResponse {
     private String content;
     private String contentHtml;
     private String coverImage;
+    private String coverImageSrcset;
     private Integer viewCount;
     private Integer likeCount;
     private Integer commentCount;
@@ -26,6 +27,11 @@ public class ArticleDetailResponse {
     private LocalDateTime updatedAt;
     private LocalDateTime publishedAt;
 
+    /**
+     * 部分关联信息加载超时或失败时为 true（对应字段为空）
+     */
+    private Boolean partial;
+
     /**
      * 作者信息
      */
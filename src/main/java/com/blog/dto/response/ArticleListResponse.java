@@ -14,6 +14,7 @@ public class ArticleListResponse {
     private String title;
     private String summary;
     private String coverImage;
+    private String coverImageSrcset;
     private Integer viewCount;
     private Integer likeCount;
     private Integer commentCount;
@@ -0,0 +1,27 @@
+package com.blog.dto.response;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 分片上传状态响应 DTO
+ */
+@Data
+public class ChunkedUploadResponse {
+
+    private String uploadId;
+    private Long totalSize;
+    private Integer chunkSize;
+    private Integer chunkCount;
+
+    /**
+     * 已上传分片数
+     */
+    private Integer uploadedCount;
+
+    /**
+     * 尚未上传的分片序号（断点续传时只需补传这些分片）
+     */
+    private List<Integer> missingChunks;
+}
@@ -0,0 +1,33 @@
+package com.blog.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * 上传文件对象实体类（按内容哈希去重）
+ */
+@Data
+@TableName("tb_file_object")
+public class FileObject {
+
+    @TableId(type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 文件内容 SHA-256（十六进制）
+     */
+    private String hash;
+
+    private String extension;
+
+    private String contentType;
+
+    private Long size;
+
+    @TableField(fill = FieldFill.INSERT)
+    private LocalDateTime createdAt;
+
+    @TableField(fill = FieldFill.INSERT_UPDATE)
+    private LocalDateTime updatedAt;
+}
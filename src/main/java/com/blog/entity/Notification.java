@@ -0,0 +1,29 @@
+package com.blog.entity;
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+/**
+ * 通知实体类
+ */
+@Data
+@TableName("tb_notification")
+public class Notification {
+
+    @TableId(type = IdType.AUTO)
+    private Long id;
+
+    private Long userId;
+
+    private String type;
+
+    private String title;
+
+    private String content;
+
+    private Long relatedId;
+
+    private Integer isRead;
+
+    @TableField(fill = FieldFill.INSERT)
+    private LocalDateTime createdAt;
+}
@@ -3,10 +3,60 @@ package com.blog.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.blog.entity.Article;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
+
+import java.time.LocalDateTime;
 
 /**
  * 文章 Mapper
  */
 @Mapper
 public interface ArticleMapper extends BaseMapper<Article> {
+
+    /**
+     * 流式读取所有文章的封面和正文（用于统计上传文件引用），需在事务内遍历
+     */
+    @Select("SELECT id, cover_image, content FROM tb_article")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    Cursor<Article> streamImageReferences();
+
+    /**
+     * 浏览量加 1（单条 UPDATE，不覆盖其他字段）
+     */
+    @Update("UPDATE tb_article SET view_count = view_count + 1 WHERE id = #{id}")
+    int incrementViewCount(Long id);
+
+    /**
+     * 条件修改发布状态：仅当前状态为 expected 时更新，返回影响行数。
+     * 并发的发布/下架只有一个请求改到这一行，调用方据此决定是否调整标签文章数；publishedAt 为 null 时不修改发布时间
+     */
+    @Update("UPDATE tb_article SET is_published = #{status}, published_at = COALESCE(#{publishedAt}, published_at) "
+            + "WHERE id = #{id} AND is_published = #{expected}")
+    int updatePublishStatus(@Param("id") Long id, @Param("expected") int expected, @Param("status") int status,
+                            @Param("publishedAt") LocalDateTime publishedAt);
+
+    /**
+     * 点赞数加上 delta（不小于 0），单条 UPDATE，不覆盖其他字段
+     */
+    @Update("UPDATE tb_article SET like_count = GREATEST(like_count + #{delta}, 0) WHERE id = #{id}")
+    int adjustLikeCount(@Param("id") Long id, @Param("delta") int delta);
+
+    /**
+     * 收藏数加上 delta（不小于 0），单条 UPDATE，不覆盖其他字段
+     */
+    @Update("UPDATE tb_article SET favorite_count = GREATEST(favorite_count + #{delta}, 0) WHERE id = #{id}")
+    int adjustFavoriteCount(@Param("id") Long id, @Param("delta") int delta);
+
+    /**
+     * 条件写入审核结果：仅待审核的文章，返回影响行数，并发审核只有一个生效
+     */
+    @Update("UPDATE tb_article SET review_status = #{status}, reviewer_id = #{reviewerId}, reviewed_at = NOW(), "
+            + "review_note = #{note} WHERE id = #{id} AND review_status = 'PENDING'")
+    int updateReview(@Param("id") Long id, @Param("status") String status, @Param("reviewerId") Long reviewerId,
+                     @Param("note") String note);
 }
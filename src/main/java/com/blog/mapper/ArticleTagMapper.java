@@ -1,10 +1,30 @@
 package com.blog.mapper;
+
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.blog.entity.*;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+
 /**
  * 文章标签关联 Mapper
  */
 @Mapper
 public interface ArticleTagMapper extends BaseMapper<ArticleTag> {
-}
\ No newline at end of file
+
+    /**
+     * 一条多行 INSERT 写入文章的多个标签关联
+     */
+    @Insert("<script>INSERT INTO tb_article_tag (article_id, tag_id) VALUES "
+            + "<foreach collection='tagIds' item='tagId' separator=','>(#{articleId}, #{tagId})</foreach></script>")
+    int insertTags(@Param("articleId") Long articleId, @Param("tagIds") Collection<Long> tagIds);
+
+    /**
+     * 一条多行 INSERT 写入多篇文章的标签关联（批量导入）
+     */
+    @Insert("<script>INSERT INTO tb_article_tag (article_id, tag_id) VALUES "
+            + "<foreach collection='rows' item='r' separator=','>(#{r.articleId}, #{r.tagId})</foreach></script>")
+    int insertBatch(@Param("rows") Collection<ArticleTag> rows);
+}
@@ -1,10 +1,24 @@
 package com.blog.mapper;
+
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.blog.entity.*;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+
 /**
  * 收藏 Mapper
  */
 @Mapper
 public interface FavoriteMapper extends BaseMapper<Favorite> {
+
+    /**
+     * 一条多行 INSERT 写入多条收藏，created_at 取数据库默认值
+     */
+    @Insert("<script>INSERT INTO tb_favorite (user_id, article_id) VALUES "
+            + "<foreach collection='rows' item='f' separator=','>(#{f.userId}, #{f.articleId})</foreach>"
+            + "</script>")
+    int insertBatch(@Param("rows") Collection<Favorite> rows);
 }
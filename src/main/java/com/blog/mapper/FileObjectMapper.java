@@ -0,0 +1,36 @@
+package com.blog.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.blog.entity.FileObject;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Select;
+
+/**
+ * 上传文件对象 Mapper
+ */
+@Mapper
+public interface FileObjectMapper extends BaseMapper<FileObject> {
+
+    /**
+     * 根据内容哈希查询
+     */
+    @Select("SELECT * FROM tb_file_object WHERE hash = #{hash}")
+    FileObject selectByHash(String hash);
+
+    /**
+     * 新增文件对象，已存在则刷新更新时间（回收时保护期从最近一次上传算起）。
+     * 文件是否仍被使用由回收任务扫描文章、用户中的引用判断，不维护引用计数
+     */
+    @Insert("INSERT INTO tb_file_object (hash, extension, content_type, size) " +
+            "VALUES (#{hash}, #{extension}, #{contentType}, #{size}) " +
+            "ON DUPLICATE KEY UPDATE updated_at = CURRENT_TIMESTAMP")
+    int upsertReference(FileObject fileObject);
+
+    /**
+     * 根据内容哈希删除
+     */
+    @Delete("DELETE FROM tb_file_object WHERE hash = #{hash}")
+    int deleteByHash(String hash);
+}
@@ -1,10 +1,24 @@
 package com.blog.mapper;
+
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.blog.entity.*;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+
 /**
  * 点赞 Mapper
  */
 @Mapper
 public interface LikeMapper extends BaseMapper<Like> {
-}
\ No newline at end of file
+
+    /**
+     * 一条多行 INSERT 写入多条点赞，created_at 取数据库默认值
+     */
+    @Insert("<script>INSERT INTO tb_like (user_id, target_type, target_id) VALUES "
+            + "<foreach collection='rows' item='l' separator=','>(#{l.userId}, #{l.targetType}, #{l.targetId})</foreach>"
+            + "</script>")
+    int insertBatch(@Param("rows") Collection<Like> rows);
+}
@@ -0,0 +1,25 @@
+package com.blog.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.blog.entity.*;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+
+/**
+ * 通知 Mapper
+ */
+@Mapper
+public interface NotificationMapper extends BaseMapper<Notification> {
+
+    /**
+     * 一条多行 INSERT 写入多条通知，created_at 取数据库默认值
+     */
+    @Insert("<script>INSERT INTO tb_notification (user_id, type, title, content, related_id, is_read) VALUES "
+            + "<foreach collection='rows' item='n' separator=','>"
+            + "(#{n.userId}, #{n.type}, #{n.title}, #{n.content}, #{n.relatedId}, COALESCE(#{n.isRead}, 0))"
+            + "</foreach></script>")
+    int insertBatch(@Param("rows") Collection<Notification> rows);
+}
@@ -1,10 +1,24 @@
 package com.blog.mapper;
+
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.blog.entity.*;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Update;
+
+import java.util.Collection;
+
 /**
  * 标签 Mapper
  */
 @Mapper
 public interface TagMapper extends BaseMapper<Tag> {
-}
\ No newline at end of file
+
+    /**
+     * 给定标签的已发布文章数加上 delta（单条 UPDATE，不低于 0）
+     */
+    @Update("<script>UPDATE tb_tag SET article_count = GREATEST(COALESCE(article_count, 0) + #{delta}, 0) "
+            + "WHERE id IN <foreach collection='tagIds' item='tagId' open='(' separator=',' close=')'>#{tagId}</foreach>"
+            + "</script>")
+    int adjustArticleCount(@Param("tagIds") Collection<Long> tagIds, @Param("delta") int delta);
+}
@@ -3,7 +3,10 @@ package com.blog.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.blog.entity.*;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
 
 /**
  * 用户 Mapper
@@ -16,4 +19,11 @@ public interface UserMapper extends BaseMapper<User> {
      */
     @Select("SELECT * FROM tb_user WHERE email = #{email}")
     User selectByEmail(String email);
+
+    /**
+     * 流式读取所有头像地址（用于统计上传文件引用），需在事务内遍历
+     */
+    @Select("SELECT avatar FROM tb_user WHERE avatar IS NOT NULL")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    Cursor<String> streamAvatars();
 }
@@ -0,0 +1,64 @@
+package com.blog.monitor;
+
+import com.blog.cache.ResponseCacheFilter;
+import com.blog.service.ImageVariantService;
+import com.blog.service.UploadGcService;
+import com.blog.service.UserSummaryCache;
+import com.blog.storage.BlobStore;
+import com.blog.storage.CachingBlobStore;
+import com.blog.storage.UploadResourceHandler;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 应用自有的缓存、队列和后台任务指标。
+ * 线程池（executor.*）、连接池（hikaricp.*）、Redis 命令延迟（lettuce.*）由 Spring Boot 自动注册
+ */
+@Component
+@RequiredArgsConstructor
+public class ApplicationMetrics implements MeterBinder {
+
+    private final UploadResourceHandler uploadResourceHandler;
+    private final ImageVariantService imageVariantService;
+    private final UploadGcService uploadGcService;
+    private final BlobStore blobStore;
+    private final ResponseCacheFilter responseCacheFilter;
+    private final UserSummaryCache userSummaryCache;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        // 缓存命中率、淘汰和大小（cache.gets、cache.evictions、cache.size ...）
+        CaffeineCacheMetrics.monitor(registry, uploadResourceHandler.getMetaCache(), "upload.meta");
+        CaffeineCacheMetrics.monitor(registry, imageVariantService.getSrcsetCache(), "image.srcset");
+        CaffeineCacheMetrics.monitor(registry, responseCacheFilter.getCache(), "response");
+        CaffeineCacheMetrics.monitor(registry, userSummaryCache.getCache(), "user.summary");
+        if (blobStore instanceof CachingBlobStore cachingBlobStore) {
+            CaffeineCacheMetrics.monitor(registry, cachingBlobStore.getIndex(), "blob.cache");
+            Gauge.builder("blob.cache.bytes", cachingBlobStore.getIndex(),
+                            index -> index.policy().eviction()
+                                    .map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L))
+                    .description("本地读缓存占用字节")
+                    .baseUnit("bytes")
+                    .register(registry);
+        }
+
+        // 待生成衍生图的图片数（线程池队列之外的去重集合）
+        Gauge.builder("image.variants.pending", imageVariantService, ImageVariantService::getPendingCount)
+                .description("等待或正在生成衍生图的图片数")
+                .register(registry);
+
+        // 未引用文件回收
+        FunctionCounter.builder("upload.gc.reclaimed.files", uploadGcService, UploadGcService::getReclaimedFiles)
+                .description("累计回收的文件数")
+                .register(registry);
+        FunctionCounter.builder("upload.gc.reclaimed.bytes", uploadGcService, UploadGcService::getReclaimedBytes)
+                .description("累计回收的字节数")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+}
@@ -0,0 +1,166 @@
+package com.blog.monitor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.handler.AbstractUrlHandlerMapping;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfoHandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 接口延迟指标 http.server.requests（method、uri、outcome），带 SLO 分桶。
+ * 启动时按所有路由模板和声明的请求方法预先注册 Timer，请求时只做两次查表和一次 record，不分配对象；
+ * 未声明的组合归入 uri=UNMATCHED。替代 Spring Boot 基于 Observation 的同名指标（已在配置中排除）
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+public class HttpRequestMetrics extends OncePerRequestFilter implements SmartInitializingSingleton {
+
+    public static final String METRIC_NAME = "http.server.requests";
+
+    private static final String UNMATCHED = "UNMATCHED";
+    private static final String[] METHODS = {"GET", "POST", "PUT", "DELETE", "PATCH", "OTHER"};
+    private static final String[] OUTCOMES = {"SUCCESS", "REDIRECTION", "CLIENT_ERROR", "SERVER_ERROR"};
+    private static final int SERVER_ERROR = 3;
+
+    private final MeterRegistry meterRegistry;
+    private final ApplicationContext applicationContext;
+
+    @Value("${blog.metrics.http-slo:25ms,50ms,100ms,250ms,500ms,1s,2s}")
+    private Duration[] slo;
+
+    // 路由模板 -> [请求方法 × 结果] 的 Timer，启动后只读
+    private volatile Map<String, Timer[]> timers = Map.of();
+    private Timer[] unmatched;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        unmatched = new Timer[METHODS.length * OUTCOMES.length];
+        for (int m = 0; m < METHODS.length; m++) {
+            for (int o = 0; o < OUTCOMES.length; o++) {
+                unmatched[m * OUTCOMES.length + o] = register(METHODS[m], UNMATCHED, OUTCOMES[o]);
+            }
+        }
+
+        Map<String, Timer[]> registered = new HashMap<>();
+        routes().forEach((pattern, methods) -> {
+            Timer[] slots = Arrays.copyOf(unmatched, unmatched.length);
+            for (int m = 0; m < METHODS.length; m++) {
+                if (methods.isEmpty() || methods.contains(METHODS[m])) {
+                    for (int o = 0; o < OUTCOMES.length; o++) {
+                        slots[m * OUTCOMES.length + o] = register(METHODS[m], pattern, OUTCOMES[o]);
+                    }
+                }
+            }
+            registered.put(pattern, slots);
+        });
+        timers = registered;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            Timer[] slots = pattern == null ? null : timers.get(pattern);
+            if (slots == null) {
+                slots = unmatched;
+            }
+            int outcome = failed ? SERVER_ERROR : outcomeIndex(response.getStatus());
+            slots[methodIndex(request.getMethod()) * OUTCOMES.length + outcome]
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 收集所有处理器映射的路由模板及其声明的请求方法（空集合表示不限方法）
+     */
+    private Map<String, Set<String>> routes() {
+        Map<String, Set<String>> routes = new LinkedHashMap<>();
+        for (RequestMappingInfoHandlerMapping mapping
+                : applicationContext.getBeansOfType(RequestMappingInfoHandlerMapping.class).values()) {
+            for (RequestMappingInfo info : mapping.getHandlerMethods().keySet()) {
+                for (String pattern : info.getPatternValues()) {
+                    Set<String> methods = routes.computeIfAbsent(pattern, key -> new HashSet<>());
+                    Set<RequestMethod> declared = info.getMethodsCondition().getMethods();
+                    if (declared.isEmpty()) {
+                        methods.addAll(Arrays.asList(METHODS));
+                    }
+                    declared.forEach(method -> methods.add(method.name()));
+                }
+            }
+        }
+        for (AbstractUrlHandlerMapping mapping
+                : applicationContext.getBeansOfType(AbstractUrlHandlerMapping.class).values()) {
+            mapping.getHandlerMap().keySet().forEach(pattern -> routes.put(pattern, Set.of()));
+        }
+        return routes;
+    }
+
+    private Timer register(String method, String uri, String outcome) {
+        return Timer.builder(METRIC_NAME)
+                .description("接口处理耗时")
+                .tags("method", method, "uri", uri, "outcome", outcome)
+                .serviceLevelObjectives(slo)
+                .register(meterRegistry);
+    }
+
+    private static int methodIndex(String method) {
+        switch (method) {
+            case "GET":
+                return 0;
+            case "POST":
+                return 1;
+            case "PUT":
+                return 2;
+            case "DELETE":
+                return 3;
+            case "PATCH":
+                return 4;
+            default:
+                return 5;
+        }
+    }
+
+    private static int outcomeIndex(int status) {
+        if (status >= 500) {
+            return SERVER_ERROR;
+        }
+        if (status >= 400) {
+            return 2;
+        }
+        if (status >= 300) {
+            return 1;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,71 @@
+package com.blog.monitor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按 Mapper 方法统计的 SQL 执行耗时 mybatis.statements（mapper、method）。
+ * 启动完成后为所有已知语句预先注册 Timer；分页插件运行时生成的 COUNT 语句首次出现时注册
+ */
+@Component
+@RequiredArgsConstructor
+public class MapperMetrics implements SmartInitializingSingleton {
+
+    public static final String METRIC_NAME = "mybatis.statements";
+
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<SqlSessionFactory> sqlSessionFactory;
+
+    @Value("${blog.metrics.sql-slo:1ms,5ms,10ms,50ms,100ms,500ms}")
+    private Duration[] slo;
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        SqlSessionFactory factory = sqlSessionFactory.getIfAvailable();
+        if (factory == null) {
+            return;
+        }
+        Configuration configuration = factory.getConfiguration();
+        // 同一语句还以短名登记了一次，只取带命名空间的全名
+        for (String id : configuration.getMappedStatementNames()) {
+            if (id.indexOf('.') > 0) {
+                timers.computeIfAbsent(id, this::register);
+            }
+        }
+    }
+
+    public void record(MappedStatement mappedStatement, long elapsedNanos) {
+        String id = mappedStatement.getId();
+        Timer timer = timers.get(id);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(id, this::register);
+        }
+        timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer register(String id) {
+        int split = id.lastIndexOf('.');
+        String namespace = id.substring(0, split);
+        return Timer.builder(METRIC_NAME)
+                .description("Mapper 方法执行耗时")
+                .tags("mapper", namespace.substring(namespace.lastIndexOf('.') + 1),
+                        "method", id.substring(split + 1))
+                .serviceLevelObjectives(slo)
+                .register(meterRegistry);
+    }
+}
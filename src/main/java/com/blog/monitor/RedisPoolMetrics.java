@@ -0,0 +1,65 @@
+package com.blog.monitor;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Set;
+
+/**
+ * Lettuce 连接池指标 redis.pool.*
+ * 连接池由 Lettuce 按需创建且不对外暴露，这里通过 commons-pool2 注册的 JMX MBean 汇总，
+ * 只在抓取指标时查询，不影响请求路径
+ */
+@Slf4j
+@Component
+public class RedisPoolMetrics implements MeterBinder {
+
+    private static final String POOL_MBEANS = "org.apache.commons.pool2:type=GenericObjectPool,*";
+
+    private final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+    private final ObjectName query;
+
+    @Value("${spring.data.redis.lettuce.pool.max-active:8}")
+    private int maxActive;
+
+    public RedisPoolMetrics() throws MalformedObjectNameException {
+        this.query = new ObjectName(POOL_MBEANS);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("redis.pool.active", this, metrics -> metrics.sum("NumActive"))
+                .description("已借出的连接数")
+                .register(registry);
+        Gauge.builder("redis.pool.idle", this, metrics -> metrics.sum("NumIdle"))
+                .description("空闲连接数")
+                .register(registry);
+        Gauge.builder("redis.pool.pending", this, metrics -> metrics.sum("NumWaiters"))
+                .description("等待借用连接的线程数")
+                .register(registry);
+        Gauge.builder("redis.pool.max", this, metrics -> metrics.maxActive)
+                .description("单个连接池的最大连接数")
+                .register(registry);
+    }
+
+    private double sum(String attribute) {
+        double total = 0;
+        Set<ObjectName> pools = mBeanServer.queryNames(query, null);
+        for (ObjectName pool : pools) {
+            try {
+                total += ((Number) mBeanServer.getAttribute(pool, attribute)).doubleValue();
+            } catch (Exception e) {
+                log.debug("读取连接池属性 {} 失败: {}", attribute, e.getMessage());
+            }
+        }
+        return total;
+    }
+}
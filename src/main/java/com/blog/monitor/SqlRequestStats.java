@@ -0,0 +1,111 @@
+package com.blog.monitor;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单个 HTTP 请求内的 SQL 统计：语句条数、数据库耗时，以及每条语句以哪些参数执行过。
+ * 请求线程通过 ThreadLocal 持有，线程池任务由 SqlStatsTaskDecorator 继承同一个实例，因此计数需线程安全
+ */
+public class SqlRequestStats {
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    // 单条语句最多记录的不同参数组数，足以判断重复，避免批量场景占用过多内存
+    private static final int MAX_TRACKED_PARAMETERS = 1024;
+
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder dbNanos = new LongAdder();
+    private final Map<String, Shape> shapes = new ConcurrentHashMap<>();
+
+    public static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    public static void bind(SqlRequestStats stats) {
+        if (stats == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(stats);
+        }
+    }
+
+    /**
+     * 记录一次语句执行。按 MappedStatement id 归类，动态 SQL（如 IN 列表长度不同）生成的不同文本仍算同一语句
+     *
+     * @param statementId   MappedStatement id（Mapper 全限定名.方法名），拿不到时为 null，按语句文本归类
+     * @param sql           语句（占位符形式），只在首次出现时保存用于展示
+     * @param parameterHash 本次绑定参数的哈希
+     * @param elapsedNanos  执行耗时
+     */
+    public void record(String statementId, String sql, int parameterHash, long elapsedNanos) {
+        statements.increment();
+        dbNanos.add(elapsedNanos);
+        String key = statementId != null ? statementId : normalize(sql);
+        shapes.computeIfAbsent(key, id -> new Shape(normalize(sql))).add(parameterHash);
+    }
+
+    public long getStatements() {
+        return statements.sum();
+    }
+
+    public long getDbNanos() {
+        return dbNanos.sum();
+    }
+
+    /**
+     * 同一语句以至少 threshold 组不同参数执行，即 N+1 的特征（循环里逐条查询）。按执行次数降序
+     */
+    public List<RepeatedStatement> repeatedStatements(int threshold) {
+        List<RepeatedStatement> repeated = new ArrayList<>();
+        shapes.forEach((statementId, shape) -> {
+            if (shape.parameters.size() >= threshold) {
+                repeated.add(new RepeatedStatement(statementId, shape.sql, shape.executions.get(),
+                        shape.parameters.size()));
+            }
+        });
+        repeated.sort(Comparator.comparingInt(RepeatedStatement::executions).reversed());
+        return repeated;
+    }
+
+    /**
+     * 合并空白，便于展示和按文本归类
+     */
+    private static String normalize(String sql) {
+        return sql.replaceAll("\\s+", " ").trim();
+    }
+
+    /**
+     * 重复执行的语句
+     *
+     * @param statementId        MappedStatement id（拿不到时为语句文本）
+     * @param sql                首次执行时的语句
+     * @param executions         执行次数
+     * @param distinctParameters 不同参数组数
+     */
+    public record RepeatedStatement(String statementId, String sql, int executions, int distinctParameters) {
+    }
+
+    private static final class Shape {
+        private final String sql;
+        private final AtomicInteger executions = new AtomicInteger();
+        private final Set<Integer> parameters = ConcurrentHashMap.newKeySet();
+
+        Shape(String sql) {
+            this.sql = sql;
+        }
+
+        void add(int parameterHash) {
+            executions.incrementAndGet();
+            if (parameters.size() < MAX_TRACKED_PARAMETERS) {
+                parameters.add(parameterHash);
+            }
+        }
+    }
+}
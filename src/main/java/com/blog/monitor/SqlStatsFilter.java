@@ -0,0 +1,68 @@
+package com.blog.monitor;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 为每个请求建立 SQL 统计上下文，请求结束时按接口汇总，并对疑似 N+1 告警。
+ * 位于过滤器链最前，认证过滤器中的查询也计入
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class SqlStatsFilter extends OncePerRequestFilter {
+
+    private final SqlStatsRegistry sqlStatsRegistry;
+
+    @Value("${blog.sql-stats.enabled:false}")
+    private boolean enabled;
+
+    // 同一语句以不少于这么多组不同参数执行时视为 N+1
+    @Value("${blog.sql-stats.n-plus-one-threshold:5}")
+    private int nPlusOneThreshold;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlRequestStats stats = new SqlRequestStats();
+        SqlRequestStats.bind(stats);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlRequestStats.bind(null);
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlRequestStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        // 未匹配到路由的请求归为一类，避免按原始 URI 统计导致条目无限增长
+        String endpoint = request.getMethod() + " " + (pattern != null ? pattern : "UNMATCHED");
+
+        List<SqlRequestStats.RepeatedStatement> repeated = stats.repeatedStatements(nPlusOneThreshold);
+        for (SqlRequestStats.RepeatedStatement statement : sqlStatsRegistry.record(endpoint, stats, repeated)) {
+            log.warn("疑似 N+1：{} 共执行 {} 条 SQL，其中 {} 以 {} 组不同参数执行了 {} 次：{}",
+                    endpoint, stats.getStatements(), statement.statementId(), statement.distinctParameters(),
+                    statement.executions(), statement.sql());
+        }
+    }
+}
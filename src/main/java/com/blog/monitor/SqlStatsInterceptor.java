@@ -0,0 +1,161 @@
+package com.blog.monitor;
+
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.statement.BaseStatementHandler;
+import org.apache.ibatis.executor.statement.RoutingStatementHandler;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Plugin;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SQL 统计拦截器：在语句真正执行时计时。
+ * 耗时总是记入按 Mapper 方法的指标；存在请求上下文（SqlRequestStats）时，再记录绑定参数的哈希，
+ * 用于识别同一语句的重复执行（N+1），定时任务等后台线程只记指标。
+ * BATCH 执行器的 StatementHandler.batch 只是 addBatch，不访问数据库，改为在 Executor.flushStatements 计时
+ */
+@Intercepts({
+        @Signature(type = StatementHandler.class, method = "query", args = {Statement.class, ResultHandler.class}),
+        @Signature(type = StatementHandler.class, method = "queryCursor", args = {Statement.class}),
+        @Signature(type = StatementHandler.class, method = "update", args = {Statement.class}),
+        @Signature(type = Executor.class, method = "flushStatements", args = {})
+})
+public class SqlStatsInterceptor implements Interceptor {
+
+    // 直接读取字段拿到 MappedStatement，避免每次执行都创建 MetaObject
+    private static final Field PLUGIN_TARGET = field(Plugin.class, "target");
+    private static final Field ROUTING_DELEGATE = field(RoutingStatementHandler.class, "delegate");
+    private static final Field MAPPED_STATEMENT = field(BaseStatementHandler.class, "mappedStatement");
+
+    private final MapperMetrics mapperMetrics;
+
+    public SqlStatsInterceptor(MapperMetrics mapperMetrics) {
+        this.mapperMetrics = mapperMetrics;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        if (invocation.getTarget() instanceof Executor) {
+            return interceptFlush(invocation);
+        }
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            StatementHandler handler = realTarget(invocation.getTarget());
+            MappedStatement mappedStatement = mappedStatement(handler);
+            if (mappedStatement != null) {
+                mapperMetrics.record(mappedStatement, elapsed);
+            }
+
+            SqlRequestStats stats = SqlRequestStats.current();
+            if (stats != null) {
+                BoundSql boundSql = handler.getBoundSql();
+                if (mappedStatement == null) {
+                    stats.record(null, boundSql.getSql(), 0, elapsed);
+                } else {
+                    stats.record(mappedStatement.getId(), boundSql.getSql(),
+                            parameterHash(mappedStatement.getConfiguration(), boundSql), elapsed);
+                }
+            }
+        }
+    }
+
+    /**
+     * BATCH 执行器在 flushStatements 中 executeBatch，耗时按本次发送的语句平均分摊到各 Mapper 方法；
+     * 每条语句的一次发送记为一条 SQL，不参与 N+1 判断。SIMPLE 执行器返回空列表，不记录。
+     * 事务提交、BATCH 会话查询前的隐式刷新不经过插件，需要计时的批量写入应显式刷新（BatchWriter 即如此）
+     */
+    private Object interceptFlush(Invocation invocation) throws Throwable {
+        long start = System.nanoTime();
+        Object result = invocation.proceed();
+        long elapsed = System.nanoTime() - start;
+
+        @SuppressWarnings("unchecked")
+        List<BatchResult> batches = (List<BatchResult>) result;
+        if (batches == null || batches.isEmpty()) {
+            return result;
+        }
+        long share = elapsed / batches.size();
+        SqlRequestStats stats = SqlRequestStats.current();
+        for (BatchResult batch : batches) {
+            mapperMetrics.record(batch.getMappedStatement(), share);
+            if (stats != null) {
+                stats.record(batch.getMappedStatement().getId(), batch.getSql(), 0, share);
+            }
+        }
+        return result;
+    }
+
+    private static StatementHandler realTarget(Object target) throws IllegalAccessException {
+        while (Proxy.isProxyClass(target.getClass())) {
+            InvocationHandler handler = Proxy.getInvocationHandler(target);
+            if (!(handler instanceof Plugin)) {
+                break;
+            }
+            target = PLUGIN_TARGET.get(handler);
+        }
+        return (StatementHandler) target;
+    }
+
+    private static MappedStatement mappedStatement(StatementHandler handler) throws IllegalAccessException {
+        if (handler instanceof RoutingStatementHandler) {
+            handler = (StatementHandler) ROUTING_DELEGATE.get(handler);
+        }
+        return handler instanceof BaseStatementHandler ? (MappedStatement) MAPPED_STATEMENT.get(handler) : null;
+    }
+
+    /**
+     * 按 DefaultParameterHandler 的规则取出每个占位符的实际值并计算哈希
+     */
+    private static int parameterHash(Configuration configuration, BoundSql boundSql) {
+        Object parameterObject = boundSql.getParameterObject();
+        List<Object> values = new ArrayList<>(boundSql.getParameterMappings().size());
+        MetaObject metaObject = null;
+        for (ParameterMapping mapping : boundSql.getParameterMappings()) {
+            String property = mapping.getProperty();
+            Object value;
+            if (boundSql.hasAdditionalParameter(property)) {
+                value = boundSql.getAdditionalParameter(property);
+            } else if (parameterObject == null) {
+                value = null;
+            } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameterObject.getClass())) {
+                value = parameterObject;
+            } else {
+                if (metaObject == null) {
+                    metaObject = configuration.newMetaObject(parameterObject);
+                }
+                value = metaObject.getValue(property);
+            }
+            values.add(value);
+        }
+        return values.hashCode();
+    }
+
+    private static Field field(Class<?> type, String name) {
+        try {
+            Field field = type.getDeclaredField(name);
+            field.setAccessible(true);
+            return field;
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException("MyBatis 版本不兼容，找不到 " + type.getName() + "." + name, e);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.blog.monitor;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 按接口（请求方法 + 路由模板）汇总的 SQL 统计。
+ * 同时导出指标 sql.requests.statements 和 sql.requests.n_plus_one（endpoint），接口首次出现时注册
+ */
+@Component
+public class SqlStatsRegistry implements MeterBinder {
+
+    // 每个接口最多记录的重复语句种类
+    private static final int MAX_REPEATED_PER_ENDPOINT = 20;
+
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    private volatile MeterRegistry meterRegistry;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.meterRegistry = registry;
+        endpoints.forEach(this::register);
+    }
+
+    /**
+     * 记录一个请求，返回该接口首次出现的重复语句，便于只在首次发现时告警
+     */
+    public List<SqlRequestStats.RepeatedStatement> record(String endpoint, SqlRequestStats stats,
+                                                          List<SqlRequestStats.RepeatedStatement> repeated) {
+        EndpointStats endpointStats = endpoints.get(endpoint);
+        if (endpointStats == null) {
+            endpointStats = endpoints.computeIfAbsent(endpoint, key -> {
+                EndpointStats created = new EndpointStats();
+                register(key, created);
+                return created;
+            });
+        }
+        long statements = stats.getStatements();
+        endpointStats.requests.increment();
+        endpointStats.statements.add(statements);
+        endpointStats.dbNanos.add(stats.getDbNanos());
+        endpointStats.maxStatements.accumulateAndGet(statements, Math::max);
+
+        if (repeated.isEmpty()) {
+            return List.of();
+        }
+        endpointStats.nPlusOneRequests.increment();
+        List<SqlRequestStats.RepeatedStatement> firstSeen = new ArrayList<>();
+        for (SqlRequestStats.RepeatedStatement statement : repeated) {
+            if (endpointStats.repeatedStatementIds.size() < MAX_REPEATED_PER_ENDPOINT
+                    && endpointStats.repeatedStatementIds.add(statement.statementId())) {
+                firstSeen.add(statement);
+            }
+        }
+        return firstSeen;
+    }
+
+    public Map<String, EndpointSnapshot> snapshot() {
+        Map<String, EndpointSnapshot> result = new TreeMap<>();
+        endpoints.forEach((endpoint, stats) -> {
+            if (stats.requests.sum() > 0) {
+                result.put(endpoint, stats.snapshot());
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 清零（保留已注册的指标）
+     */
+    public void reset() {
+        endpoints.values().forEach(EndpointStats::reset);
+    }
+
+    private void register(String endpoint, EndpointStats stats) {
+        MeterRegistry registry = meterRegistry;
+        if (registry == null) {
+            return;
+        }
+        FunctionCounter.builder("sql.requests.statements", stats, s -> s.statements.sum())
+                .description("接口执行的 SQL 条数")
+                .tag("endpoint", endpoint)
+                .register(registry);
+        FunctionCounter.builder("sql.requests.n_plus_one", stats, s -> s.nPlusOneRequests.sum())
+                .description("出现重复语句（N+1）的请求数")
+                .tag("endpoint", endpoint)
+                .register(registry);
+    }
+
+    /**
+     * 接口统计快照
+     *
+     * @param requests           请求数
+     * @param statements         SQL 总条数
+     * @param avgStatements      平均每个请求的 SQL 条数
+     * @param maxStatements      单个请求最多 SQL 条数
+     * @param dbTimeMillis       数据库总耗时（毫秒）
+     * @param nPlusOneRequests   出现重复语句的请求数
+     * @param repeatedStatements 出现过的重复语句（MappedStatement id）
+     */
+    public record EndpointSnapshot(long requests, long statements, double avgStatements, long maxStatements,
+                                   double dbTimeMillis, long nPlusOneRequests, Set<String> repeatedStatements) {
+    }
+
+    private static final class EndpointStats {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder dbNanos = new LongAdder();
+        private final AtomicLong maxStatements = new AtomicLong();
+        private final LongAdder nPlusOneRequests = new LongAdder();
+        private final Set<String> repeatedStatementIds = ConcurrentHashMap.newKeySet();
+
+        void reset() {
+            requests.reset();
+            statements.reset();
+            dbNanos.reset();
+            maxStatements.set(0);
+            nPlusOneRequests.reset();
+            repeatedStatementIds.clear();
+        }
+
+        EndpointSnapshot snapshot() {
+            long requestCount = requests.sum();
+            long statementCount = statements.sum();
+            return new EndpointSnapshot(requestCount, statementCount,
+                    requestCount == 0 ? 0 : (double) statementCount / requestCount,
+                    maxStatements.get(), dbNanos.sum() / 1_000_000.0, nPlusOneRequests.sum(),
+                    new TreeSet<>(repeatedStatementIds));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.blog.monitor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 开发环境在响应头中返回本次请求的 SQL 统计，便于在浏览器或接口测试里直接发现 N+1：
+ * X-Sql-Count 条数，X-Sql-Time 数据库耗时（毫秒），X-Sql-Repeated 重复执行最多的语句
+ */
+@RestControllerAdvice
+public class SqlStatsResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String HEADER_COUNT = "X-Sql-Count";
+    public static final String HEADER_TIME = "X-Sql-Time";
+    public static final String HEADER_REPEATED = "X-Sql-Repeated";
+
+    private static final int MAX_HEADER_STATEMENT_LENGTH = 200;
+
+    @Value("${blog.sql-stats.headers:false}")
+    private boolean headersEnabled;
+
+    @Value("${blog.sql-stats.n-plus-one-threshold:5}")
+    private int nPlusOneThreshold;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return headersEnabled;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats == null) {
+            return body;
+        }
+        HttpHeaders headers = response.getHeaders();
+        headers.set(HEADER_COUNT, String.valueOf(stats.getStatements()));
+        headers.set(HEADER_TIME, String.format(Locale.ROOT, "%.3f", stats.getDbNanos() / 1_000_000.0));
+
+        List<SqlRequestStats.RepeatedStatement> repeated = stats.repeatedStatements(nPlusOneThreshold);
+        if (!repeated.isEmpty()) {
+            SqlRequestStats.RepeatedStatement top = repeated.get(0);
+            String statement = top.statementId().length() > MAX_HEADER_STATEMENT_LENGTH
+                    ? top.statementId().substring(0, MAX_HEADER_STATEMENT_LENGTH) + "..." : top.statementId();
+            headers.set(HEADER_REPEATED, top.executions() + "x " + statement);
+        }
+        return body;
+    }
+}
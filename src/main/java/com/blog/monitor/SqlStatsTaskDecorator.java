@@ -0,0 +1,27 @@
+package com.blog.monitor;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+/**
+ * 把提交线程的 SQL 统计上下文带到线程池工作线程，文章详情的并行查询因此计入所属请求
+ */
+@Component
+public class SqlStatsTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats == null) {
+            return runnable;
+        }
+        return () -> {
+            SqlRequestStats.bind(stats);
+            try {
+                runnable.run();
+            } finally {
+                SqlRequestStats.bind(null);
+            }
+        };
+    }
+}
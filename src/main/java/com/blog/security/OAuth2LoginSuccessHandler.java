@@ -1,7 +1,10 @@
 package com.blog.security;
 
+import com.blog.cache.CacheInvalidationBus;
 import com.blog.entity.User;
 import com.blog.mapper.UserMapper;
+import com.blog.service.ArticleListCache;
+import com.blog.service.UserSummaryCache;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -27,6 +30,8 @@ public class OAuth2LoginSuccessHandler extends SimpleUrlAuthenticationSuccessHan
 
     private final UserMapper userMapper;
     private final JwtTokenProvider jwtTokenProvider;
+    private final CacheInvalidationBus invalidationBus;
+    private final ArticleListCache articleListCache;
 
     @Override
     public void onAuthenticationSuccess(HttpServletRequest request, HttpServletResponse response,
@@ -76,14 +81,22 @@ public class OAuth2LoginSuccessHandler extends SimpleUrlAuthenticationSuccessHan
             log.info("创建新OAuth2用户: {}", email);
         } else {
             // 更新现有用户信息
-            if (avatar != null && !avatar.isEmpty()) {
+            boolean profileChanged = false;
+            if (avatar != null && !avatar.isEmpty() && !avatar.equals(user.getAvatar())) {
                 user.setAvatar(avatar);
+                profileChanged = true;
             }
-            if (name != null && !name.isEmpty()) {
+            if (name != null && !name.isEmpty() && !name.equals(user.getNickname())) {
                 user.setNickname(name);
+                profileChanged = true;
             }
             user.setUpdatedAt(LocalDateTime.now());
             userMapper.updateById(user);
+            invalidationBus.publish(UserSummaryCache.NAME, user.getId().toString());
+            if (profileChanged) {
+                // 缓存的文章列表/详情响应中带有作者昵称和头像
+                articleListCache.invalidateAuthors();
+            }
             log.info("更新OAuth2用户信息: {}", email);
         }
 
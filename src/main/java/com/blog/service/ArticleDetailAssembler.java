@@ -0,0 +1,201 @@
+package com.blog.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.blog.common.Constants;
+import com.blog.datasource.DataSourceRoute;
+import com.blog.dto.response.ArticleDetailResponse;
+import com.blog.entity.*;
+import com.blog.mapper.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 文章详情组装器
+ * 文章读出后，作者、分类、标签、封面衍生图、点赞和收藏状态互不依赖，并行查询，耗时取最慢的一项而不是总和。
+ * 所有查询共享一个截止时间，超时或失败的部分留空并标记 partial，不影响整个请求
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArticleDetailAssembler {
+
+    private final ArticleMapper articleMapper;
+    private final UserSummaryCache userSummaryCache;
+    private final DictionaryCache dictionaryCache;
+    private final ArticleTagMapper articleTagMapper;
+    private final LikeMapper likeMapper;
+    private final FavoriteMapper favoriteMapper;
+    private final ImageVariantService imageVariantService;
+    private final ThreadPoolTaskExecutor detailTaskExecutor;
+
+    // 单个详情请求的查询截止时间
+    @Value("${blog.article.detail-deadline-ms:500}")
+    private long deadlineMillis;
+
+    /**
+     * 组装文章详情，同时增加浏览量
+     */
+    public ArticleDetailResponse assemble(Article article, Long currentUserId) {
+        Long articleId = article.getId();
+        ArticleDetailResponse response = new ArticleDetailResponse();
+        response.setId(articleId);
+        response.setTitle(article.getTitle());
+        response.setSummary(article.getSummary());
+        response.setContent(article.getContent());
+        response.setContentHtml(article.getContentHtml());
+        response.setCoverImage(article.getCoverImage());
+        response.setViewCount(article.getViewCount() + 1);
+        response.setLikeCount(article.getLikeCount());
+        response.setCommentCount(article.getCommentCount());
+        response.setFavoriteCount(article.getFavoriteCount());
+        response.setCreatedAt(article.getCreatedAt());
+        response.setUpdatedAt(article.getUpdatedAt());
+        response.setPublishedAt(article.getPublishedAt());
+
+        Lookups lookups = new Lookups(articleId);
+
+        // 作者信息
+        lookups.fork("author", () -> userSummaryCache.get(article.getUserId()), user -> {
+            if (user != null) {
+                ArticleDetailResponse.AuthorInfo authorInfo = new ArticleDetailResponse.AuthorInfo();
+                authorInfo.setId(user.id());
+                authorInfo.setUsername(user.username());
+                authorInfo.setNickname(user.nickname());
+                authorInfo.setAvatar(user.avatar());
+                authorInfo.setBio(user.bio());
+                response.setAuthor(authorInfo);
+            }
+        });
+
+        // 分类信息（本机字典，不需要并行）
+        DictionaryCache.CategoryEntry category = dictionaryCache.category(article.getCategoryId());
+        if (category != null) {
+            ArticleDetailResponse.CategoryInfo categoryInfo = new ArticleDetailResponse.CategoryInfo();
+            categoryInfo.setId(category.id());
+            categoryInfo.setName(category.name());
+            categoryInfo.setIcon(category.icon());
+            response.setCategory(categoryInfo);
+        }
+
+        // 标签信息（查询关联表，名称和颜色取自字典）
+        lookups.fork("tags", () -> loadTags(articleId), response::setTags);
+
+        // 封面衍生图
+        lookups.fork("srcset", () -> imageVariantService.getSrcset(article.getCoverImage()),
+                response::setCoverImageSrcset);
+
+        // 如果用户已登录，检查点赞和收藏状态
+        if (currentUserId != null) {
+            lookups.fork("liked", () -> likeMapper.selectCount(
+                    new LambdaQueryWrapper<Like>()
+                            .eq(Like::getUserId, currentUserId)
+                            .eq(Like::getTargetType, Constants.LIKE_TARGET_ARTICLE)
+                            .eq(Like::getTargetId, articleId)
+            ) > 0, response::setIsLiked);
+
+            lookups.fork("favorited", () -> favoriteMapper.selectCount(
+                    new LambdaQueryWrapper<Favorite>()
+                            .eq(Favorite::getUserId, currentUserId)
+                            .eq(Favorite::getArticleId, articleId)
+            ) > 0, response::setIsFavorited);
+        }
+
+        // 浏览量自增在当前线程执行，与上面的查询重叠；详情是只读方法，写操作显式走主库
+        try {
+            DataSourceRoute.onPrimary(() -> articleMapper.incrementViewCount(articleId));
+        } catch (Exception e) {
+            log.warn("文章 {} 浏览量更新失败", articleId, e);
+        }
+
+        response.setPartial(!lookups.join(deadlineMillis));
+        return response;
+    }
+
+    private List<ArticleDetailResponse.TagInfo> loadTags(Long articleId) {
+        List<Long> tagIds = articleTagMapper.selectList(
+                new LambdaQueryWrapper<ArticleTag>()
+                        .eq(ArticleTag::getArticleId, articleId)
+        ).stream().map(ArticleTag::getTagId).collect(Collectors.toList());
+        List<ArticleDetailResponse.TagInfo> tags = new ArrayList<>(tagIds.size());
+        for (Long tagId : tagIds) {
+            DictionaryCache.TagEntry tag = dictionaryCache.tag(tagId);
+            if (tag != null) {
+                ArticleDetailResponse.TagInfo tagInfo = new ArticleDetailResponse.TagInfo();
+                tagInfo.setId(tag.id());
+                tagInfo.setName(tag.name());
+                tagInfo.setColor(tag.color());
+                tags.add(tagInfo);
+            }
+        }
+        return tags;
+    }
+
+    /**
+     * 一组并行查询：fork 提交，join 统一等待到截止时间。
+     * 结果在调用线程中写回响应对象，未完成的查询会被取消（尚未开始的不再执行）
+     */
+    private final class Lookups {
+
+        private final Long articleId;
+        private final List<Lookup<?>> forked = new ArrayList<>();
+
+        private Lookups(Long articleId) {
+            this.articleId = articleId;
+        }
+
+        <T> void fork(String name, Supplier<T> query, Consumer<T> apply) {
+            forked.add(new Lookup<>(name, CompletableFuture.supplyAsync(query, detailTaskExecutor), apply));
+        }
+
+        /**
+         * 等待所有查询，返回是否全部成功
+         */
+        boolean join(long timeoutMillis) {
+            try {
+                CompletableFuture.allOf(forked.stream().map(Lookup::future).toArray(CompletableFuture[]::new))
+                        .get(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException | ExecutionException e) {
+                // 逐项处理：超时的取消，失败的记录
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            boolean complete = true;
+            for (Lookup<?> lookup : forked) {
+                complete &= lookup.applyIfDone(articleId);
+            }
+            return complete;
+        }
+    }
+
+    private record Lookup<T>(String name, CompletableFuture<T> future, Consumer<T> apply) {
+
+        boolean applyIfDone(Long articleId) {
+            if (!future.isDone()) {
+                future.cancel(false);
+                log.warn("文章 {} 详情查询 {} 超时，返回部分结果", articleId, name);
+                return false;
+            }
+            try {
+                apply.accept(future.join());
+                return true;
+            } catch (Exception e) {
+                log.warn("文章 {} 详情查询 {} 失败，返回部分结果", articleId, name, e);
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.blog.service;
+
+import com.blog.cache.ResponseCacheHitListener;
+import com.blog.mapper.ArticleMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 文章详情命中响应缓存时仍然累加浏览量（缓存内容中的浏览量在过期前不变）
+ */
+@Component
+@RequiredArgsConstructor
+public class ArticleDetailCacheHitListener implements ResponseCacheHitListener {
+
+    private static final String DETAIL_PATTERN = "/api/articles/{id}";
+
+    private final ArticleMapper articleMapper;
+
+    @Override
+    public void onHit(String pattern, Map<String, String> uriVariables) {
+        if (DETAIL_PATTERN.equals(pattern)) {
+            articleMapper.incrementViewCount(Long.valueOf(uriVariables.get("id")));
+        }
+    }
+}
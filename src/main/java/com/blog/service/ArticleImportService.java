@@ -0,0 +1,619 @@
+package com.blog.service;
+
+import com.blog.cache.CacheInvalidationBus;
+import com.blog.common.Constants;
+import com.blog.datasource.BatchWriter;
+import com.blog.dto.request.ArticleImportRecord;
+import com.blog.entity.Article;
+import com.blog.entity.ArticleTag;
+import com.blog.entity.Tag;
+import com.blog.exception.BusinessException;
+import com.blog.mapper.ArticleMapper;
+import com.blog.mapper.ArticleTagMapper;
+import com.blog.mapper.TagMapper;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.StreamReadConstraints;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * 文章批量导入
+ * 请求体（NDJSON 或 Markdown 文件的 zip）先流式写入临时文件，立即返回任务 id，由后台线程流式解析：
+ * NDJSON 用 Jackson 的流式解析逐条读取，zip 用 ZipInputStream 逐个读取 .md 文件，内存中只保留一批文章。
+ * 分类、标签名称按 {@link DictionaryCache} 解析，每批（batch-size 篇，正文等累计超过 batch-bytes 时提前结束）一个事务，
+ * 通过 {@link BatchWriter} 批量写入文章、标签关联并更新标签文章数。
+ * 已提交的批次不会因后续失败回滚，进度中的已导入条数即已写入的文章数。
+ * 不支持断点续传：任务失败后重新提交同一文件会再次写入已提交的文章
+ */
+@Slf4j
+@Service
+public class ArticleImportService {
+
+    public static final String FORMAT_NDJSON = "ndjson";
+    public static final String FORMAT_ZIP = "zip";
+
+    // 进度中保留的错误条数
+    private static final int MAX_ERRORS = 100;
+    private static final int MAX_TITLE_LENGTH = 255;
+    private static final int MAX_COVER_LENGTH = 255;
+    private static final int MAX_TAG_NAME_LENGTH = 50;
+    // 新标签与并发创建的同名标签冲突时的重试次数
+    private static final int MAX_TAG_RETRIES = 3;
+
+    private final BatchWriter batchWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final DictionaryCache dictionaryCache;
+    private final ArticleListCache articleListCache;
+    private final CacheInvalidationBus invalidationBus;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolTaskExecutor importExecutor;
+    private final int batchSize;
+    private final long batchBytes;
+    private final long maxBytes;
+    private final int maxEntryBytes;
+    private final boolean createMissingTags;
+    // NDJSON 解析用的工厂：单个字符串不超过 max-entry-bytes，不修改全局 ObjectMapper 的限制
+    private final JsonFactory ndjsonFactory;
+
+    // 最近的导入任务，完成后保留一段时间供查询
+    private final Cache<String, ImportJob> jobs = Caffeine.newBuilder()
+            .maximumSize(100)
+            .expireAfterWrite(Duration.ofDays(1))
+            .build();
+
+    public ArticleImportService(BatchWriter batchWriter, TransactionTemplate transactionTemplate,
+                                DictionaryCache dictionaryCache, ArticleListCache articleListCache,
+                                CacheInvalidationBus invalidationBus,
+                                ObjectMapper objectMapper,
+                                @Qualifier("articleImportExecutor") ThreadPoolTaskExecutor importExecutor,
+                                @Value("${blog.article.import.batch-size:500}") int batchSize,
+                                @Value("${blog.article.import.batch-bytes:33554432}") long batchBytes,
+                                @Value("${blog.article.import.max-bytes:1073741824}") long maxBytes,
+                                @Value("${blog.article.import.max-entry-bytes:4194304}") int maxEntryBytes,
+                                @Value("${blog.article.import.create-missing-tags:true}") boolean createMissingTags) {
+        this.batchWriter = batchWriter;
+        this.transactionTemplate = transactionTemplate;
+        this.dictionaryCache = dictionaryCache;
+        this.articleListCache = articleListCache;
+        this.invalidationBus = invalidationBus;
+        this.objectMapper = objectMapper;
+        this.importExecutor = importExecutor;
+        this.batchSize = batchSize;
+        this.batchBytes = batchBytes;
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = maxEntryBytes;
+        this.createMissingTags = createMissingTags;
+        this.ndjsonFactory = objectMapper.getFactory().copy()
+                .setStreamReadConstraints(StreamReadConstraints.builder().maxStringLength(maxEntryBytes).build());
+    }
+
+    /**
+     * 保存请求体并提交导入任务，文章作者为 userId
+     */
+    public ImportProgress submit(InputStream body, String format, Long userId) throws IOException {
+        if (!FORMAT_NDJSON.equals(format) && !FORMAT_ZIP.equals(format)) {
+            throw new BusinessException("不支持的导入格式: " + format + "，只支持 ndjson 和 zip");
+        }
+        Path file = Files.createTempFile("article-import-", "." + format);
+        long bytes;
+        try {
+            bytes = spool(body, file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString().replace("-", ""), format, userId, bytes);
+        jobs.put(job.id, job);
+        try {
+            importExecutor.execute(() -> run(job, file));
+        } catch (TaskRejectedException e) {
+            jobs.invalidate(job.id);
+            Files.deleteIfExists(file);
+            throw new BusinessException(503, "导入任务过多，请稍后再试");
+        }
+        log.info("用户 {} 提交文章导入任务 {}: {}, {} 字节", userId, job.id, format, bytes);
+        return job.progress();
+    }
+
+    /**
+     * 任务进度，不存在或已过期时返回 null
+     */
+    public ImportProgress getProgress(String jobId) {
+        ImportJob job = jobs.getIfPresent(jobId);
+        return job == null ? null : job.progress();
+    }
+
+    /**
+     * 最近的任务，按提交时间倒序
+     */
+    public List<ImportProgress> listProgress() {
+        return jobs.asMap().values().stream()
+                .map(ImportJob::progress)
+                .sorted(Comparator.comparing(ImportProgress::submittedAt).reversed())
+                .toList();
+    }
+
+    private long spool(InputStream body, Path file) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        long total = 0;
+        try (OutputStream out = Files.newOutputStream(file)) {
+            int n;
+            while ((n = body.read(buffer)) != -1) {
+                total += n;
+                if (total > maxBytes) {
+                    throw new BusinessException(413, "导入文件不能超过" + (maxBytes / 1024 / 1024) + "MB");
+                }
+                out.write(buffer, 0, n);
+            }
+        }
+        if (total == 0) {
+            throw new BusinessException("导入内容为空");
+        }
+        return total;
+    }
+
+    private void run(ImportJob job, Path file) {
+        job.start();
+        ImportBatch batch = new ImportBatch(job);
+        try (InputStream in = Files.newInputStream(file)) {
+            if (FORMAT_ZIP.equals(job.format)) {
+                readZip(in, batch);
+            } else {
+                readNdjson(in, batch);
+            }
+            batch.flush();
+            job.finish(null);
+        } catch (Exception e) {
+            log.error("文章导入任务 {} 失败", job.id, e);
+            job.finish(e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage());
+        } finally {
+            batch.invalidateCaches();
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("删除导入临时文件失败: {}", file, e);
+            }
+            ImportProgress progress = job.progress();
+            log.info("文章导入任务 {} 结束: {}, 导入 {} 篇, 失败 {} 条, 新建标签 {} 个, 耗时 {}ms",
+                    job.id, progress.state(), progress.imported(), progress.failed(), progress.tagsCreated(),
+                    progress.elapsedMs());
+        }
+    }
+
+    /**
+     * NDJSON：每行一个 JSON 对象（实际接受任意空白分隔的对象序列）。
+     * 单条字段类型错误、记录或其中的字符串超过 max-entry-bytes 只跳过该条；JSON 语法错误无法定位下一条，任务在此结束
+     */
+    private void readNdjson(InputStream in, ImportBatch batch) throws IOException {
+        try (JsonParser parser = ndjsonFactory.createParser(in);
+             MappingIterator<ArticleImportRecord> records =
+                     objectMapper.readerFor(ArticleImportRecord.class).readValues(parser)) {
+            while (records.hasNextValue()) {
+                String source = "第 " + parser.currentTokenLocation().getLineNr() + " 行";
+                long start = parser.currentTokenLocation().getByteOffset();
+                ArticleImportRecord record;
+                try {
+                    record = records.nextValue();
+                } catch (JsonMappingException e) {
+                    batch.job.reject(source, e.getOriginalMessage());
+                    continue;
+                }
+                // 字符串长度已由解析器限制，这里限制整条记录（多个大字段）
+                if (parser.currentLocation().getByteOffset() - start > maxEntryBytes) {
+                    batch.job.reject(source, "记录超过 " + maxEntryBytes + " 字节");
+                    continue;
+                }
+                batch.add(source, record);
+            }
+        }
+    }
+
+    /**
+     * zip：逐个读取 .md / .markdown 文件，其他文件忽略
+     */
+    private void readZip(InputStream in, ImportBatch batch) throws IOException {
+        try (ZipInputStream zip = new ZipInputStream(in, StandardCharsets.UTF_8)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                String name = entry.getName();
+                String lower = name.toLowerCase(Locale.ROOT);
+                if (entry.isDirectory() || name.startsWith("__MACOSX/")
+                        || !(lower.endsWith(".md") || lower.endsWith(".markdown"))) {
+                    continue;
+                }
+                byte[] bytes = readEntry(zip);
+                if (bytes == null) {
+                    batch.job.reject(name, "文件超过 " + maxEntryBytes + " 字节");
+                    continue;
+                }
+                batch.add(name, MarkdownArticles.parse(name, new String(bytes, StandardCharsets.UTF_8)));
+            }
+        }
+    }
+
+    /**
+     * 读取当前 zip 条目，超过大小上限时返回 null（不信任条目头中声明的大小）
+     */
+    private byte[] readEntry(ZipInputStream zip) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int n;
+        while ((n = zip.read(buffer)) != -1) {
+            if (out.size() + n > maxEntryBytes) {
+                return null;
+            }
+            out.write(buffer, 0, n);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 一批待写入的文章，以及整个任务中解析过的标签和涉及的分类
+     */
+    private final class ImportBatch {
+
+        private final ImportJob job;
+        private final List<Article> articles = new ArrayList<>();
+        // 与 articles 一一对应：已解析的标签 id 和待解析的标签名称（名称 key）
+        private final List<Set<Long>> articleTagIds = new ArrayList<>();
+        private final List<Set<String>> articleTagNames = new ArrayList<>();
+        // 本任务新建的标签，字典快照要到任务结束才刷新
+        private final Map<String, Long> createdTags = new HashMap<>();
+        private final Set<Long> touchedCategories = new HashSet<>();
+        private final Set<Long> touchedTags = new HashSet<>();
+        private boolean tagCountsChanged;
+        // 当前一批文章文本占用的内存估算（字符数 x 2）
+        private long pendingBytes;
+
+        ImportBatch(ImportJob job) {
+            this.job = job;
+        }
+
+        void add(String source, ArticleImportRecord record) {
+            String error = validate(record);
+            if (error != null) {
+                job.reject(source, error);
+                return;
+            }
+
+            Long categoryId = record.getCategoryId();
+            if (categoryId != null && dictionaryCache.category(categoryId) == null) {
+                job.reject(source, "分类不存在: " + categoryId);
+                return;
+            }
+            if (categoryId == null && record.getCategory() != null && !record.getCategory().isBlank()) {
+                DictionaryCache.CategoryEntry category = dictionaryCache.categoryByName(record.getCategory());
+                if (category == null) {
+                    job.reject(source, "分类不存在: " + record.getCategory());
+                    return;
+                }
+                categoryId = category.id();
+            }
+
+            Set<Long> tagIds = new LinkedHashSet<>();
+            if (record.getTagIds() != null) {
+                for (Long tagId : record.getTagIds()) {
+                    if (tagId == null || dictionaryCache.tag(tagId) == null) {
+                        job.reject(source, "标签不存在: " + tagId);
+                        return;
+                    }
+                    tagIds.add(tagId);
+                }
+            }
+            Set<String> tagNames = new LinkedHashSet<>();
+            if (record.getTags() != null) {
+                for (String tagName : record.getTags()) {
+                    if (tagName == null || tagName.isBlank()) {
+                        continue;
+                    }
+                    Long tagId = resolveTag(tagName);
+                    if (tagId != null) {
+                        tagIds.add(tagId);
+                    } else if (createMissingTags) {
+                        tagNames.add(tagName.trim());
+                    } else {
+                        job.reject(source, "标签不存在: " + tagName);
+                        return;
+                    }
+                }
+            }
+
+            articles.add(toArticle(record, categoryId));
+            articleTagIds.add(tagIds);
+            articleTagNames.add(tagNames);
+            pendingBytes += 2L * (length(record.getTitle()) + length(record.getSummary()) + length(record.getContent()));
+            job.parsed.incrementAndGet();
+            if (articles.size() >= batchSize || pendingBytes >= batchBytes) {
+                flush();
+            }
+        }
+
+        /**
+         * 写入当前一批：先在单独的事务中创建缺少的标签，再在一个事务中写入文章、标签关联和标签文章数
+         */
+        void flush() {
+            if (articles.isEmpty()) {
+                return;
+            }
+            createTags();
+
+            List<Set<Long>> resolvedTagIds = new ArrayList<>(articles.size());
+            for (int i = 0; i < articles.size(); i++) {
+                Set<Long> tagIds = articleTagIds.get(i);
+                articleTagNames.get(i).forEach(name -> tagIds.add(resolveTag(name)));
+                resolvedTagIds.add(tagIds);
+            }
+
+            Map<Long, Integer> tagIncrements = new HashMap<>();
+            transactionTemplate.executeWithoutResult(status -> {
+                batchWriter.execute(ArticleMapper.class, articles, ArticleMapper::insert);
+
+                List<ArticleTag> links = new ArrayList<>();
+                for (int i = 0; i < articles.size(); i++) {
+                    Article article = articles.get(i);
+                    boolean published = article.getIsPublished() == Constants.ARTICLE_STATUS_PUBLISHED;
+                    for (Long tagId : resolvedTagIds.get(i)) {
+                        ArticleTag link = new ArticleTag();
+                        link.setArticleId(article.getId());
+                        link.setTagId(tagId);
+                        links.add(link);
+                        if (published) {
+                            tagIncrements.merge(tagId, 1, Integer::sum);
+                        }
+                    }
+                }
+                batchWriter.insertValues(ArticleTagMapper.class, links, ArticleTagMapper::insertBatch);
+
+                // 增量相同的标签合并为一条 UPDATE
+                Map<Integer, List<Long>> byDelta = new LinkedHashMap<>();
+                tagIncrements.forEach((tagId, delta) -> byDelta.computeIfAbsent(delta, d -> new ArrayList<>()).add(tagId));
+                batchWriter.execute(TagMapper.class, byDelta.entrySet(),
+                        (mapper, group) -> mapper.adjustArticleCount(group.getValue(), group.getKey()));
+            });
+
+            for (int i = 0; i < articles.size(); i++) {
+                if (articles.get(i).getIsPublished() == Constants.ARTICLE_STATUS_PUBLISHED) {
+                    touchedCategories.add(articles.get(i).getCategoryId());
+                    touchedTags.addAll(resolvedTagIds.get(i));
+                }
+            }
+            tagCountsChanged |= !tagIncrements.isEmpty();
+            job.imported.addAndGet(articles.size());
+            job.batches.incrementAndGet();
+
+            articles.clear();
+            articleTagIds.clear();
+            articleTagNames.clear();
+            pendingBytes = 0;
+        }
+
+        /**
+         * 任务结束后使列表缓存、标签字典失效，只做一次；导入过程中新文章可能暂时不在缓存的列表中
+         */
+        void invalidateCaches() {
+            if (!touchedCategories.isEmpty() || !touchedTags.isEmpty()) {
+                articleListCache.invalidate(touchedCategories, touchedTags);
+            }
+            if (tagCountsChanged || !createdTags.isEmpty()) {
+                invalidationBus.publish(DictionaryCache.NAME);
+            }
+        }
+
+        private void createTags() {
+            Map<String, String> missing = new LinkedHashMap<>();
+            for (Set<String> names : articleTagNames) {
+                for (String name : names) {
+                    if (resolveTag(name) == null) {
+                        missing.putIfAbsent(DictionaryCache.nameKey(name), name);
+                    }
+                }
+            }
+            for (int attempt = 1; !missing.isEmpty(); attempt++) {
+                List<Tag> tags = missing.values().stream().map(name -> {
+                    Tag tag = new Tag();
+                    tag.setName(name);
+                    tag.setArticleCount(0);
+                    return tag;
+                }).toList();
+                try {
+                    batchWriter.execute(TagMapper.class, tags, TagMapper::insert);
+                } catch (DuplicateKeyException e) {
+                    if (attempt == MAX_TAG_RETRIES) {
+                        throw e;
+                    }
+                    // 其他请求刚创建了其中的同名标签，整批已回滚：重新加载字典，只重试仍然缺少的名称
+                    dictionaryCache.refresh();
+                    missing.keySet().removeIf(key -> resolveTag(key) != null);
+                    continue;
+                }
+                tags.forEach(tag -> createdTags.put(DictionaryCache.nameKey(tag.getName()), tag.getId()));
+                job.tagsCreated.addAndGet(tags.size());
+                return;
+            }
+        }
+
+        private Long resolveTag(String name) {
+            DictionaryCache.TagEntry tag = dictionaryCache.tagByName(name);
+            return tag != null ? Long.valueOf(tag.id()) : createdTags.get(DictionaryCache.nameKey(name));
+        }
+
+        private Article toArticle(ArticleImportRecord record, Long categoryId) {
+            boolean published = !Boolean.FALSE.equals(record.getPublished());
+            Article article = new Article();
+            article.setUserId(job.userId);
+            article.setTitle(record.getTitle().trim());
+            article.setSummary(record.getSummary());
+            article.setContent(record.getContent());
+            article.setCoverImage(record.getCoverImage());
+            article.setCategoryId(categoryId);
+            article.setIsPublished(published ? Constants.ARTICLE_STATUS_PUBLISHED : Constants.ARTICLE_STATUS_DRAFT);
+            // 管理员导入，直接通过审核
+            article.setReviewStatus("APPROVED");
+            article.setIsTop(0);
+            article.setIsFeatured(0);
+            article.setViewCount(0);
+            article.setLikeCount(0);
+            article.setCommentCount(0);
+            article.setFavoriteCount(0);
+            article.setCreatedAt(record.getCreatedAt());
+            if (published) {
+                article.setPublishedAt(record.getPublishedAt() != null ? record.getPublishedAt() : LocalDateTime.now());
+            }
+            return article;
+        }
+    }
+
+    private static String validate(ArticleImportRecord record) {
+        if (record == null) {
+            return "空记录";
+        }
+        if (record.getTitle() == null || record.getTitle().isBlank()) {
+            return "标题不能为空";
+        }
+        if (record.getTitle().trim().length() > MAX_TITLE_LENGTH) {
+            return "标题不能超过 " + MAX_TITLE_LENGTH + " 个字符";
+        }
+        if (record.getContent() == null || record.getContent().isBlank()) {
+            return "内容不能为空";
+        }
+        if (record.getCoverImage() != null && record.getCoverImage().length() > MAX_COVER_LENGTH) {
+            return "封面地址不能超过 " + MAX_COVER_LENGTH + " 个字符";
+        }
+        if (record.getTags() != null && record.getTags().stream()
+                .anyMatch(tag -> tag != null && tag.trim().length() > MAX_TAG_NAME_LENGTH)) {
+            return "标签名称不能超过 " + MAX_TAG_NAME_LENGTH + " 个字符";
+        }
+        return null;
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    /**
+     * 一个导入任务的状态，计数由导入线程更新，查询线程读取
+     */
+    private static final class ImportJob {
+
+        private final String id;
+        private final String format;
+        private final Long userId;
+        private final long bytes;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private final AtomicLong parsed = new AtomicLong();
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong tagsCreated = new AtomicLong();
+        private final AtomicLong batches = new AtomicLong();
+        private final List<String> errors = new CopyOnWriteArrayList<>();
+        private volatile String state = "QUEUED";
+        private volatile String message;
+        private volatile long startNanos;
+        private volatile long elapsedNanos = -1;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+
+        ImportJob(String id, String format, Long userId, long bytes) {
+            this.id = id;
+            this.format = format;
+            this.userId = userId;
+            this.bytes = bytes;
+        }
+
+        void start() {
+            startNanos = System.nanoTime();
+            startedAt = LocalDateTime.now();
+            state = "RUNNING";
+        }
+
+        void reject(String source, String error) {
+            failed.incrementAndGet();
+            if (errors.size() < MAX_ERRORS) {
+                errors.add(source + ": " + error);
+            }
+        }
+
+        void finish(String failure) {
+            elapsedNanos = System.nanoTime() - startNanos;
+            finishedAt = LocalDateTime.now();
+            message = failure;
+            state = failure == null ? "COMPLETED" : "FAILED";
+        }
+
+        ImportProgress progress() {
+            long elapsed = elapsedNanos >= 0 ? elapsedNanos : startedAt == null ? 0 : System.nanoTime() - startNanos;
+            long done = imported.get();
+            double rate = elapsed == 0 ? 0 : done * 1e9 / elapsed;
+            return new ImportProgress(id, format, state, message, bytes, parsed.get(), done, failed.get(),
+                    tagsCreated.get(), batches.get(), List.copyOf(errors), submittedAt, startedAt, finishedAt,
+                    elapsed / 1_000_000, Math.round(rate));
+        }
+    }
+
+    /**
+     * 导入进度
+     *
+     * @param state       QUEUED-排队中，RUNNING-导入中，COMPLETED-完成，FAILED-中途失败（已导入的批次保留）
+     * @param parsed      已解析的有效文章数
+     * @param imported    已提交的文章数
+     * @param failed      跳过的无效记录数，原因见 errors（最多保留 100 条）
+     * @param perSecond   每秒导入文章数
+     */
+    public record ImportProgress(
+            String id,
+            String format,
+            String state,
+            String message,
+            long bytes,
+            long parsed,
+            long imported,
+            long failed,
+            long tagsCreated,
+            long batches,
+            List<String> errors,
+            LocalDateTime submittedAt,
+            LocalDateTime startedAt,
+            LocalDateTime finishedAt,
+            long elapsedMs,
+            long perSecond
+    ) {
+    }
+}
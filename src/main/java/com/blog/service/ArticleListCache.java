@@ -0,0 +1,93 @@
+package com.blog.service;
+
+import com.blog.cache.CacheGenerations;
+import com.blog.cache.RedisLoadingCache;
+import com.blog.cache.RedisLoadingCaches;
+import com.blog.common.PageResult;
+import com.blog.datasource.DataSourceRoute;
+import com.blog.dto.response.ArticleListResponse;
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 文章列表分页缓存（Redis）
+ * key 包含查询条件和对应的代数：无筛选和关键词搜索用全站代数，按分类、标签筛选用该分类、标签的代数，
+ * 另外都带上作者资料代数。发布、下架、修改文章时只递增受影响的代数，其他分类和标签的列表缓存不受影响。
+ * 首页等热点页过期时由 {@link RedisLoadingCache} 保证只有一个请求回源，回源查询走主库
+ */
+@Component
+public class ArticleListCache {
+
+    private static final String KEY_PREFIX = "blog:article:list:";
+
+    private final CacheGenerations generations;
+    private final RedisLoadingCache<PageResult<ArticleListResponse>> cache;
+    private final boolean enabled;
+    private final int maxKeywordLength;
+
+    public ArticleListCache(CacheGenerations generations, RedisLoadingCaches loadingCaches,
+                            @Value("${blog.article.list-cache.ttl:5m}") Duration ttl,
+                            @Value("${blog.article.list-cache.stale-ttl:1m}") Duration staleTtl,
+                            @Value("${blog.article.list-cache.max-keyword-length:32}") int maxKeywordLength) {
+        this.generations = generations;
+        this.cache = loadingCaches.create("article-list", new TypeReference<>() {
+        }, ttl, staleTtl);
+        this.enabled = !ttl.isZero();
+        this.maxKeywordLength = maxKeywordLength;
+    }
+
+    /**
+     * 读取缓存，未命中时在主库上执行查询并写入（不缓存时按调用方的路由执行）
+     */
+    public PageResult<ArticleListResponse> get(int page, int size, Long categoryId, Long tagId, String keyword,
+                                               Supplier<PageResult<ArticleListResponse>> loader) {
+        String normalizedKeyword = keyword == null ? "" : keyword.trim();
+        if (!enabled || normalizedKeyword.length() > maxKeywordLength) {
+            return loader.get();
+        }
+        return cache.get(key(page, size, categoryId, tagId, normalizedKeyword),
+                () -> DataSourceRoute.fromPrimary(loader));
+    }
+
+    /**
+     * 已发布文章变化后调用：递增全站代数和相关分类、标签的代数（事务提交后生效）
+     */
+    public void invalidate(Collection<Long> categoryIds, Collection<Long> tagIds) {
+        List<String> names = new ArrayList<>();
+        names.add(CacheGenerations.feed());
+        categoryIds.stream().filter(id -> id != null).forEach(id -> names.add(CacheGenerations.category(id)));
+        tagIds.forEach(id -> names.add(CacheGenerations.tag(id)));
+        generations.increment(names);
+    }
+
+    /**
+     * 作者资料变化后调用：列表中的作者昵称、头像过期，递增作者资料代数和全站代数（全站代数同时是文章响应缓存的版本）
+     */
+    public void invalidateAuthors() {
+        generations.increment(CacheGenerations.authors(), CacheGenerations.feed());
+    }
+
+    private String key(int page, int size, Long categoryId, Long tagId, String keyword) {
+        StringBuilder key = new StringBuilder(KEY_PREFIX);
+        // 只含需要的代数：分类、标签筛选的结果与其他文章无关
+        if (categoryId != null) {
+            key.append('c').append(categoryId).append('@').append(generations.get(CacheGenerations.category(categoryId)));
+        }
+        if (tagId != null) {
+            key.append('t').append(tagId).append('@').append(generations.get(CacheGenerations.tag(tagId)));
+        }
+        if (categoryId == null && tagId == null) {
+            key.append('f').append('@').append(generations.get(CacheGenerations.feed()));
+        }
+        key.append('a').append('@').append(generations.get(CacheGenerations.authors()));
+        key.append(':').append(page).append(':').append(size).append(':').append(keyword);
+        return key.toString();
+    }
+}
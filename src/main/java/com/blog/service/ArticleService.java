@@ -2,8 +2,10 @@ package com.blog.service;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.blog.cache.CacheInvalidationBus;
 import com.blog.common.Constants;
 import com.blog.common.PageResult;
+import com.blog.datasource.ReadOnly;
 import com.blog.dto.request.ArticleRequest;
 import com.blog.dto.response.ArticleDetailResponse;
 import com.blog.dto.response.ArticleListResponse;
@@ -17,7 +19,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -29,19 +37,29 @@ import java.util.stream.Collectors;
 public class ArticleService {
 
     private final ArticleMapper articleMapper;
-    private final UserMapper userMapper;
-    private final CategoryMapper categoryMapper;
     private final TagMapper tagMapper;
     private final ArticleTagMapper articleTagMapper;
     private final LikeMapper likeMapper;
     private final FavoriteMapper favoriteMapper;
+    private final ImageVariantService imageVariantService;
+    private final ArticleDetailAssembler articleDetailAssembler;
+    private final ArticleListCache articleListCache;
+    private final UserSummaryCache userSummaryCache;
+    private final DictionaryCache dictionaryCache;
+    private final CacheInvalidationBus invalidationBus;
 
     /**
      * 获取文章列表（分页）
      */
+    @ReadOnly
     public PageResult<ArticleListResponse> getArticleList(
             int page, int size, Long categoryId, Long tagId, String keyword) {
+        return articleListCache.get(page, size, categoryId, tagId, keyword,
+                () -> queryArticleList(page, size, categoryId, tagId, keyword));
+    }
 
+    private PageResult<ArticleListResponse> queryArticleList(
+            int page, int size, Long categoryId, Long tagId, String keyword) {
         // 构建查询条件
         LambdaQueryWrapper<Article> wrapper = new LambdaQueryWrapper<>();
         wrapper.eq(Article::getIsPublished, Constants.ARTICLE_STATUS_PUBLISHED)
@@ -74,9 +92,7 @@ public class ArticleService {
         );
 
         // 转换为 DTO
-        List<ArticleListResponse> records = articlePage.getRecords().stream()
-                .map(this::convertToListResponse)
-                .collect(Collectors.toList());
+        List<ArticleListResponse> records = convertToListResponses(articlePage.getRecords());
 
         return new PageResult<>(
                 records,
@@ -89,6 +105,7 @@ public class ArticleService {
     /**
      * 获取文章详情
      */
+    @ReadOnly
     public ArticleDetailResponse getArticleDetail(Long id, Long currentUserId) {
         // 查询文章
         Article article = articleMapper.selectById(id);
@@ -96,32 +113,8 @@ public class ArticleService {
             throw new ResourceNotFoundException("文章", id);
         }
 
-        // 增加浏览量
-        article.setViewCount(article.getViewCount() + 1);
-        articleMapper.updateById(article);
-
-        // 转换为 DTO
-        ArticleDetailResponse response = convertToDetailResponse(article);
-
-        // 如果用户已登录，检查点赞和收藏状态
-        if (currentUserId != null) {
-            boolean isLiked = likeMapper.selectCount(
-                    new LambdaQueryWrapper<Like>()
-                            .eq(Like::getUserId, currentUserId)
-                            .eq(Like::getTargetType, Constants.LIKE_TARGET_ARTICLE)
-                            .eq(Like::getTargetId, id)
-            ) > 0;
-            response.setIsLiked(isLiked);
-
-            boolean isFavorited = favoriteMapper.selectCount(
-                    new LambdaQueryWrapper<Favorite>()
-                            .eq(Favorite::getUserId, currentUserId)
-                            .eq(Favorite::getArticleId, id)
-            ) > 0;
-            response.setIsFavorited(isFavorited);
-        }
-
-        return response;
+        // 浏览量自增和关联信息查询并行执行
+        return articleDetailAssembler.assemble(article, currentUserId);
     }
 
     /**
@@ -130,7 +123,7 @@ public class ArticleService {
     @Transactional
     public Long createArticle(ArticleRequest request, Long userId) {
         // 获取用户信息以检查角色
-        User user = userMapper.selectById(userId);
+        UserSummary user = userSummaryCache.get(userId);
         if (user == null) {
             throw new ResourceNotFoundException("用户", userId);
         }
@@ -151,7 +144,7 @@ public class ArticleService {
         article.setIsPublished(publishStatus);
 
         // 设置审核状态：管理员文章自动通过，普通用户文章需要审核
-        if ("ADMIN".equals(user.getRole())) {
+        if ("ADMIN".equals(user.role())) {
             article.setReviewStatus("APPROVED");
             log.info("管理员文章自动通过审核");
         } else {
@@ -172,14 +165,15 @@ public class ArticleService {
 
         articleMapper.insert(article);
 
-        // 保存标签关联
-        if (request.getTagIds() != null && !request.getTagIds().isEmpty()) {
-            for (Long tagId : request.getTagIds()) {
-                ArticleTag articleTag = new ArticleTag();
-                articleTag.setArticleId(article.getId());
-                articleTag.setTagId(tagId);
-                articleTagMapper.insert(articleTag);
-            }
+        // 保存标签关联（一条多行 INSERT）
+        Set<Long> tagIds = distinctTagIds(request.getTagIds());
+        if (!tagIds.isEmpty()) {
+            articleTagMapper.insertTags(article.getId(), tagIds);
+        }
+
+        if (publishStatus == Constants.ARTICLE_STATUS_PUBLISHED) {
+            updateTagCounts(tagIds, Set.of());
+            articleListCache.invalidate(Collections.singletonList(article.getCategoryId()), tagIds);
         }
 
         log.info("用户 {} 创建文章: {}, 审核状态: {}", userId, article.getTitle(), article.getReviewStatus());
@@ -202,6 +196,10 @@ public class ArticleService {
             throw new BusinessException(403, "无权限修改此文章");
         }
 
+        // 修改前的分类、标签和发布状态，用于使两边的列表缓存都失效
+        Long oldCategoryId = article.getCategoryId();
+        boolean wasPublished = article.getIsPublished() == Constants.ARTICLE_STATUS_PUBLISHED;
+
         // 更新文章
         article.setTitle(request.getTitle());
         article.setSummary(request.getSummary());
@@ -213,28 +211,62 @@ public class ArticleService {
         Integer publishStatus = Boolean.TRUE.equals(request.getIsPublished())
             ? Constants.ARTICLE_STATUS_PUBLISHED
             : Constants.ARTICLE_STATUS_DRAFT;
-        article.setIsPublished(publishStatus);
+        boolean published = publishStatus == Constants.ARTICLE_STATUS_PUBLISHED;
 
-        if (publishStatus == Constants.ARTICLE_STATUS_PUBLISHED
-                && article.getPublishedAt() == null) {
+        if (published && article.getPublishedAt() == null) {
             article.setPublishedAt(LocalDateTime.now());
         }
 
+        // 发布状态和计数不随整行写回（null 字段不更新）：发布状态改为单独的条件更新，
+        // 计数由点赞、收藏、浏览各自的单条 UPDATE 维护，写回读到的旧值会覆盖并发的变化
+        article.setIsPublished(null);
+        article.setViewCount(null);
+        article.setLikeCount(null);
+        article.setCommentCount(null);
+        article.setFavoriteCount(null);
         articleMapper.updateById(article);
+        article.setIsPublished(publishStatus);
 
-        // 更新标签关联
-        articleTagMapper.delete(
-                new LambdaQueryWrapper<ArticleTag>()
-                        .eq(ArticleTag::getArticleId, id)
-        );
+        // 状态变化只有改到行时才由本请求生效；没改到说明并发的发布/下架已把状态改成目标值，
+        // 该请求已按旧标签调整过文章数，这里按"修改前已是目标状态"处理
+        boolean publishedBefore = wasPublished;
+        if (published != wasPublished && articleMapper.updatePublishStatus(id,
+                wasPublished ? Constants.ARTICLE_STATUS_PUBLISHED : Constants.ARTICLE_STATUS_DRAFT,
+                publishStatus, null) != 1) {
+            publishedBefore = published;
+        }
+
+        // 更新标签关联：只删除去掉的、插入新增的，未变化的关联不动
+        Set<Long> oldTagIds = new HashSet<>(tagIdsOf(id));
+        Set<Long> newTagIds = distinctTagIds(request.getTagIds());
+        Set<Long> removed = new HashSet<>(oldTagIds);
+        removed.removeAll(newTagIds);
+        Set<Long> added = new LinkedHashSet<>(newTagIds);
+        added.removeAll(oldTagIds);
+        if (!removed.isEmpty()) {
+            articleTagMapper.delete(
+                    new LambdaQueryWrapper<ArticleTag>()
+                            .eq(ArticleTag::getArticleId, id)
+                            .in(ArticleTag::getTagId, removed)
+            );
+        }
+        if (!added.isEmpty()) {
+            articleTagMapper.insertTags(id, added);
+        }
 
-        if (request.getTagIds() != null && !request.getTagIds().isEmpty()) {
-            for (Long tagId : request.getTagIds()) {
-                ArticleTag articleTag = new ArticleTag();
-                articleTag.setArticleId(id);
-                articleTag.setTagId(tagId);
-                articleTagMapper.insert(articleTag);
-            }
+        // 标签文章数只统计已发布文章：按修改前后的发布状态决定增减哪些标签
+        if (publishedBefore && published) {
+            updateTagCounts(added, removed);
+        } else if (publishedBefore) {
+            updateTagCounts(Set.of(), oldTagIds);
+        } else if (published) {
+            updateTagCounts(newTagIds, Set.of());
+        }
+
+        if (wasPublished || published) {
+            Set<Long> tagIds = new HashSet<>(oldTagIds);
+            tagIds.addAll(newTagIds);
+            articleListCache.invalidate(Arrays.asList(oldCategoryId, article.getCategoryId()), tagIds);
         }
 
         log.info("用户 {} 更新文章: {}", userId, article.getTitle());
@@ -254,98 +286,87 @@ public class ArticleService {
             throw new BusinessException(403, "无权限删除此文章");
         }
 
+        // 标签关联随文章级联删除，先读出来
+        List<Long> tagIds = tagIdsOf(id);
         articleMapper.deleteById(id);
+        if (article.getIsPublished() == Constants.ARTICLE_STATUS_PUBLISHED) {
+            updateTagCounts(Set.of(), tagIds);
+            articleListCache.invalidate(Collections.singletonList(article.getCategoryId()), tagIds);
+        }
         log.info("用户 {} 删除文章: {}", userId, article.getTitle());
     }
 
-    /**
-     * 转换为列表响应 DTO
-     */
-    private ArticleListResponse convertToListResponse(Article article) {
-        ArticleListResponse response = new ArticleListResponse();
-        response.setId(article.getId());
-        response.setTitle(article.getTitle());
-        response.setSummary(article.getSummary());
-        response.setCoverImage(article.getCoverImage());
-        response.setViewCount(article.getViewCount());
-        response.setLikeCount(article.getLikeCount());
-        response.setCommentCount(article.getCommentCount());
-        response.setIsTop(article.getIsTop() == 1);
-        response.setIsFeatured(article.getIsFeatured() == 1);
-        response.setPublishedAt(article.getPublishedAt());
+    private List<Long> tagIdsOf(Long articleId) {
+        return articleTagMapper.selectList(
+                new LambdaQueryWrapper<ArticleTag>()
+                        .eq(ArticleTag::getArticleId, articleId)
+        ).stream().map(ArticleTag::getTagId).collect(Collectors.toList());
+    }
 
-        // 作者信息
-        User user = userMapper.selectById(article.getUserId());
-        if (user != null) {
-            response.setAuthorName(user.getNickname());
-            response.setAuthorAvatar(user.getAvatar());
+    private static Set<Long> distinctTagIds(List<Long> tagIds) {
+        Set<Long> distinct = new LinkedHashSet<>();
+        if (tagIds != null) {
+            tagIds.stream().filter(tagId -> tagId != null).forEach(distinct::add);
         }
+        return distinct;
+    }
 
-        // 分类信息
-        if (article.getCategoryId() != null) {
-            Category category = categoryMapper.selectById(article.getCategoryId());
-            if (category != null) {
-                response.setCategoryName(category.getName());
-            }
+    /**
+     * 调整标签的已发布文章数；标签列表按文章数排序，提交后重新加载字典，
+     * 标签接口缓存由字典在新快照替换后失效（{@link DictionaryCache}）
+     */
+    private void updateTagCounts(Collection<Long> increments, Collection<Long> decrements) {
+        if (increments.isEmpty() && decrements.isEmpty()) {
+            return;
+        }
+        if (!increments.isEmpty()) {
+            tagMapper.adjustArticleCount(increments, 1);
         }
+        if (!decrements.isEmpty()) {
+            tagMapper.adjustArticleCount(decrements, -1);
+        }
+        invalidationBus.publish(DictionaryCache.NAME);
+    }
 
-        // 标签信息
-        List<ArticleTag> articleTags = articleTagMapper.selectList(
-                new LambdaQueryWrapper<ArticleTag>()
-                        .eq(ArticleTag::getArticleId, article.getId())
-        );
-        List<String> tagNames = articleTags.stream()
-                .map(at -> {
-                    Tag tag = tagMapper.selectById(at.getTagId());
-                    return tag != null ? tag.getName() : null;
-                })
-                .filter(name -> name != null)
+    /**
+     * 批量转换为列表响应 DTO：先一次读取本页所有作者，逐篇转换时直接命中缓存
+     */
+    private List<ArticleListResponse> convertToListResponses(List<Article> articles) {
+        userSummaryCache.getAll(articles.stream().map(Article::getUserId).toList());
+        return articles.stream()
+                .map(this::convertToListResponse)
                 .collect(Collectors.toList());
-        response.setTagNames(tagNames);
-
-        return response;
     }
 
     /**
-     * 转换为详情响应 DTO
+     * 转换为列表响应 DTO
      */
-    private ArticleDetailResponse convertToDetailResponse(Article article) {
-        ArticleDetailResponse response = new ArticleDetailResponse();
+    private ArticleListResponse convertToListResponse(Article article) {
+        ArticleListResponse response = new ArticleListResponse();
         response.setId(article.getId());
         response.setTitle(article.getTitle());
         response.setSummary(article.getSummary());
-        response.setContent(article.getContent());
-        response.setContentHtml(article.getContentHtml());
         response.setCoverImage(article.getCoverImage());
+        response.setCoverImageSrcset(imageVariantService.getSrcset(article.getCoverImage()));
         response.setViewCount(article.getViewCount());
         response.setLikeCount(article.getLikeCount());
         response.setCommentCount(article.getCommentCount());
-        response.setFavoriteCount(article.getFavoriteCount());
-        response.setCreatedAt(article.getCreatedAt());
-        response.setUpdatedAt(article.getUpdatedAt());
+        response.setIsTop(article.getIsTop() == 1);
+        response.setIsFeatured(article.getIsFeatured() == 1);
         response.setPublishedAt(article.getPublishedAt());
 
         // 作者信息
-        User user = userMapper.selectById(article.getUserId());
+        UserSummary user = userSummaryCache.get(article.getUserId());
         if (user != null) {
-            ArticleDetailResponse.AuthorInfo authorInfo = new ArticleDetailResponse.AuthorInfo();
-            authorInfo.setId(user.getId());
-            authorInfo.setUsername(user.getUsername());
-            authorInfo.setNickname(user.getNickname());
-            authorInfo.setAvatar(user.getAvatar());
-            authorInfo.setBio(user.getBio());
-            response.setAuthor(authorInfo);
+            response.setAuthorName(user.nickname());
+            response.setAuthorAvatar(user.avatar());
         }
 
         // 分类信息
         if (article.getCategoryId() != null) {
-            Category category = categoryMapper.selectById(article.getCategoryId());
+            DictionaryCache.CategoryEntry category = dictionaryCache.category(article.getCategoryId());
             if (category != null) {
-                ArticleDetailResponse.CategoryInfo categoryInfo = new ArticleDetailResponse.CategoryInfo();
-                categoryInfo.setId(category.getId());
-                categoryInfo.setName(category.getName());
-                categoryInfo.setIcon(category.getIcon());
-                response.setCategory(categoryInfo);
+                response.setCategoryName(category.name());
             }
         }
 
@@ -354,21 +375,14 @@ public class ArticleService {
                 new LambdaQueryWrapper<ArticleTag>()
                         .eq(ArticleTag::getArticleId, article.getId())
         );
-        List<ArticleDetailResponse.TagInfo> tags = articleTags.stream()
+        List<String> tagNames = articleTags.stream()
                 .map(at -> {
-                    Tag tag = tagMapper.selectById(at.getTagId());
-                    if (tag != null) {
-                        ArticleDetailResponse.TagInfo tagInfo = new ArticleDetailResponse.TagInfo();
-                        tagInfo.setId(tag.getId());
-                        tagInfo.setName(tag.getName());
-                        tagInfo.setColor(tag.getColor());
-                        return tagInfo;
-                    }
-                    return null;
+                    DictionaryCache.TagEntry tag = dictionaryCache.tag(at.getTagId());
+                    return tag != null ? tag.name() : null;
                 })
-                .filter(tag -> tag != null)
+                .filter(name -> name != null)
                 .collect(Collectors.toList());
-        response.setTags(tags);
+        response.setTagNames(tagNames);
 
         return response;
     }
@@ -401,8 +415,7 @@ public class ArticleService {
         likeMapper.insert(like);
 
         // 增加点赞数
-        article.setLikeCount(article.getLikeCount() + 1);
-        articleMapper.updateById(article);
+        articleMapper.adjustLikeCount(articleId, 1);
     }
 
     /**
@@ -424,8 +437,7 @@ public class ArticleService {
         int deleted = likeMapper.delete(wrapper);
         if (deleted > 0) {
             // 减少点赞数
-            article.setLikeCount(Math.max(0, article.getLikeCount() - 1));
-            articleMapper.updateById(article);
+            articleMapper.adjustLikeCount(articleId, -1);
         }
     }
 
@@ -455,8 +467,7 @@ public class ArticleService {
         favoriteMapper.insert(favorite);
 
         // 增加收藏数
-        article.setFavoriteCount(article.getFavoriteCount() + 1);
-        articleMapper.updateById(article);
+        articleMapper.adjustFavoriteCount(articleId, 1);
     }
 
     /**
@@ -477,8 +488,7 @@ public class ArticleService {
         int deleted = favoriteMapper.delete(wrapper);
         if (deleted > 0) {
             // 减少收藏数
-            article.setFavoriteCount(Math.max(0, article.getFavoriteCount() - 1));
-            articleMapper.updateById(article);
+            articleMapper.adjustFavoriteCount(articleId, -1);
         }
     }
 
@@ -500,9 +510,14 @@ public class ArticleService {
             throw new BusinessException("文章已发布");
         }
 
-        article.setIsPublished(Constants.ARTICLE_STATUS_PUBLISHED);
-        article.setPublishedAt(LocalDateTime.now());
-        articleMapper.updateById(article);
+        // 条件更新：并发发布时只有一个请求改到行，标签文章数只增加一次
+        if (articleMapper.updatePublishStatus(articleId, Constants.ARTICLE_STATUS_DRAFT,
+                Constants.ARTICLE_STATUS_PUBLISHED, LocalDateTime.now()) != 1) {
+            throw new BusinessException("文章已发布");
+        }
+        List<Long> tagIds = tagIdsOf(articleId);
+        updateTagCounts(tagIds, Set.of());
+        articleListCache.invalidate(Collections.singletonList(article.getCategoryId()), tagIds);
     }
 
     /**
@@ -519,13 +534,20 @@ public class ArticleService {
             throw new BusinessException(403, "无权限下架此文章");
         }
 
-        article.setIsPublished(Constants.ARTICLE_STATUS_DRAFT);
-        articleMapper.updateById(article);
+        // 条件更新：只有真正把已发布改为草稿的请求才减少标签文章数，重复或并发下架不会重复扣减
+        boolean unpublished = articleMapper.updatePublishStatus(articleId, Constants.ARTICLE_STATUS_PUBLISHED,
+                Constants.ARTICLE_STATUS_DRAFT, null) == 1;
+        List<Long> tagIds = tagIdsOf(articleId);
+        if (unpublished) {
+            updateTagCounts(Set.of(), tagIds);
+        }
+        articleListCache.invalidate(Collections.singletonList(article.getCategoryId()), tagIds);
     }
 
     /**
      * 获取用户的文章列表
      */
+    @ReadOnly
     public PageResult<ArticleListResponse> getUserArticles(Long userId, int page, int size, String status) {
         LambdaQueryWrapper<Article> wrapper = new LambdaQueryWrapper<>();
         wrapper.eq(Article::getUserId, userId);
@@ -540,9 +562,7 @@ public class ArticleService {
 
         Page<Article> articlePage = articleMapper.selectPage(new Page<>(page, size), wrapper);
 
-        List<ArticleListResponse> records = articlePage.getRecords().stream()
-                .map(this::convertToListResponse)
-                .collect(Collectors.toList());
+        List<ArticleListResponse> records = convertToListResponses(articlePage.getRecords());
 
         return new PageResult<>(
                 records,
@@ -555,6 +575,7 @@ public class ArticleService {
     /**
      * 获取用户的收藏列表
      */
+    @ReadOnly
     public PageResult<ArticleListResponse> getUserFavorites(Long userId, int page, int size) {
         // 查询用户收藏的文章ID列表
         Page<Favorite> favoritePage = favoriteMapper.selectPage(
@@ -564,13 +585,11 @@ public class ArticleService {
                         .orderByDesc(Favorite::getCreatedAt)
         );
 
-        List<ArticleListResponse> records = favoritePage.getRecords().stream()
-                .map(favorite -> {
-                    Article article = articleMapper.selectById(favorite.getArticleId());
-                    return article != null ? convertToListResponse(article) : null;
-                })
-                .filter(response -> response != null)
+        List<Article> articles = favoritePage.getRecords().stream()
+                .map(favorite -> articleMapper.selectById(favorite.getArticleId()))
+                .filter(article -> article != null)
                 .collect(Collectors.toList());
+        List<ArticleListResponse> records = convertToListResponses(articles);
 
         return new PageResult<>(
                 records,
@@ -583,6 +602,7 @@ public class ArticleService {
     /**
      * 获取待审核文章列表（仅管理员）
      */
+    @ReadOnly
     public PageResult<ArticleListResponse> getPendingArticles(int page, int size) {
         LambdaQueryWrapper<Article> wrapper = new LambdaQueryWrapper<>();
         wrapper.eq(Article::getReviewStatus, "PENDING")
@@ -590,9 +610,7 @@ public class ArticleService {
 
         Page<Article> articlePage = articleMapper.selectPage(new Page<>(page, size), wrapper);
 
-        List<ArticleListResponse> records = articlePage.getRecords().stream()
-                .map(this::convertToListResponse)
-                .collect(Collectors.toList());
+        List<ArticleListResponse> records = convertToListResponses(articlePage.getRecords());
 
         return new PageResult<>(
                 records,
@@ -612,16 +630,11 @@ public class ArticleService {
             throw new ResourceNotFoundException("文章", articleId);
         }
 
-        if (!"PENDING".equals(article.getReviewStatus())) {
+        // 条件更新：并发审核只有一个生效，也不会把发布状态、计数等字段按读到的旧值写回
+        if (articleMapper.updateReview(articleId, "APPROVED", reviewerId, note) != 1) {
             throw new BusinessException("文章不在待审核状态");
         }
 
-        article.setReviewStatus("APPROVED");
-        article.setReviewerId(reviewerId);
-        article.setReviewedAt(LocalDateTime.now());
-        article.setReviewNote(note);
-        articleMapper.updateById(article);
-
         log.info("管理员 {} 批准了文章: {}", reviewerId, article.getTitle());
     }
 
@@ -635,16 +648,10 @@ public class ArticleService {
             throw new ResourceNotFoundException("文章", articleId);
         }
 
-        if (!"PENDING".equals(article.getReviewStatus())) {
+        if (articleMapper.updateReview(articleId, "REJECTED", reviewerId, note) != 1) {
             throw new BusinessException("文章不在待审核状态");
         }
 
-        article.setReviewStatus("REJECTED");
-        article.setReviewerId(reviewerId);
-        article.setReviewedAt(LocalDateTime.now());
-        article.setReviewNote(note);
-        articleMapper.updateById(article);
-
         log.info("管理员 {} 拒绝了文章: {}, 原因: {}", reviewerId, article.getTitle(), note);
     }
 }
\ No newline at end of file
@@ -28,6 +28,7 @@ public class AuthService {
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
+    private final UserSummaryCache userSummaryCache;
 
     /**
      * 用户登录
@@ -137,7 +138,7 @@ public class AuthService {
         String role = jwtTokenProvider.getRoleFromToken(refreshToken);
 
         // 查询用户（确保用户仍然存在）
-        User user = userMapper.selectById(userId);
+        UserSummary user = userSummaryCache.get(userId);
         if (user == null) {
             throw new BusinessException(401, "用户不存在");
         }
@@ -149,12 +150,12 @@ public class AuthService {
                 .accessToken(newAccessToken)
                 .refreshToken(refreshToken) // 可以继续使用旧的 Refresh Token
                 .user(LoginResponse.UserInfo.builder()
-                        .id(user.getId())
-                        .username(user.getUsername())
-                        .email(user.getEmail())
-                        .nickname(user.getNickname())
-                        .avatar(user.getAvatar())
-                        .role(user.getRole())
+                        .id(user.id())
+                        .username(user.username())
+                        .email(user.email())
+                        .nickname(user.nickname())
+                        .avatar(user.avatar())
+                        .role(user.role())
                         .build())
                 .build();
     }
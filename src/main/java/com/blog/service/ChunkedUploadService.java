@@ -0,0 +1,323 @@
+package com.blog.service;
+
+import com.blog.dto.request.ChunkedUploadInitRequest;
+import com.blog.dto.response.ChunkedUploadResponse;
+import com.blog.entity.FileObject;
+import com.blog.exception.BusinessException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分片上传服务（断点续传）
+ * 上传状态保存在 Redis（元数据 Hash + 已收分片位图），分片按偏移量直接写入暂存文件（收到第一个分片时创建，
+ * 不预分配，未写入的区域不占磁盘）。每个用户进行中的会话数有上限，记录在按过期时间排序的 ZSet 中。
+ * 暂存文件在接收请求的节点本地，多节点部署时需要按 uploadId 保持会话粘滞或共享暂存目录。
+ * 开始完成后会话标记为 completing，不再接受分片
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChunkedUploadService {
+
+    private static final String KEY_PREFIX = "upload:chunked:";
+    private static final String CHUNKS_SUFFIX = ":chunks";
+    private static final String USER_SESSIONS_PREFIX = KEY_PREFIX + "user:";
+    private static final String STAGING_PREFIX = "chunked-";
+    private static final String STAGING_SUFFIX = ".part";
+    // 元数据字段：已开始完成
+    private static final String COMPLETING = "completing";
+
+    // 清掉已过期的会话后检查数量，未超限时登记：KEYS[1]=用户会话 ZSet，
+    // ARGV=当前时间、上限、本会话过期时间、uploadId、ZSet 过期毫秒数；返回 1 表示登记成功
+    private static final RedisScript<Long> ACQUIRE_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('zremrangebyscore', KEYS[1], '-inf', ARGV[1]) "
+                    + "if redis.call('zcard', KEYS[1]) >= tonumber(ARGV[2]) then return 0 end "
+                    + "redis.call('zadd', KEYS[1], ARGV[3], ARGV[4]) "
+                    + "redis.call('pexpire', KEYS[1], ARGV[5]) "
+                    + "return 1",
+            Long.class);
+
+    // 上传会话有效期（每次上传分片后续期）
+    private static final long EXPIRE_HOURS = 24;
+
+    private static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+    private static final int MIN_CHUNK_SIZE = 256 * 1024;
+    private static final int MAX_CHUNK_SIZE = 8 * 1024 * 1024;
+
+    private final StringRedisTemplate redisTemplate;
+    private final FileStorageService fileStorageService;
+
+    // 分片上传的文件大小上限（默认 50MB）
+    @Value("${blog.upload.chunked.max-size:52428800}")
+    private long maxFileSize;
+
+    // 每个用户同时进行中的分片上传数
+    @Value("${blog.upload.chunked.max-sessions:5}")
+    private int maxSessions;
+
+    /**
+     * 初始化上传：分配 uploadId 并登记会话，暂存文件在收到第一个分片时创建
+     */
+    public ChunkedUploadResponse init(ChunkedUploadInitRequest request, Long userId) throws IOException {
+        long totalSize = request.getTotalSize();
+        if (totalSize > maxFileSize) {
+            throw new BusinessException("文件大小不能超过" + (maxFileSize / 1024 / 1024) + "MB");
+        }
+
+        int chunkSize = request.getChunkSize() == null
+                ? DEFAULT_CHUNK_SIZE
+                : Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE, request.getChunkSize()));
+        int chunkCount = (int) ((totalSize + chunkSize - 1) / chunkSize);
+        String uploadId = UUID.randomUUID().toString().replace("-", "");
+        acquireSession(uploadId, userId);
+
+        Map<String, String> meta = new HashMap<>();
+        meta.put("userId", String.valueOf(userId));
+        meta.put("type", request.getType());
+        meta.put("totalSize", String.valueOf(totalSize));
+        meta.put("chunkSize", String.valueOf(chunkSize));
+        meta.put("chunkCount", String.valueOf(chunkCount));
+        redisTemplate.opsForHash().putAll(metaKey(uploadId), meta);
+        redisTemplate.expire(metaKey(uploadId), EXPIRE_HOURS, TimeUnit.HOURS);
+
+        log.info("用户 {} 初始化分片上传: {}, 大小 {}, 分片 {} x {}", userId, uploadId, totalSize, chunkCount, chunkSize);
+        return buildStatus(uploadId, new UploadMeta(userId, request.getType(), totalSize, chunkSize, chunkCount,
+                false));
+    }
+
+    /**
+     * 上传分片：校验长度和 SHA-256 后按偏移量写入，重复上传同一分片是幂等的
+     */
+    public ChunkedUploadResponse uploadChunk(String uploadId, int index, InputStream body,
+                                             String checksum, Long userId) throws IOException {
+        UploadMeta meta = loadMeta(uploadId, userId);
+        if (meta.completing()) {
+            throw new BusinessException("上传正在完成，不能再上传分片");
+        }
+        if (index < 0 || index >= meta.chunkCount()) {
+            throw new BusinessException("分片序号超出范围: " + index);
+        }
+        if (checksum == null || checksum.isBlank()) {
+            throw new BusinessException("缺少分片校验值");
+        }
+
+        long position = (long) index * meta.chunkSize();
+        int length = (int) Math.min(meta.chunkSize(), meta.totalSize() - position);
+        byte[] data = body.readNBytes(length);
+        if (data.length != length || body.read() != -1) {
+            throw new BusinessException("分片大小不正确，应为 " + length + " 字节");
+        }
+        if (!HexFormat.of().formatHex(newDigest().digest(data)).equalsIgnoreCase(checksum.trim())) {
+            throw new BusinessException("分片校验失败，请重新上传该分片");
+        }
+
+        try (FileChannel channel = FileChannel.open(stagingFile(uploadId),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            long offset = position;
+            while (buffer.hasRemaining()) {
+                offset += channel.write(buffer, offset);
+            }
+        }
+
+        redisTemplate.opsForValue().setBit(chunksKey(uploadId), index, true);
+        redisTemplate.expire(metaKey(uploadId), EXPIRE_HOURS, TimeUnit.HOURS);
+        redisTemplate.expire(chunksKey(uploadId), EXPIRE_HOURS, TimeUnit.HOURS);
+        renewSession(uploadId, userId);
+
+        return buildStatus(uploadId, meta);
+    }
+
+    /**
+     * 查询上传进度
+     */
+    public ChunkedUploadResponse getStatus(String uploadId, Long userId) {
+        return buildStatus(uploadId, loadMeta(uploadId, userId));
+    }
+
+    /**
+     * 完成上传：校验分片齐全后标记为 completing（之后的分片请求被拒绝），
+     * 再把暂存文件读一遍保存为内容寻址文件。类型识别、哈希和写入存储的是同一次读取的字节，
+     * 标记之前已在写入的分片也不会造成内容与哈希、类型不一致
+     */
+    public FileObject complete(String uploadId, Long userId) throws IOException {
+        UploadMeta meta = loadMeta(uploadId, userId);
+        ChunkedUploadResponse status = buildStatus(uploadId, meta);
+        if (!status.getMissingChunks().isEmpty()) {
+            throw new BusinessException("还有 " + status.getMissingChunks().size() + " 个分片未上传");
+        }
+        if (!Boolean.TRUE.equals(redisTemplate.opsForHash().putIfAbsent(metaKey(uploadId), COMPLETING, "1"))) {
+            throw new BusinessException("上传正在完成，请勿重复提交");
+        }
+
+        FileObject fileObject;
+        try (InputStream in = Files.newInputStream(stagingFile(uploadId))) {
+            fileObject = fileStorageService.storeImage(in, meta.totalSize());
+        } catch (BusinessException e) {
+            // 不是图片或大小不符，会话作废
+            cleanup(uploadId, userId);
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            // 存储暂时不可用等，允许重试
+            redisTemplate.opsForHash().delete(metaKey(uploadId), COMPLETING);
+            throw e;
+        }
+        cleanup(uploadId, userId);
+
+        log.info("用户 {} 完成分片上传: {} -> {}", userId, uploadId, fileObject.getHash());
+        return fileObject;
+    }
+
+    /**
+     * 取消上传
+     */
+    public void abort(String uploadId, Long userId) throws IOException {
+        loadMeta(uploadId, userId);
+        cleanup(uploadId, userId);
+    }
+
+    /**
+     * 获取上传类型（cover、avatar、image）
+     */
+    public String getType(String uploadId, Long userId) {
+        return loadMeta(uploadId, userId).type();
+    }
+
+    /**
+     * 暂存文件是否已无对应的上传会话（会话过期、已完成或已取消），供上传文件回收清理
+     */
+    public boolean isAbandoned(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith(STAGING_PREFIX) || !name.endsWith(STAGING_SUFFIX)) {
+            return false;
+        }
+        String uploadId = name.substring(STAGING_PREFIX.length(), name.length() - STAGING_SUFFIX.length());
+        return !Boolean.TRUE.equals(redisTemplate.hasKey(metaKey(uploadId)));
+    }
+
+    /**
+     * 登记进行中的会话，超过每用户上限时拒绝（过期的会话不计入）
+     */
+    private void acquireSession(String uploadId, Long userId) {
+        long now = System.currentTimeMillis();
+        long ttl = TimeUnit.HOURS.toMillis(EXPIRE_HOURS);
+        Long acquired = redisTemplate.execute(ACQUIRE_SCRIPT, List.of(sessionsKey(userId)),
+                String.valueOf(now), String.valueOf(maxSessions), String.valueOf(now + ttl), uploadId,
+                String.valueOf(ttl));
+        if (acquired == null || acquired == 0) {
+            throw new BusinessException("进行中的上传过多（最多 " + maxSessions + " 个），请完成或取消后再试");
+        }
+    }
+
+    private void renewSession(String uploadId, Long userId) {
+        long ttl = TimeUnit.HOURS.toMillis(EXPIRE_HOURS);
+        redisTemplate.opsForZSet().add(sessionsKey(userId), uploadId, System.currentTimeMillis() + ttl);
+        redisTemplate.expire(sessionsKey(userId), ttl, TimeUnit.MILLISECONDS);
+    }
+
+    private UploadMeta loadMeta(String uploadId, Long userId) {
+        Map<Object, Object> meta = redisTemplate.opsForHash().entries(metaKey(uploadId));
+        if (meta.isEmpty()) {
+            throw new BusinessException(404, "上传任务不存在或已过期");
+        }
+        Long owner = Long.valueOf((String) meta.get("userId"));
+        if (!owner.equals(userId)) {
+            throw new BusinessException(403, "无权访问此上传任务");
+        }
+        return new UploadMeta(
+                owner,
+                (String) meta.get("type"),
+                Long.parseLong((String) meta.get("totalSize")),
+                Integer.parseInt((String) meta.get("chunkSize")),
+                Integer.parseInt((String) meta.get("chunkCount")),
+                meta.containsKey(COMPLETING)
+        );
+    }
+
+    /**
+     * 根据 Redis 位图计算已上传和缺失的分片（位图第 0 位是首字节最高位）
+     */
+    private ChunkedUploadResponse buildStatus(String uploadId, UploadMeta meta) {
+        byte[] bitmap = redisTemplate.execute((RedisCallback<byte[]>) connection ->
+                connection.stringCommands().get(chunksKey(uploadId).getBytes(StandardCharsets.UTF_8)));
+
+        List<Integer> missing = new ArrayList<>();
+        for (int i = 0; i < meta.chunkCount(); i++) {
+            boolean received = bitmap != null && i / 8 < bitmap.length
+                    && ((bitmap[i / 8] >> (7 - i % 8)) & 1) == 1;
+            if (!received) {
+                missing.add(i);
+            }
+        }
+
+        ChunkedUploadResponse response = new ChunkedUploadResponse();
+        response.setUploadId(uploadId);
+        response.setTotalSize(meta.totalSize());
+        response.setChunkSize(meta.chunkSize());
+        response.setChunkCount(meta.chunkCount());
+        response.setUploadedCount(meta.chunkCount() - missing.size());
+        response.setMissingChunks(missing);
+        return response;
+    }
+
+    private void cleanup(String uploadId, Long userId) throws IOException {
+        redisTemplate.delete(List.of(metaKey(uploadId), chunksKey(uploadId)));
+        redisTemplate.opsForZSet().remove(sessionsKey(userId), uploadId);
+        Files.deleteIfExists(stagingFile(uploadId));
+    }
+
+    private Path stagingFile(String uploadId) throws IOException {
+        return fileStorageService.getTempDir().resolve(STAGING_PREFIX + uploadId + STAGING_SUFFIX);
+    }
+
+    private static String metaKey(String uploadId) {
+        return KEY_PREFIX + uploadId;
+    }
+
+    private static String sessionsKey(Long userId) {
+        return USER_SESSIONS_PREFIX + userId;
+    }
+
+    private static String chunksKey(String uploadId) {
+        return KEY_PREFIX + uploadId + CHUNKS_SUFFIX;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    }
+
+    /**
+     * 上传任务元数据
+     */
+    private record UploadMeta(Long userId, String type, long totalSize, int chunkSize, int chunkCount,
+                              boolean completing) {
+    }
+}
@@ -3,6 +3,7 @@ package com.blog.service;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.blog.common.PageResult;
+import com.blog.datasource.ReadOnly;
 import com.blog.entity.Comment;
 import com.blog.entity.Like;
 import com.blog.exception.BusinessException;
@@ -25,6 +26,7 @@ public class CommentService {
     /**
      * 获取评论列表
      */
+    @ReadOnly
     public PageResult<Comment> getCommentList(Long articleId, int page, int size) {
         Page<Comment> pageObj = new Page<>(page, size);
         LambdaQueryWrapper<Comment> wrapper = new LambdaQueryWrapper<>();
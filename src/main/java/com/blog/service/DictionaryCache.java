@@ -0,0 +1,316 @@
+package com.blog.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.blog.cache.CacheNamespace;
+import com.blog.cache.CacheNamespaces;
+import com.blog.cache.LocalCache;
+import com.blog.entity.Category;
+import com.blog.entity.Tag;
+import com.blog.mapper.CategoryMapper;
+import com.blog.mapper.TagMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.ToLongFunction;
+
+/**
+ * 分类和标签字典（本机快照）
+ * 两张表很小且很少变化，整体读入一个不可变快照，以 long 主键的有序数组二分查找，读取不访问数据库。
+ * 标签自动补全的前缀树（{@link TagTrie}）属于同一个快照，随标签一起重建。
+ * 变化后（{@link #NAME} 失效消息）或定时整体重新加载，构建好新快照后原子替换引用，读者不加锁。
+ * 失效消息只标记快照已过期，由 {@link #reloadIfStale} 在调度线程上合并重新加载：
+ * 不在消息监听线程上查询数据库，连续的标签文章数变化也只触发一次重新加载。
+ * 分类、标签接口的响应缓存（CATEGORY、TAG 命名空间）在新快照替换之后才失效，
+ * 替换之前失效的话，期间用旧快照生成的响应会以新版本缓存
+ */
+@Slf4j
+@Component
+public class DictionaryCache implements LocalCache, SmartInitializingSingleton {
+
+    public static final String NAME = "dictionary";
+
+    private final CategoryMapper categoryMapper;
+    private final TagMapper tagMapper;
+    private final CacheNamespaces cacheNamespaces;
+    private final int autocompleteSize;
+
+    private volatile Snapshot snapshot;
+
+    // 收到失效消息后置位，由 reloadIfStale 清除
+    private final AtomicBoolean stale = new AtomicBoolean();
+
+    public DictionaryCache(CategoryMapper categoryMapper, TagMapper tagMapper, CacheNamespaces cacheNamespaces,
+                           @Value("${blog.dictionary.autocomplete-size:10}") int autocompleteSize) {
+        this.categoryMapper = categoryMapper;
+        this.tagMapper = tagMapper;
+        this.cacheNamespaces = cacheNamespaces;
+        this.autocompleteSize = autocompleteSize;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            reload();
+        } catch (Exception e) {
+            // 数据库暂不可用时在首次读取时加载
+            log.warn("加载分类标签字典失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 分类，不存在时返回 null
+     */
+    public CategoryEntry category(Long id) {
+        return id == null ? null : snapshot().categories.get(id);
+    }
+
+    /**
+     * 标签，不存在时返回 null
+     */
+    public TagEntry tag(Long id) {
+        return id == null ? null : snapshot().tags.get(id);
+    }
+
+    /**
+     * 按名称查找分类（忽略大小写，与表的唯一约束一致），不存在时返回 null
+     */
+    public CategoryEntry categoryByName(String name) {
+        return name == null ? null : snapshot().categoryNames.get(nameKey(name));
+    }
+
+    /**
+     * 按名称查找标签（忽略大小写），不存在时返回 null
+     */
+    public TagEntry tagByName(String name) {
+        return name == null ? null : snapshot().tagNames.get(nameKey(name));
+    }
+
+    /**
+     * 名称查找使用的 key：去掉首尾空白并转小写
+     */
+    public static String nameKey(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 所有分类，按排序值升序
+     */
+    public List<CategoryEntry> categories() {
+        return snapshot().categoryList;
+    }
+
+    /**
+     * 所有标签，按文章数降序
+     */
+    public List<TagEntry> tags() {
+        return snapshot().tagList;
+    }
+
+    /**
+     * 标签自动补全：名称子串、全拼或拼音首字母前缀匹配，按文章数降序
+     */
+    public List<TagEntry> searchTags(String keyword) {
+        Snapshot current = snapshot();
+        long[] ids = current.tagTrie.search(PinyinKeys.normalize(keyword));
+        List<TagEntry> result = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            result.add(current.tags.get(id));
+        }
+        return result;
+    }
+
+    @Scheduled(fixedDelayString = "${blog.dictionary.refresh-ms:60000}",
+            initialDelayString = "${blog.dictionary.refresh-ms:60000}")
+    public void refresh() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.warn("刷新分类标签字典失败，继续使用旧快照: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 合并期间收到的失效消息，快照已过期时重新加载一次；失败时保留标记，下次重试
+     */
+    @Scheduled(fixedDelayString = "${blog.dictionary.reload-delay-ms:500}")
+    public void reloadIfStale() {
+        if (!stale.getAndSet(false)) {
+            return;
+        }
+        try {
+            reload();
+        } catch (Exception e) {
+            stale.set(true);
+            log.warn("重新加载分类标签字典失败，稍后重试: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    /**
+     * 表很小，任何变化都整体重新加载；这里只做标记，在消息监听线程上不访问数据库
+     */
+    @Override
+    public void invalidate(Collection<String> keys) {
+        stale.set(true);
+    }
+
+    @Override
+    public void invalidateAll() {
+        stale.set(true);
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = reload();
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 串行执行：并发的重新加载中先查询、后替换的一次会用旧数据覆盖新快照
+     */
+    private synchronized Snapshot reload() {
+        List<CategoryEntry> categories = categoryMapper.selectList(
+                new LambdaQueryWrapper<Category>().orderByAsc(Category::getSortOrder)
+        ).stream().map(CategoryEntry::of).toList();
+        List<TagEntry> tags = tagMapper.selectList(
+                new LambdaQueryWrapper<Tag>().orderByDesc(Tag::getArticleCount)
+        ).stream().map(TagEntry::of).toList();
+        Snapshot loaded = new Snapshot(categories, tags, TagTrie.build(tags, autocompleteSize));
+        Snapshot previous = snapshot;
+        snapshot = loaded;
+
+        // 内容变化时使对应命名空间失效（首次加载前没有依赖字典的缓存）
+        if (previous != null) {
+            List<CacheNamespace> changed = new ArrayList<>(2);
+            if (!previous.categoryList.equals(categories)) {
+                changed.add(CacheNamespace.CATEGORY);
+            }
+            if (!previous.tagList.equals(tags)) {
+                changed.add(CacheNamespace.TAG);
+            }
+            if (!changed.isEmpty()) {
+                cacheNamespaces.invalidate(changed.toArray(CacheNamespace[]::new));
+            }
+        }
+        return loaded;
+    }
+
+    private static final class Snapshot {
+
+        final List<CategoryEntry> categoryList;
+        final List<TagEntry> tagList;
+        final LongMap<CategoryEntry> categories;
+        final LongMap<TagEntry> tags;
+        final TagTrie tagTrie;
+        final Map<String, CategoryEntry> categoryNames = new HashMap<>();
+        final Map<String, TagEntry> tagNames = new HashMap<>();
+
+        Snapshot(List<CategoryEntry> categoryList, List<TagEntry> tagList, TagTrie tagTrie) {
+            this.categoryList = categoryList;
+            this.tagList = tagList;
+            this.tagTrie = tagTrie;
+            this.categories = new LongMap<>(categoryList, CategoryEntry::id);
+            this.tags = new LongMap<>(tagList, TagEntry::id);
+            categoryList.forEach(category -> categoryNames.putIfAbsent(nameKey(category.name()), category));
+            tagList.forEach(tag -> tagNames.putIfAbsent(nameKey(tag.name()), tag));
+        }
+    }
+
+    /**
+     * 不可变的 long 主键映射：主键有序数组加二分查找，没有装箱和哈希节点
+     */
+    private static final class LongMap<V> {
+
+        private final long[] keys;
+        private final Object[] values;
+
+        LongMap(List<V> entries, ToLongFunction<V> key) {
+            List<V> sorted = entries.stream().sorted(Comparator.comparingLong(key)).toList();
+            this.keys = new long[sorted.size()];
+            this.values = new Object[sorted.size()];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = key.applyAsLong(sorted.get(i));
+                values[i] = sorted.get(i);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        V get(long key) {
+            int index = Arrays.binarySearch(keys, key);
+            return index >= 0 ? (V) values[index] : null;
+        }
+    }
+
+    /**
+     * 分类字典项
+     */
+    public record CategoryEntry(long id, String name, String description, String icon, Integer sortOrder,
+                                Integer articleCount, LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+        static CategoryEntry of(Category category) {
+            return new CategoryEntry(category.getId(), category.getName(), category.getDescription(),
+                    category.getIcon(), category.getSortOrder(), category.getArticleCount(),
+                    category.getCreatedAt(), category.getUpdatedAt());
+        }
+
+        /**
+         * 复制为实体，调用方可以修改
+         */
+        public Category toEntity() {
+            Category category = new Category();
+            category.setId(id);
+            category.setName(name);
+            category.setDescription(description);
+            category.setIcon(icon);
+            category.setSortOrder(sortOrder);
+            category.setArticleCount(articleCount);
+            category.setCreatedAt(createdAt);
+            category.setUpdatedAt(updatedAt);
+            return category;
+        }
+    }
+
+    /**
+     * 标签字典项
+     */
+    public record TagEntry(long id, String name, String color, Integer articleCount, LocalDateTime createdAt) {
+
+        static TagEntry of(Tag tag) {
+            return new TagEntry(tag.getId(), tag.getName(), tag.getColor(), tag.getArticleCount(), tag.getCreatedAt());
+        }
+
+        public Tag toEntity() {
+            Tag tag = new Tag();
+            tag.setId(id);
+            tag.setName(name);
+            tag.setColor(color);
+            tag.setArticleCount(articleCount);
+            tag.setCreatedAt(createdAt);
+            return tag;
+        }
+    }
+}
@@ -6,10 +6,13 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 
 import java.util.Random;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * 邮件服务
@@ -21,6 +24,7 @@ public class EmailService {
 
     private final JavaMailSender mailSender;
     private final StringRedisTemplate redisTemplate;
+    private final ThreadPoolTaskExecutor mailTaskExecutor;
 
     @Value("${spring.mail.username}")
     private String fromEmail;
@@ -28,6 +32,7 @@ public class EmailService {
     private static final String CAPTCHA_PREFIX = "captcha:";
     private static final int CAPTCHA_LENGTH = 6;
     private static final int CAPTCHA_EXPIRE_MINUTES = 5;
+    private static final int SEND_TIMEOUT_SECONDS = 30;
 
     /**
      * 发送验证码邮件
@@ -49,7 +54,15 @@ public class EmailService {
                 captcha, CAPTCHA_EXPIRE_MINUTES
             ));
 
-            mailSender.send(message);
+            // 在平台线程池上发送（SMTP 发送会钉住虚拟线程），当前线程只等待结果
+            Future<?> sending = mailTaskExecutor.submit(() -> mailSender.send(message));
+            try {
+                sending.get(SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (TimeoutException e) {
+                // 不再等待的发送不能继续占用邮件线程
+                sending.cancel(true);
+                throw e;
+            }
 
             // 保存验证码到Redis，设置5分钟过期
             redisTemplate.opsForValue().set(
@@ -60,6 +73,10 @@ public class EmailService {
             );
 
             log.info("验证码邮件已发送到: {}", toEmail);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("发送验证码邮件被中断: {}", toEmail);
+            throw new RuntimeException("发送验证码失败，请稍后重试");
         } catch (Exception e) {
             log.error("发送验证码邮件失败: {}", e.getMessage(), e);
             throw new RuntimeException("发送验证码失败，请稍后重试");
@@ -0,0 +1,207 @@
+package com.blog.service;
+
+import com.blog.entity.FileObject;
+import com.blog.exception.BusinessException;
+import com.blog.mapper.FileObjectMapper;
+import com.blog.storage.BlobStore;
+import com.blog.storage.ImageMetadata;
+import com.blog.storage.ImageType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 文件存储服务
+ * 按内容 SHA-256 寻址存储上传文件，相同内容只保存一份
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FileStorageService {
+
+    /**
+     * 内容寻址文件的访问前缀（URL 不可变，可长期缓存）
+     */
+    public static final String OBJECT_URL_PREFIX = "/uploads/objects/";
+
+    /**
+     * 上传文件的访问前缀
+     */
+    public static final String UPLOAD_URL_PREFIX = "/uploads/";
+
+    private static final String OBJECT_DIR = "objects/";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileObjectMapper fileObjectMapper;
+    private final BlobStore blobStore;
+
+    // 上传暂存目录，与本地存储目录在同一文件系统时保存为原子移动
+    @Value("${blog.storage.temp-dir:${user.dir}/uploads/.tmp}")
+    private String tempDir;
+
+    /**
+     * 流式保存图片
+     * 根据第一块数据的文件头识别图片类型，写入过程中检查大小上限；
+     * 写完后去掉 EXIF（含 GPS 位置）等元数据，按去掉后的内容计算哈希并保存
+     */
+    public FileObject storeImage(InputStream in, long maxSize) throws IOException {
+        byte[] head = in.readNBytes(ImageType.MAGIC_LENGTH);
+        if (head.length == 0) {
+            throw new BusinessException("文件不能为空");
+        }
+        ImageType imageType = ImageType.detect(head, head.length);
+        if (imageType == null) {
+            throw new BusinessException("只支持上传图片文件（jpg、png、gif、webp）");
+        }
+
+        Path tempFile = createTempFile("upload-");
+        Path stripped = createTempFile("upload-");
+        try {
+            copy(new SequenceInputStream(new ByteArrayInputStream(head), in), tempFile, maxSize);
+            long size;
+            try {
+                size = ImageMetadata.strip(tempFile, stripped, imageType);
+            } catch (ImageMetadata.MalformedImageException e) {
+                throw new BusinessException("图片文件已损坏: " + e.getMessage());
+            }
+
+            return saveObject(stripped, hash(stripped), size,
+                    imageType.getExtension(), imageType.getContentType());
+        } finally {
+            Files.deleteIfExists(tempFile);
+            Files.deleteIfExists(stripped);
+        }
+    }
+
+    /**
+     * 将已计算好哈希的暂存文件保存为文件对象，并增加引用计数
+     */
+    public FileObject saveObject(Path tempFile, String hash, long size, String extension,
+                                 String contentType) throws IOException {
+        // 已存在相同内容时沿用首次上传的扩展名，保证 URL 唯一
+        FileObject existing = fileObjectMapper.selectByHash(hash);
+        String ext = existing != null ? existing.getExtension() : extension;
+
+        String key = objectKey(hash, ext);
+        if (blobStore.exists(key)) {
+            log.debug("文件内容已存在，跳过写入: {}", hash);
+        } else {
+            blobStore.put(key, tempFile, contentType);
+        }
+
+        FileObject fileObject = new FileObject();
+        fileObject.setHash(hash);
+        fileObject.setExtension(ext);
+        fileObject.setContentType(contentType);
+        fileObject.setSize(size);
+        fileObjectMapper.upsertReference(fileObject);
+
+        return fileObject;
+    }
+
+    /**
+     * 获取文件对象的访问 URL
+     */
+    public String getUrl(FileObject fileObject) {
+        return UPLOAD_URL_PREFIX + objectKey(fileObject.getHash(), fileObject.getExtension());
+    }
+
+    /**
+     * 将上传文件 URL 转换为存储 key，非上传文件或非法路径返回 null
+     */
+    public String toKey(String url) {
+        if (url == null || !url.startsWith(UPLOAD_URL_PREFIX)) {
+            return null;
+        }
+        String key = url.substring(UPLOAD_URL_PREFIX.length());
+        // 拒绝路径穿越和隐藏文件（如上传暂存目录）
+        if (key.isEmpty() || key.startsWith(".") || key.contains("/.") || key.contains("\\")) {
+            return null;
+        }
+        return key;
+    }
+
+    /**
+     * 在暂存目录中创建临时文件
+     */
+    public Path createTempFile(String prefix) throws IOException {
+        return Files.createTempFile(getTempDir(), prefix, ".part");
+    }
+
+    /**
+     * 获取暂存目录
+     */
+    public Path getTempDir() throws IOException {
+        return Files.createDirectories(Paths.get(tempDir));
+    }
+
+    /**
+     * 计算文件的 SHA-256（十六进制）
+     */
+    public String hash(Path file) throws IOException {
+        MessageDigest digest = newDigest();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (in.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * 写入暂存文件，超过大小上限时中止
+     */
+    private static long copy(InputStream source, Path target, long maxSize) throws IOException {
+        long size = 0;
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        try (ReadableByteChannel in = Channels.newChannel(source);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE)) {
+            while (in.read(buffer) != -1) {
+                buffer.flip();
+                if (size + buffer.remaining() > maxSize) {
+                    throw new BusinessException("文件大小不能超过" + (maxSize / 1024 / 1024) + "MB");
+                }
+                while (buffer.hasRemaining()) {
+                    size += out.write(buffer);
+                }
+                buffer.clear();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * 按哈希分片的存储 key：objects/ab/cd/abcd....ext
+     */
+    private static String objectKey(String hash, String extension) {
+        return OBJECT_DIR + hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + extension;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    }
+}
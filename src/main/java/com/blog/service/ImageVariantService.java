@@ -0,0 +1,366 @@
+package com.blog.service;
+
+import com.blog.storage.BlobStore;
+import com.blog.storage.ImageMetadata;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.regex.Pattern;
+
+/**
+ * 图片衍生服务
+ * 后台为上传图片生成多种宽度的缩略图（按 EXIF 方向转正后重新编码，不带元数据），并提供 srcset 清单
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImageVariantService {
+
+    // 衍生图宽度（从大到小，逐级缩放）
+    private static final int[] VARIANT_WIDTHS = {1280, 640, 320};
+
+    // 可衍生的图片格式（GIF 可能是动图，WebP 无内置解码器，保持原图）
+    private static final Set<String> DERIVABLE_EXTENSIONS = Set.of(".jpg", ".jpeg", ".png");
+
+    // 衍生图文件名特征，衍生图本身不再衍生
+    private static final Pattern VARIANT_NAME = Pattern.compile(".*_w\\d+\\.[a-z]+$");
+
+    private static final float JPEG_QUALITY = 0.85f;
+
+    // 无需 srcset 时的缓存占位值
+    private static final String NONE = "";
+
+    // 衍生失败（如存储暂时不可用）后多久再重试
+    private static final Duration FAILURE_RETRY = Duration.ofMinutes(5);
+
+    private final FileStorageService fileStorageService;
+    private final BlobStore blobStore;
+    private final ThreadPoolTaskExecutor imageTaskExecutor;
+
+    // 图片 URL -> srcset 清单
+    private final Cache<String, String> srcsets = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .recordStats()
+            .build();
+
+    // 最近衍生失败的图片，只短期记录，过期后读取时重新提交
+    private final Cache<String, Boolean> failures = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(FAILURE_RETRY)
+            .build();
+
+    // 正在生成的图片，避免重复提交
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    public Cache<String, String> getSrcsetCache() {
+        return srcsets;
+    }
+
+    /**
+     * 等待或正在生成衍生图的图片数
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * 提交后台衍生任务（幂等，已生成的尺寸会跳过）
+     */
+    public void scheduleDerivation(String url) {
+        if (!isDerivable(url) || failures.getIfPresent(url) != null || !pending.add(url)) {
+            return;
+        }
+        try {
+            imageTaskExecutor.execute(() -> {
+                try {
+                    srcsets.put(url, derive(url));
+                } catch (Exception e) {
+                    // 失败不写入 srcset 缓存，FAILURE_RETRY 后重试
+                    log.warn("图片衍生失败: {}, {}", url, e.getMessage());
+                    failures.put(url, Boolean.TRUE);
+                } finally {
+                    pending.remove(url);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 队列已满，下次读取时再回填
+            pending.remove(url);
+        }
+    }
+
+    /**
+     * 获取图片的 srcset，只读内存缓存，在列表、详情的请求线程上调用。
+     * 未缓存时（包括历史文件）提交后台任务读取清单或生成衍生图，本次返回 null，不在请求线程上访问存储
+     */
+    public String getSrcset(String url) {
+        if (!isDerivable(url)) {
+            return null;
+        }
+        String srcset = srcsets.getIfPresent(url);
+        if (srcset == null) {
+            scheduleDerivation(url);
+            return null;
+        }
+        return srcset.isEmpty() ? null : srcset;
+    }
+
+    /**
+     * 生成所有缺失的衍生图，原图只解码一次
+     */
+    private String derive(String url) throws IOException {
+        String manifest = readManifest(url);
+        if (manifest != null) {
+            return manifest;
+        }
+
+        String key = fileStorageService.toKey(url);
+        BufferedImage original = readImage(key);
+        if (original == null) {
+            return NONE;
+        }
+
+        boolean jpeg = !url.toLowerCase().endsWith(".png");
+        BufferedImage current = original;
+        for (int width : variantWidths(original.getWidth())) {
+            String variantKey = variantName(key, width);
+            if (blobStore.exists(variantKey)) {
+                continue;
+            }
+            current = scale(current, width, jpeg);
+            write(current, variantKey, jpeg);
+        }
+
+        log.debug("图片衍生完成: {}", url);
+        return buildSrcset(url, original.getWidth());
+    }
+
+    /**
+     * 根据已生成的衍生图构建清单，有缺失时返回 null。
+     * 原图不存在（如存储暂时不一致）时抛出异常，按失败处理稍后重试，不缓存为无需 srcset
+     */
+    private String readManifest(String url) throws IOException {
+        String key = fileStorageService.toKey(url);
+        if (key == null) {
+            return NONE;
+        }
+        if (!blobStore.exists(key)) {
+            throw new NoSuchFileException(key, null, "原图不存在");
+        }
+
+        int width = readWidth(key);
+        if (width <= 0) {
+            return NONE;
+        }
+        for (int variantWidth : variantWidths(width)) {
+            if (!blobStore.exists(variantName(key, variantWidth))) {
+                return null;
+            }
+        }
+        return buildSrcset(url, width);
+    }
+
+    private String buildSrcset(String url, int originalWidth) {
+        List<Integer> widths = variantWidths(originalWidth);
+        if (widths.isEmpty()) {
+            return NONE;
+        }
+
+        StringBuilder srcset = new StringBuilder();
+        for (int i = widths.size() - 1; i >= 0; i--) {
+            int width = widths.get(i);
+            srcset.append(variantName(url, width)).append(' ').append(width).append("w, ");
+        }
+        srcset.append(url).append(' ').append(originalWidth).append('w');
+        return srcset.toString();
+    }
+
+    /**
+     * 比原图窄的衍生宽度（从大到小）
+     */
+    private static List<Integer> variantWidths(int originalWidth) {
+        List<Integer> widths = new ArrayList<>(VARIANT_WIDTHS.length);
+        for (int width : VARIANT_WIDTHS) {
+            if (width < originalWidth) {
+                widths.add(width);
+            }
+        }
+        return widths;
+    }
+
+    /**
+     * 解码原图并按 EXIF 方向转正，本地可读时直接读文件
+     */
+    private BufferedImage readImage(String key) throws IOException {
+        Path local = blobStore.localPath(key);
+        BufferedImage image;
+        int orientation;
+        if (local != null) {
+            try (InputStream in = Files.newInputStream(local)) {
+                byte[] head = in.readNBytes(ImageMetadata.HEADER_LENGTH);
+                orientation = ImageMetadata.orientation(head, head.length);
+            }
+            image = ImageIO.read(local.toFile());
+        } else {
+            try (InputStream in = blobStore.open(key)) {
+                byte[] head = in.readNBytes(ImageMetadata.HEADER_LENGTH);
+                orientation = ImageMetadata.orientation(head, head.length);
+                image = ImageIO.read(new SequenceInputStream(new ByteArrayInputStream(head), in));
+            }
+        }
+        return image == null ? null : orient(image, orientation);
+    }
+
+    /**
+     * 只读取图片头部获取显示宽度（EXIF 方向为 5-8 时宽高互换），不解码像素
+     */
+    private int readWidth(String key) throws IOException {
+        Path local = blobStore.localPath(key);
+        try (InputStream in = local != null ? Files.newInputStream(local) : blobStore.open(key)) {
+            byte[] head = in.readNBytes(ImageMetadata.HEADER_LENGTH);
+            int orientation = ImageMetadata.orientation(head, head.length);
+            try (ImageInputStream imageIn = ImageIO.createImageInputStream(
+                    new SequenceInputStream(new ByteArrayInputStream(head), in))) {
+                Iterator<ImageReader> readers = ImageIO.getImageReaders(imageIn);
+                if (!readers.hasNext()) {
+                    return -1;
+                }
+                ImageReader reader = readers.next();
+                try {
+                    reader.setInput(imageIn, true, true);
+                    return orientation >= 5 ? reader.getHeight(0) : reader.getWidth(0);
+                } finally {
+                    reader.dispose();
+                }
+            }
+        }
+    }
+
+    /**
+     * 按 EXIF 方向把像素转正（5-8 宽高互换）。衍生图不带 EXIF，必须在缩放前旋转，否则与原图显示方向不一致
+     */
+    private static BufferedImage orient(BufferedImage source, int orientation) {
+        if (orientation <= ImageMetadata.NORMAL || orientation > 8) {
+            return source;
+        }
+        int w = source.getWidth();
+        int h = source.getHeight();
+        // 原图坐标 (x, y) 到转正后坐标的映射
+        AffineTransform transform = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0);   // 水平翻转
+            case 3 -> new AffineTransform(-1, 0, 0, -1, w, h);  // 旋转 180°
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, h);   // 垂直翻转
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);    // 沿主对角线翻转
+            case 6 -> new AffineTransform(0, 1, -1, 0, h, 0);   // 顺时针 90°
+            case 7 -> new AffineTransform(0, -1, -1, 0, h, w);  // 沿副对角线翻转
+            default -> new AffineTransform(0, -1, 1, 0, 0, w);  // 逆时针 90°
+        };
+        boolean swap = orientation >= 5;
+        BufferedImage oriented = new BufferedImage(swap ? h : w, swap ? w : h,
+                source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = oriented.createGraphics();
+        try {
+            g.drawImage(source, transform, null);
+        } finally {
+            g.dispose();
+        }
+        return oriented;
+    }
+
+    /**
+     * 逐级减半缩放，避免一次大比例缩放产生锯齿
+     */
+    private static BufferedImage scale(BufferedImage source, int targetWidth, boolean opaque) {
+        int targetHeight = Math.max(1, Math.round((float) source.getHeight() * targetWidth / source.getWidth()));
+        int width = source.getWidth();
+        int height = source.getHeight();
+        BufferedImage current = source;
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = width == targetWidth ? targetHeight : Math.max(targetHeight, height / 2);
+
+            BufferedImage scaled = new BufferedImage(width, height,
+                    opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = scaled.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                g.dispose();
+            }
+            current = scaled;
+        } while (width != targetWidth);
+        return current;
+    }
+
+    /**
+     * 写入衍生图（不携带原图元数据），先写暂存文件再保存到存储
+     */
+    private void write(BufferedImage image, String key, boolean jpeg) throws IOException {
+        Path tempFile = fileStorageService.createTempFile("variant-");
+        try {
+            if (jpeg) {
+                ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+                try (ImageOutputStream out = ImageIO.createImageOutputStream(tempFile.toFile())) {
+                    ImageWriteParam param = writer.getDefaultWriteParam();
+                    param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                    param.setCompressionQuality(JPEG_QUALITY);
+                    writer.setOutput(out);
+                    writer.write(null, new IIOImage(image, null, null), param);
+                } finally {
+                    writer.dispose();
+                }
+            } else {
+                ImageIO.write(image, "png", tempFile.toFile());
+            }
+            blobStore.put(key, tempFile, jpeg ? "image/jpeg" : "image/png");
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private static boolean isDerivable(String url) {
+        if (url == null || !url.startsWith(FileStorageService.UPLOAD_URL_PREFIX)) {
+            return false;
+        }
+        int dot = url.lastIndexOf('.');
+        return dot > 0 && DERIVABLE_EXTENSIONS.contains(url.substring(dot).toLowerCase())
+                && !VARIANT_NAME.matcher(url).matches();
+    }
+
+    /**
+     * 衍生图命名：name.jpg -> name_w320.jpg
+     */
+    private static String variantName(String name, int width) {
+        int dot = name.lastIndexOf('.');
+        return name.substring(0, dot) + "_w" + width + name.substring(dot);
+    }
+}
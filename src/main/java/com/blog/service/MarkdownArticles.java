@@ -0,0 +1,160 @@
+package com.blog.service;
+
+import com.blog.dto.request.ArticleImportRecord;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Markdown 文章解析：开头 --- 包围的 front matter（Hexo / Jekyll 常用的 key: value 写法）加正文
+ * <pre>
+ * ---
+ * title: 标题
+ * category: 后端
+ * tags: [Java, Spring]        # 也可以写成 "Java, Spring" 或下一行起的 "- Java" 列表
+ * summary: 摘要
+ * cover: /uploads/covers/a.jpg
+ * date: 2023-05-01 10:00:00
+ * draft: false
+ * ---
+ * 正文
+ * </pre>
+ * 没有 title 时取正文第一个一级标题，再没有时取文件名
+ */
+final class MarkdownArticles {
+
+    private static final String FENCE = "---";
+
+    private static final DateTimeFormatter[] DATE_TIME_FORMATS = {
+            DateTimeFormatter.ISO_LOCAL_DATE_TIME,
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"),
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")
+    };
+
+    private MarkdownArticles() {
+    }
+
+    static ArticleImportRecord parse(String fileName, String text) {
+        String normalized = text.replace("\r\n", "\n");
+        if (normalized.startsWith("\uFEFF")) {
+            normalized = normalized.substring(1);
+        }
+
+        ArticleImportRecord record = new ArticleImportRecord();
+        String body = normalized;
+        if (normalized.startsWith(FENCE + "\n")) {
+            int end = normalized.indexOf("\n" + FENCE, FENCE.length());
+            if (end > 0) {
+                frontMatter(record, normalized.substring(FENCE.length() + 1, end + 1));
+                int bodyStart = normalized.indexOf('\n', end + 1 + FENCE.length());
+                body = bodyStart < 0 ? "" : normalized.substring(bodyStart + 1);
+            }
+        }
+        record.setContent(body.strip());
+
+        if (isBlank(record.getTitle())) {
+            record.setTitle(firstHeading(body));
+        }
+        if (isBlank(record.getTitle())) {
+            String name = fileName.substring(fileName.lastIndexOf('/') + 1);
+            int dot = name.lastIndexOf('.');
+            record.setTitle(dot > 0 ? name.substring(0, dot) : name);
+        }
+        return record;
+    }
+
+    private static void frontMatter(ArticleImportRecord record, String block) {
+        String[] lines = block.split("\n");
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i];
+            int colon = line.indexOf(':');
+            if (colon <= 0 || Character.isWhitespace(line.charAt(0)) || line.startsWith("#")) {
+                continue;
+            }
+            String key = line.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+            String value = unquote(line.substring(colon + 1).trim());
+            // 值为空时下面可能是 "- item" 列表
+            List<String> items = new ArrayList<>();
+            while (value.isEmpty() && i + 1 < lines.length && lines[i + 1].trim().startsWith("- ")) {
+                items.add(unquote(lines[++i].trim().substring(2).trim()));
+            }
+            if (items.isEmpty()) {
+                items = list(value);
+            }
+
+            switch (key) {
+                case "title" -> record.setTitle(value);
+                case "summary", "description", "excerpt" -> record.setSummary(value);
+                case "category", "categories" -> record.setCategory(items.isEmpty() ? null : items.get(0));
+                case "tags", "tag" -> record.setTags(items);
+                case "cover", "cover_image", "coverimage", "image" -> record.setCoverImage(value);
+                case "date", "published_at", "publishedat" -> record.setPublishedAt(dateTime(value));
+                case "created_at", "createdat" -> record.setCreatedAt(dateTime(value));
+                case "draft" -> record.setPublished(!Boolean.parseBoolean(value));
+                case "published" -> record.setPublished(Boolean.parseBoolean(value));
+                default -> {
+                }
+            }
+        }
+    }
+
+    /**
+     * "[a, b]" 或 "a, b"
+     */
+    private static List<String> list(String value) {
+        String trimmed = value;
+        if (trimmed.startsWith("[") && trimmed.endsWith("]")) {
+            trimmed = trimmed.substring(1, trimmed.length() - 1);
+        }
+        return Arrays.stream(trimmed.split("[,，]"))
+                .map(String::trim)
+                .map(MarkdownArticles::unquote)
+                .filter(item -> !item.isEmpty())
+                .toList();
+    }
+
+    private static String firstHeading(String body) {
+        for (String line : body.split("\n")) {
+            if (line.startsWith("# ")) {
+                return line.substring(2).trim();
+            }
+        }
+        return null;
+    }
+
+    private static LocalDateTime dateTime(String value) {
+        if (value.isEmpty()) {
+            return null;
+        }
+        for (DateTimeFormatter format : DATE_TIME_FORMATS) {
+            try {
+                return LocalDateTime.parse(value, format);
+            } catch (DateTimeParseException ignored) {
+                // 尝试下一种格式
+            }
+        }
+        try {
+            return LocalDate.parse(value).atStartOfDay();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static String unquote(String value) {
+        if (value.length() >= 2 && (value.startsWith("\"") && value.endsWith("\"")
+                || value.startsWith("'") && value.endsWith("'"))) {
+            return value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,136 @@
+package com.blog.service;
+
+import cn.hutool.extra.pinyin.PinyinEngine;
+import cn.hutool.extra.pinyin.engine.PinyinFactory;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.Charset;
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * 标签自动补全的检索键：规范化名称、拼音和拼音首字母
+ * 全拼和首字母由 hutool 拼音门面调用 pinyin4j 计算；
+ * 引擎加载失败时不生成全拼，首字母按 GB2312 一级汉字的读音区间计算，覆盖常用字
+ */
+@Slf4j
+final class PinyinKeys {
+
+    private static final Charset GB2312 = Charset.forName("GB2312");
+
+    // GB2312 一级汉字按拼音排序，各首字母的起始区位码
+    private static final int[] INITIAL_BOUNDARIES = {
+            45217, 45253, 45761, 46318, 46826, 47010, 47297, 47614, 48119, 49062, 49324, 49896,
+            50371, 50614, 50622, 50906, 51387, 51446, 52218, 52698, 52980, 53689, 54481, 55290
+    };
+    private static final char[] INITIALS = "abcdefghjklmnopqrstwxyz".toCharArray();
+
+    private static final PinyinEngine ENGINE = detectEngine();
+
+    private PinyinKeys() {
+    }
+
+    /**
+     * 规范化：全角转半角、小写、去掉空白
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder result = new StringBuilder(normalized.length());
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * 全拼（无分隔），没有拼音引擎或不含汉字时返回 null
+     */
+    static String pinyin(String normalized) {
+        if (ENGINE == null || !containsHan(normalized)) {
+            return null;
+        }
+        try {
+            return normalize(ENGINE.getPinyin(normalized, ""));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * 拼音首字母，非汉字字符原样保留；不含汉字时返回 null
+     */
+    static String initials(String normalized) {
+        if (!containsHan(normalized)) {
+            return null;
+        }
+        StringBuilder result = new StringBuilder(normalized.length());
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (!isHan(c)) {
+                result.append(c);
+                continue;
+            }
+            char initial = initial(c);
+            if (initial != 0) {
+                result.append(initial);
+            }
+        }
+        return result.toString();
+    }
+
+    private static char initial(char c) {
+        if (ENGINE != null) {
+            try {
+                char letter = Character.toLowerCase(ENGINE.getFirstLetter(c));
+                if (letter >= 'a' && letter <= 'z') {
+                    return letter;
+                }
+            } catch (Exception e) {
+                // 退回区位码查表
+            }
+        }
+        byte[] bytes = String.valueOf(c).getBytes(GB2312);
+        if (bytes.length != 2) {
+            return 0;
+        }
+        int code = (bytes[0] & 0xff) << 8 | (bytes[1] & 0xff);
+        if (code < INITIAL_BOUNDARIES[0] || code >= INITIAL_BOUNDARIES[INITIAL_BOUNDARIES.length - 1]) {
+            // 二级汉字按部首排序，无法由区位码得出读音
+            return 0;
+        }
+        for (int i = INITIALS.length - 1; i >= 0; i--) {
+            if (code >= INITIAL_BOUNDARIES[i]) {
+                return INITIALS[i];
+            }
+        }
+        return 0;
+    }
+
+    private static boolean containsHan(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (isHan(text.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isHan(char c) {
+        return Character.UnicodeScript.of(c) == Character.UnicodeScript.HAN;
+    }
+
+    private static PinyinEngine detectEngine() {
+        try {
+            return PinyinFactory.create();
+        } catch (Throwable e) {
+            log.info("未找到拼音引擎，标签补全只使用拼音首字母");
+            return null;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.blog.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 标签自动补全前缀树
+ * 名称的每个后缀（保持原来 LIKE %关键词% 的子串匹配）以及全拼、首字母的前缀都能走到对应节点，
+ * 每个节点保存经过它的前 K 个标签 ID（按文章数降序），查询只需沿关键词走一遍，与标签总数无关。
+ * 构建后不可变，子节点按字符有序存放，查找用二分
+ */
+final class TagTrie {
+
+    private static final long[] EMPTY = new long[0];
+
+    private final Node root;
+
+    private TagTrie(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * @param tags 已按文章数降序排列的标签，依次插入即可保证每个节点保留的是前 K 个
+     */
+    static TagTrie build(List<DictionaryCache.TagEntry> tags, int k) {
+        Builder root = new Builder();
+        for (DictionaryCache.TagEntry tag : tags) {
+            Set<Builder> visited = new LinkedHashSet<>();
+            visited.add(root);
+            String name = PinyinKeys.normalize(tag.name());
+            for (int start = 0; start < name.length(); start++) {
+                insert(root, name, start, visited);
+            }
+            String pinyin = PinyinKeys.pinyin(name);
+            if (pinyin != null) {
+                insert(root, pinyin, 0, visited);
+            }
+            String initials = PinyinKeys.initials(name);
+            if (initials != null) {
+                insert(root, initials, 0, visited);
+            }
+            // 同一标签的多个键经过同一节点时只记一次
+            for (Builder node : visited) {
+                if (node.top.size() < k) {
+                    node.top.add(tag.id());
+                }
+            }
+        }
+        return new TagTrie(root.freeze());
+    }
+
+    /**
+     * 前缀对应的标签 ID，按文章数降序；空关键词返回全部标签中的前 K 个
+     */
+    long[] search(String normalizedPrefix) {
+        Node node = root;
+        for (int i = 0; i < normalizedPrefix.length() && node != null; i++) {
+            node = node.child(normalizedPrefix.charAt(i));
+        }
+        return node != null ? node.top : EMPTY;
+    }
+
+    private static void insert(Builder root, String key, int start, Set<Builder> visited) {
+        Builder node = root;
+        for (int i = start; i < key.length(); i++) {
+            node = node.children.computeIfAbsent(key.charAt(i), c -> new Builder());
+            visited.add(node);
+        }
+    }
+
+    private static final class Builder {
+
+        final TreeMap<Character, Builder> children = new TreeMap<>();
+        final List<Long> top = new ArrayList<>();
+
+        Node freeze() {
+            char[] labels = new char[children.size()];
+            Node[] nodes = new Node[children.size()];
+            int i = 0;
+            for (var entry : children.entrySet()) {
+                labels[i] = entry.getKey();
+                nodes[i++] = entry.getValue().freeze();
+            }
+            return new Node(labels, nodes, top.stream().mapToLong(Long::longValue).toArray());
+        }
+    }
+
+    private record Node(char[] labels, Node[] children, long[] top) {
+
+        Node child(char c) {
+            int index = Arrays.binarySearch(labels, c);
+            return index >= 0 ? children[index] : null;
+        }
+    }
+}
@@ -0,0 +1,448 @@
+package com.blog.service;
+
+import com.blog.entity.Article;
+import com.blog.entity.FileObject;
+import com.blog.mapper.ArticleMapper;
+import com.blog.mapper.FileObjectMapper;
+import com.blog.mapper.UserMapper;
+import com.blog.storage.BlobStore;
+import com.blog.storage.LocalBlobStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 上传文件垃圾回收服务
+ * 定期扫描上传目录，删除（或隔离）不再被文章封面、正文和用户头像引用、且超过保护期的文件。
+ * 仅支持本地存储；对象存储请使用存储桶的生命周期规则
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UploadGcService {
+
+    // 隔离目录（位于存储根目录下，以 . 开头不会被访问和扫描）
+    private static final String TRASH_DIR = ".trash";
+
+    private static final DateTimeFormatter TRASH_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    // 正文中的上传文件地址（Markdown 图片、HTML 标签、完整 URL）
+    private static final Pattern UPLOAD_URL = Pattern.compile(
+            Pattern.quote(FileStorageService.UPLOAD_URL_PREFIX) + "[^\\s\"'()<>\\[\\]]+");
+
+    // 衍生图：name_w320.jpg -> name.jpg
+    private static final Pattern VARIANT_KEY = Pattern.compile("(.*)_w\\d+(\\.[a-z]+)$");
+
+    private final ArticleMapper articleMapper;
+    private final UserMapper userMapper;
+    private final FileObjectMapper fileObjectMapper;
+    private final FileStorageService fileStorageService;
+    private final ChunkedUploadService chunkedUploadService;
+    private final BlobStore blobStore;
+    private final TransactionTemplate transactionTemplate;
+
+    // quarantine-移入隔离目录，delete-直接删除，dry-run-只统计不处理
+    @Value("${blog.upload.gc.mode:quarantine}")
+    private String mode;
+
+    // 保护期：最近修改过的文件即使未被引用也保留（可能是刚上传、文章尚未保存）
+    @Value("${blog.upload.gc.grace-hours:168}")
+    private long graceHours;
+
+    // 隔离文件保留天数
+    @Value("${blog.upload.gc.trash-retention-days:30}")
+    private long trashRetentionDays;
+
+    // 扫描并行度，默认为 CPU 核数
+    @Value("${blog.upload.gc.parallelism:0}")
+    private int parallelism;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    // 累计回收统计
+    private final AtomicLong reclaimedFiles = new AtomicLong();
+    private final AtomicLong reclaimedBytes = new AtomicLong();
+
+    private volatile GcReport lastReport;
+
+    /**
+     * 定时回收（默认每天 03:30，cron 设为 "-" 可关闭）
+     */
+    @Scheduled(cron = "${blog.upload.gc.cron:0 30 3 * * *}")
+    public void scheduledCollect() {
+        try {
+            collect();
+        } catch (Exception e) {
+            log.error("上传文件回收失败", e);
+        }
+    }
+
+    /**
+     * 执行一次回收，已有回收在进行时返回 null
+     */
+    public GcReport collect() throws IOException {
+        if (!(blobStore instanceof LocalBlobStore localStore)) {
+            log.info("当前存储不是本地目录，跳过上传文件回收");
+            return null;
+        }
+        if (!running.compareAndSet(false, true)) {
+            log.info("上传文件回收正在进行，跳过本次执行");
+            return null;
+        }
+        try {
+            return doCollect(localStore.getRoot());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * 最近一次回收报告
+     */
+    public GcReport getLastReport() {
+        return lastReport;
+    }
+
+    public long getReclaimedFiles() {
+        return reclaimedFiles.get();
+    }
+
+    public long getReclaimedBytes() {
+        return reclaimedBytes.get();
+    }
+
+    private GcReport doCollect(Path root) throws IOException {
+        long start = System.currentTimeMillis();
+        long cutoff = start - TimeUnit.HOURS.toMillis(graceHours);
+        LocalDateTime rowCutoff = LocalDateTime.now().minusHours(graceHours);
+        boolean dryRun = "dry-run".equals(mode);
+
+        // 先收集引用，再扫描文件：扫描期间新上传的文件在保护期内，不会被误删
+        Set<String> referenced = collectReferences();
+
+        LongAdder scannedFiles = new LongAdder();
+        LongAdder scannedBytes = new LongAdder();
+        ForkJoinPool pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        List<Orphan> orphans;
+        try {
+            orphans = pool.invoke(new ScanTask(root, root, referenced, cutoff, scannedFiles, scannedBytes));
+        } finally {
+            pool.shutdown();
+        }
+
+        // 上传暂存目录中遗留的临时文件（中断的上传；会话已不存在的分片上传不等保护期）
+        orphans.addAll(scanTempDir(cutoff));
+
+        int removedFiles = 0;
+        long removedBytes = 0;
+        String trashDay = LocalDate.now().format(TRASH_DATE);
+        for (Orphan orphan : orphans) {
+            if (dryRun) {
+                removedFiles++;
+                removedBytes += orphan.size();
+                continue;
+            }
+            try {
+                if (remove(root, orphan, trashDay, rowCutoff)) {
+                    removedFiles++;
+                    removedBytes += orphan.size();
+                }
+            } catch (IOException e) {
+                log.warn("回收文件失败: {}", orphan.path(), e);
+            }
+        }
+
+        if (!dryRun) {
+            purgeTrash(root);
+            reclaimedFiles.addAndGet(removedFiles);
+            reclaimedBytes.addAndGet(removedBytes);
+        }
+
+        GcReport report = new GcReport(
+                mode,
+                referenced.size(),
+                scannedFiles.intValue(),
+                scannedBytes.longValue(),
+                removedFiles,
+                removedBytes,
+                System.currentTimeMillis() - start,
+                LocalDateTime.now()
+        );
+        lastReport = report;
+        log.info("上传文件回收完成: {}", report);
+        return report;
+    }
+
+    /**
+     * 流式遍历文章和用户表，收集被引用的存储 key（游标需要在事务内读取）
+     */
+    private Set<String> collectReferences() {
+        return transactionTemplate.execute(status -> {
+            Set<String> keys = new HashSet<>();
+            try (Cursor<Article> articles = articleMapper.streamImageReferences()) {
+                for (Article article : articles) {
+                    addKey(keys, article.getCoverImage());
+                    if (article.getContent() != null) {
+                        Matcher matcher = UPLOAD_URL.matcher(article.getContent());
+                        while (matcher.find()) {
+                            addKey(keys, matcher.group());
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            try (Cursor<String> avatars = userMapper.streamAvatars()) {
+                for (String avatar : avatars) {
+                    addKey(keys, avatar);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return keys;
+        });
+    }
+
+    /**
+     * 登记引用的 key；直接引用衍生图（name_w640.jpg）时同时登记原图，
+     * 否则原图会被当作孤立文件回收，而衍生图的 srcset 仍指向原图
+     */
+    private void addKey(Set<String> keys, String url) {
+        String key = fileStorageService.toKey(url);
+        if (key == null) {
+            return;
+        }
+        keys.add(key);
+        Matcher variant = VARIANT_KEY.matcher(key);
+        if (variant.matches()) {
+            keys.add(variant.group(1) + variant.group(2));
+        }
+    }
+
+    private List<Orphan> scanTempDir(long cutoff) throws IOException {
+        List<Orphan> orphans = new ArrayList<>();
+        try (Stream<Path> files = Files.list(fileStorageService.getTempDir())) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+                if (attrs.isRegularFile() && (attrs.lastModifiedTime().toMillis() < cutoff
+                        || chunkedUploadService.isAbandoned(file))) {
+                    orphans.add(new Orphan(file, null, attrs.size()));
+                }
+            }
+        }
+        return orphans;
+    }
+
+    /**
+     * 删除或隔离一个孤立文件，内容寻址文件同时删除数据库记录
+     */
+    private boolean remove(Path root, Orphan orphan, String trashDay, LocalDateTime rowCutoff) throws IOException {
+        // 暂存文件直接删除
+        if (orphan.key() == null) {
+            return Files.deleteIfExists(orphan.path());
+        }
+
+        String hash = objectHash(orphan.key());
+        if (hash != null) {
+            // 保护期内有人再次上传了相同内容，文件仍在使用
+            FileObject fileObject = fileObjectMapper.selectByHash(hash);
+            if (fileObject != null && fileObject.getUpdatedAt() != null
+                    && fileObject.getUpdatedAt().isAfter(rowCutoff)) {
+                return false;
+            }
+        }
+
+        if ("delete".equals(mode)) {
+            if (!Files.deleteIfExists(orphan.path())) {
+                return false;
+            }
+        } else {
+            Path target = root.resolve(TRASH_DIR).resolve(trashDay).resolve(orphan.key());
+            Files.createDirectories(target.getParent());
+            Files.move(orphan.path(), target, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        if (hash != null) {
+            fileObjectMapper.deleteByHash(hash);
+        }
+        log.debug("回收上传文件: {}", orphan.key());
+        return true;
+    }
+
+    /**
+     * 清理超过保留天数的隔离目录
+     */
+    private void purgeTrash(Path root) throws IOException {
+        Path trash = root.resolve(TRASH_DIR);
+        if (!Files.isDirectory(trash)) {
+            return;
+        }
+        LocalDate expire = LocalDate.now().minusDays(trashRetentionDays);
+        try (Stream<Path> days = Files.list(trash)) {
+            for (Path day : (Iterable<Path>) days::iterator) {
+                try {
+                    if (LocalDate.parse(day.getFileName().toString(), TRASH_DATE).isBefore(expire)) {
+                        deleteRecursively(day);
+                    }
+                } catch (DateTimeParseException e) {
+                    log.warn("忽略无法识别的隔离目录: {}", day);
+                }
+            }
+        }
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    /**
+     * 内容寻址原图的哈希（objects/ab/cd/<hash>.ext），衍生图和其他文件返回 null
+     */
+    private static String objectHash(String key) {
+        if (!key.startsWith("objects/") || VARIANT_KEY.matcher(key).matches()) {
+            return null;
+        }
+        String name = key.substring(key.lastIndexOf('/') + 1);
+        int dot = name.indexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+
+    /**
+     * 文件是否被引用，衍生图跟随原图
+     */
+    private static boolean isReferenced(Set<String> referenced, String key) {
+        if (referenced.contains(key)) {
+            return true;
+        }
+        Matcher matcher = VARIANT_KEY.matcher(key);
+        return matcher.matches() && referenced.contains(matcher.group(1) + matcher.group(2));
+    }
+
+    /**
+     * 并行扫描单个目录：文件直接判断，子目录拆分为子任务
+     */
+    private static final class ScanTask extends RecursiveTask<List<Orphan>> {
+
+        private final Path dir;
+        private final Path root;
+        private final Set<String> referenced;
+        private final long cutoff;
+        private final LongAdder scannedFiles;
+        private final LongAdder scannedBytes;
+
+        private ScanTask(Path dir, Path root, Set<String> referenced, long cutoff,
+                         LongAdder scannedFiles, LongAdder scannedBytes) {
+            this.dir = dir;
+            this.root = root;
+            this.referenced = referenced;
+            this.cutoff = cutoff;
+            this.scannedFiles = scannedFiles;
+            this.scannedBytes = scannedBytes;
+        }
+
+        @Override
+        protected List<Orphan> compute() {
+            List<ScanTask> subtasks = new ArrayList<>();
+            List<Orphan> orphans = new ArrayList<>();
+            try {
+                // 深度 1：子目录作为文件回调，由子任务并行处理
+                Files.walkFileTree(dir, EnumSet.noneOf(FileVisitOption.class), 1, new SimpleFileVisitor<>() {
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                        // 跳过隐藏目录和文件（暂存目录、隔离目录）
+                        if (file.getFileName().toString().startsWith(".")) {
+                            return FileVisitResult.CONTINUE;
+                        }
+                        if (attrs.isDirectory()) {
+                            ScanTask task = new ScanTask(file, root, referenced, cutoff, scannedFiles, scannedBytes);
+                            task.fork();
+                            subtasks.add(task);
+                            return FileVisitResult.CONTINUE;
+                        }
+                        if (!attrs.isRegularFile()) {
+                            return FileVisitResult.CONTINUE;
+                        }
+
+                        scannedFiles.increment();
+                        scannedBytes.add(attrs.size());
+                        String key = root.relativize(file).toString().replace('\\', '/');
+                        if (attrs.lastModifiedTime().toMillis() < cutoff && !isReferenced(referenced, key)) {
+                            orphans.add(new Orphan(file, key, attrs.size()));
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFileFailed(Path file, IOException e) {
+                        log.warn("扫描文件失败: {}", file, e);
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            } catch (IOException e) {
+                log.warn("扫描目录失败: {}", dir, e);
+            }
+            for (ScanTask task : subtasks) {
+                orphans.addAll(task.join());
+            }
+            return orphans;
+        }
+    }
+
+    /**
+     * 孤立文件（key 为 null 表示暂存文件）
+     */
+    private record Orphan(Path path, String key, long size) {
+    }
+
+    /**
+     * 回收报告
+     */
+    public record GcReport(
+            String mode,
+            int referencedCount,
+            int scannedFiles,
+            long scannedBytes,
+            int reclaimedFiles,
+            long reclaimedBytes,
+            long durationMs,
+            LocalDateTime finishedAt
+    ) {
+    }
+}
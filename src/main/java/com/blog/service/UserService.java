@@ -1,6 +1,8 @@
 package com.blog.service;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.blog.cache.CacheInvalidationBus;
+import com.blog.datasource.ReadOnly;
 import com.blog.entity.User;
 import com.blog.exception.BusinessException;
 import com.blog.mapper.UserMapper;
@@ -17,10 +19,13 @@ public class UserService {
 
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final CacheInvalidationBus invalidationBus;
+    private final ArticleListCache articleListCache;
 
     /**
      * 获取用户信息
      */
+    @ReadOnly
     public User getUserInfo(Long userId) {
         User user = userMapper.selectById(userId);
         if (user == null) {
@@ -52,6 +57,9 @@ public class UserService {
         }
 
         userMapper.updateById(user);
+        invalidationBus.publish(UserSummaryCache.NAME, userId.toString());
+        // 缓存的文章列表/详情响应中带有作者昵称、头像和简介
+        articleListCache.invalidateAuthors();
     }
 
     /**
@@ -71,5 +79,6 @@ public class UserService {
         // 更新密码
         user.setPassword(passwordEncoder.encode(newPassword));
         userMapper.updateById(user);
+        invalidationBus.publish(UserSummaryCache.NAME, userId.toString());
     }
 }
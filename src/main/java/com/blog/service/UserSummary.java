@@ -0,0 +1,15 @@
+package com.blog.service;
+
+import com.blog.entity.User;
+
+/**
+ * 用户摘要：作者展示和令牌刷新用到的字段，不含密码等敏感信息，不可变，可在线程间共享
+ */
+public record UserSummary(Long id, String username, String email, String nickname, String avatar, String bio,
+                          String role, Integer status) {
+
+    public static UserSummary of(User user) {
+        return new UserSummary(user.getId(), user.getUsername(), user.getEmail(), user.getNickname(),
+                user.getAvatar(), user.getBio(), user.getRole(), user.getStatus());
+    }
+}
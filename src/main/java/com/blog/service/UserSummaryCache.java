@@ -0,0 +1,93 @@
+package com.blog.service;
+
+import com.blog.cache.LocalCache;
+import com.blog.datasource.DataSourceRoute;
+import com.blog.entity.User;
+import com.blog.mapper.UserMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 用户摘要缓存（本机，有容量上限）
+ * 少数活跃作者占了大部分作者查询，文章列表、详情、令牌刷新都从这里读取。
+ * 用户资料或密码修改后通过 {@link com.blog.cache.CacheInvalidationBus} 在所有节点失效，
+ * 失效后的重新加载走主库，避免从库延迟期间把旧资料再缓存一个 TTL
+ */
+@Component
+public class UserSummaryCache implements LocalCache {
+
+    public static final String NAME = "user";
+
+    private final UserMapper userMapper;
+    private final Cache<Long, UserSummary> cache;
+
+    public UserSummaryCache(UserMapper userMapper,
+                            @Value("${blog.user-cache.max-size:10000}") long maxSize,
+                            @Value("${blog.user-cache.ttl:10m}") Duration ttl) {
+        this.userMapper = userMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 用户不存在时返回 null
+     */
+    public UserSummary get(Long userId) {
+        if (userId == null) {
+            return null;
+        }
+        return cache.get(userId, id -> {
+            User user = DataSourceRoute.fromPrimary(() -> userMapper.selectById(id));
+            return user != null ? UserSummary.of(user) : null;
+        });
+    }
+
+    /**
+     * 批量读取，未缓存的用户一次查询；不存在的用户不在结果中
+     */
+    public Map<Long, UserSummary> getAll(Collection<Long> userIds) {
+        Set<Long> ids = userIds.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return cache.getAll(ids, missing -> {
+            Map<Long, UserSummary> loaded = new HashMap<>();
+            for (User user : DataSourceRoute.fromPrimary(() -> userMapper.selectBatchIds(Set.copyOf(missing)))) {
+                loaded.put(user.getId(), UserSummary.of(user));
+            }
+            return loaded;
+        });
+    }
+
+    public Cache<Long, UserSummary> getCache() {
+        return cache;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public void invalidate(Collection<String> keys) {
+        keys.forEach(key -> cache.invalidate(Long.valueOf(key)));
+    }
+
+    @Override
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
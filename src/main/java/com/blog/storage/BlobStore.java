@@ -0,0 +1,56 @@
+package com.blog.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * 上传文件存储接口
+ * key 为相对路径（如 objects/ab/cd/abcd....jpg），与访问 URL 中 /uploads/ 之后的部分一致
+ */
+public interface BlobStore {
+
+    /**
+     * 从本地暂存文件保存，调用后 source 可能已被移走或删除
+     */
+    void put(String key, Path source, String contentType) throws IOException;
+
+    /**
+     * 从输入流保存（长度未知时 size 传 -1）
+     */
+    void put(String key, InputStream in, long size, String contentType) throws IOException;
+
+    /**
+     * 从指定偏移量开始读取，不存在时抛出 NoSuchFileException
+     */
+    InputStream open(String key, long offset) throws IOException;
+
+    /**
+     * 读取完整内容
+     */
+    default InputStream open(String key) throws IOException {
+        return open(key, 0);
+    }
+
+    /**
+     * 查询文件信息，不存在时返回 null
+     */
+    BlobStat stat(String key) throws IOException;
+
+    default boolean exists(String key) throws IOException {
+        return stat(key) != null;
+    }
+
+    void delete(String key) throws IOException;
+
+    /**
+     * 获取可直接读取的本地文件（用于零拷贝发送），不可用时返回 null
+     */
+    Path localPath(String key) throws IOException;
+
+    /**
+     * 文件信息
+     */
+    record BlobStat(long size, long lastModified) {
+    }
+}
@@ -0,0 +1,278 @@
+package com.blog.storage;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+/**
+ * 本地磁盘读穿缓存
+ * 放在远程存储前面，读取时先下载到本地磁盘，之后直接从本地文件发送；按总字节数 LRU 淘汰
+ * <p>
+ * 缓存文件的替换（move 到位）和删除都在索引条目的 compute 中进行，淘汰删除文件的 evictionListener 同样在条目锁内执行，
+ * 因此淘汰不会删掉同一 key 刚下载好的新文件。下载本身在锁外进行，同一 key 的并发请求等待同一个 future。
+ * 缓存文件的修改时间设为远程文件的修改时间，{@link #stat} 无论是否命中都返回相同的结果（ETag、Last-Modified 不变）
+ */
+@Slf4j
+public class CachingBlobStore implements BlobStore {
+
+    private final BlobStore delegate;
+    private final Path cacheDir;
+
+    // key -> 文件大小，按大小计权
+    private final Cache<String, Long> index;
+
+    // 进行中的下载，同一 key 只下载一次
+    private final ConcurrentMap<String, CompletableFuture<Long>> downloads = new ConcurrentHashMap<>();
+
+    public CachingBlobStore(BlobStore delegate, Path cacheDir, long maxBytes) throws IOException {
+        this.delegate = delegate;
+        this.cacheDir = Files.createDirectories(cacheDir.toAbsolutePath().normalize());
+        this.index = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, Long size) -> (int) Math.min(Integer.MAX_VALUE, size))
+                .evictionListener((String key, Long size, RemovalCause cause) -> {
+                    if (key != null) {
+                        deleteQuietly(resolve(key));
+                    }
+                })
+                .recordStats()
+                .build();
+        loadExisting();
+    }
+
+    @Override
+    public void put(String key, Path source, String contentType) throws IOException {
+        // 先复制一份到缓存，上传节点可直接从本地读取
+        Path cached = resolve(key);
+        Files.createDirectories(cached.getParent());
+        Path temp = Files.createTempFile(cached.getParent(), "cache-", ".part");
+        try {
+            Files.copy(source, temp, StandardCopyOption.REPLACE_EXISTING);
+            long size = Files.size(temp);
+            delegate.put(key, source, contentType);
+            // 进行中的旧内容下载不再放入缓存
+            downloads.remove(key);
+            BlobStat stat = delegate.stat(key);
+            if (stat == null) {
+                invalidate(key);
+                return;
+            }
+            install(key, temp, size, stat.lastModified(), null);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public void put(String key, InputStream in, long size, String contentType) throws IOException {
+        delegate.put(key, in, size, contentType);
+        invalidate(key);
+    }
+
+    @Override
+    public InputStream open(String key, long offset) throws IOException {
+        Path path = localPath(key);
+        if (path == null) {
+            throw new NoSuchFileException(key);
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        channel.position(offset);
+        return Channels.newInputStream(channel);
+    }
+
+    /**
+     * 命中时从缓存文件读取，修改时间即下载时记录的远程修改时间
+     */
+    @Override
+    public BlobStat stat(String key) throws IOException {
+        if (index.getIfPresent(key) != null) {
+            Path path = resolve(key);
+            if (Files.isRegularFile(path)) {
+                return new BlobStat(Files.size(path), Files.getLastModifiedTime(path).toMillis());
+            }
+        }
+        return delegate.stat(key);
+    }
+
+    @Override
+    public boolean exists(String key) throws IOException {
+        return index.getIfPresent(key) != null || delegate.exists(key);
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        delegate.delete(key);
+        invalidate(key);
+    }
+
+    /**
+     * 缓存索引（key -> 文件大小），供监控读取命中率和占用
+     */
+    public Cache<String, Long> getIndex() {
+        return index;
+    }
+
+    /**
+     * 获取本地缓存文件，未缓存时从远程存储下载（同一 key 并发请求只下载一次）
+     */
+    @Override
+    public Path localPath(String key) throws IOException {
+        Path path = resolve(key);
+        if (index.getIfPresent(key) != null) {
+            if (Files.isRegularFile(path)) {
+                return path;
+            }
+            // 缓存文件被外部删除，重新下载
+            index.invalidate(key);
+        }
+
+        CompletableFuture<Long> download = new CompletableFuture<>();
+        CompletableFuture<Long> running = downloads.putIfAbsent(key, download);
+        if (running != null) {
+            return await(running) != null ? path : null;
+        }
+        try {
+            Long size = download(key, download);
+            download.complete(size);
+            return size != null ? path : null;
+        } catch (IOException | RuntimeException e) {
+            download.completeExceptionally(e);
+            throw e;
+        } finally {
+            downloads.remove(key, download);
+        }
+    }
+
+    /**
+     * 下载到临时文件后放入缓存，远程不存在或下载期间被删除/覆盖时返回 null
+     */
+    private Long download(String key, CompletableFuture<Long> download) throws IOException {
+        Path path = resolve(key);
+        Files.createDirectories(path.getParent());
+        Path temp = Files.createTempFile(path.getParent(), "cache-", ".part");
+        try {
+            // 先取远程的修改时间，下载期间被覆盖时与内容不一致，但覆盖会使本条缓存失效（见 install）
+            BlobStat stat = delegate.stat(key);
+            if (stat == null) {
+                return null;
+            }
+            long size;
+            try (InputStream in = delegate.open(key)) {
+                size = Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            } catch (NoSuchFileException e) {
+                return null;
+            }
+            if (!install(key, temp, size, stat.lastModified(), download)) {
+                return null;
+            }
+            log.debug("缓存远程文件: {} ({} 字节)", key, size);
+            return size;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 在条目锁内把临时文件移动到缓存位置并登记大小，文件修改时间设为远程的 lastModified。
+     * download 不为 null 时，仅当它仍是该 key 当前的下载（期间没有 delete/put）才放入
+     */
+    private boolean install(String key, Path temp, long size, long lastModified,
+                            CompletableFuture<Long> download) throws IOException {
+        Files.setLastModifiedTime(temp, FileTime.fromMillis(lastModified));
+        boolean[] installed = {false};
+        try {
+            index.asMap().compute(key, (k, old) -> {
+                if (download != null && downloads.get(k) != download) {
+                    return old;
+                }
+                try {
+                    Files.move(temp, resolve(k), StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                installed[0] = true;
+                return size;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return installed[0];
+    }
+
+    private static Long await(CompletableFuture<Long> download) throws IOException {
+        try {
+            return download.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+
+    private void invalidate(String key) {
+        downloads.remove(key);
+        index.asMap().compute(key, (k, size) -> {
+            deleteQuietly(resolve(k));
+            return null;
+        });
+    }
+
+    /**
+     * 启动时登记已有的缓存文件
+     */
+    private void loadExisting() throws IOException {
+        try (Stream<Path> files = Files.walk(cacheDir)) {
+            files.filter(Files::isRegularFile)
+                    .forEach(path -> {
+                        if (path.getFileName().toString().endsWith(".part")) {
+                            // 上次未完成的下载
+                            deleteQuietly(path);
+                            return;
+                        }
+                        try {
+                            index.put(cacheDir.relativize(path).toString().replace('\\', '/'), Files.size(path));
+                        } catch (IOException e) {
+                            deleteQuietly(path);
+                        }
+                    });
+        }
+    }
+
+    private Path resolve(String key) {
+        Path path = cacheDir.resolve(key).normalize();
+        if (!path.startsWith(cacheDir)) {
+            throw new IllegalArgumentException("非法的存储路径: " + key);
+        }
+        return path;
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("删除缓存文件失败: {}", path);
+        }
+    }
+}
@@ -0,0 +1,403 @@
+package com.blog.storage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * 图片元数据处理
+ * 上传时去掉 EXIF（含 GPS 位置、设备信息）、XMP、IPTC 和文本注释，只改动容器中的元数据段，不重新编码像素。
+ * EXIF 方向不是 1 时写回一个只含方向的最小 EXIF，浏览器显示的方向不变；衍生图按 {@link #orientation} 旋转
+ */
+public final class ImageMetadata {
+
+    /**
+     * 不需要旋转的方向值
+     */
+    public static final int NORMAL = 1;
+
+    /**
+     * 读取方向时检查的文件头长度：JPEG 的 EXIF 在 APP1 段（不超过 64KB），PNG 的 eXIf 在图像数据之前
+     */
+    public static final int HEADER_LENGTH = 256 * 1024;
+
+    private static final byte[] EXIF_HEADER = {'E', 'x', 'i', 'f', 0, 0};
+    private static final int ORIENTATION_TAG = 0x0112;
+    private static final int TYPE_SHORT = 3;
+
+    // JPEG 标记：SOS 之后是压缩数据；去掉 APP1（EXIF、XMP）、APP13（IPTC）、COM（注释）
+    private static final int SOS = 0xDA;
+    private static final int EOI = 0xD9;
+    private static final int APP1 = 0xE1;
+    private static final int APP13 = 0xED;
+    private static final int COM = 0xFE;
+
+    // PNG 中去掉的块：EXIF、文本（可能含作者、位置）、修改时间
+    private static final Set<String> PNG_DROPPED_CHUNKS = Set.of("eXIf", "tEXt", "zTXt", "iTXt", "tIME");
+
+    // WebP VP8X 头（第一个块，标志字节在文件偏移 20）中的 EXIF、XMP 标志位
+    private static final int WEBP_VP8X_FLAGS_OFFSET = 20;
+    private static final int WEBP_EXIF_FLAG = 0x08;
+    private static final int WEBP_XMP_FLAG = 0x04;
+
+    // 读入内存解析的元数据块上限，更大的直接跳过
+    private static final int MAX_EXIF_LENGTH = 1024 * 1024;
+
+    private ImageMetadata() {
+    }
+
+    /**
+     * 从文件头读取 EXIF 方向（1-8），没有或无法解析时返回 {@link #NORMAL}
+     */
+    public static int orientation(byte[] head, int length) {
+        ImageType type = ImageType.detect(head, length);
+        if (type != ImageType.JPEG && type != ImageType.PNG) {
+            return NORMAL;
+        }
+        Rewriter rewriter = new Rewriter(new ByteArrayInputStream(head, 0, length), OutputStream.nullOutputStream());
+        try {
+            rewriter.rewrite(type, true);
+        } catch (IOException e) {
+            // 文件头截断或格式错误，以已读到的为准
+        }
+        return rewriter.orientation;
+    }
+
+    /**
+     * 把 source 去掉元数据后写入 target（已存在，会被截断），返回写入的字节数；GIF 原样复制。
+     * 图像数据之前的结构不完整时抛出 {@link MalformedImageException}
+     */
+    public static long strip(Path source, Path target, ImageType type) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(source));
+             FileChannel channel = FileChannel.open(target, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel));
+            Rewriter rewriter = new Rewriter(in, out);
+            rewriter.rewrite(type, false);
+            out.flush();
+            if (type == ImageType.WEBP) {
+                patchWebpHeader(channel, rewriter.exifWritten);
+            }
+            return channel.size();
+        }
+    }
+
+    /**
+     * WebP 去掉块后修正 RIFF 长度和 VP8X 中的 EXIF、XMP 标志
+     */
+    private static void patchWebpHeader(FileChannel channel, boolean exif) throws IOException {
+        ByteBuffer size = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+        size.putInt((int) (channel.size() - 8)).flip();
+        channel.write(size, 4);
+
+        ByteBuffer chunk = ByteBuffer.allocate(4);
+        channel.read(chunk, 12);
+        if (!"VP8X".equals(new String(chunk.array(), StandardCharsets.US_ASCII))) {
+            return;
+        }
+        ByteBuffer flags = ByteBuffer.allocate(1);
+        channel.read(flags, WEBP_VP8X_FLAGS_OFFSET);
+        int value = (flags.get(0) & ~(WEBP_EXIF_FLAG | WEBP_XMP_FLAG)) | (exif ? WEBP_EXIF_FLAG : 0);
+        channel.write(ByteBuffer.wrap(new byte[]{(byte) value}), WEBP_VP8X_FLAGS_OFFSET);
+    }
+
+    /**
+     * 解析 TIFF 结构（EXIF 正文）中 IFD0 的方向
+     */
+    private static int parseOrientation(byte[] data, int offset) {
+        if (data.length - offset < 8) {
+            return NORMAL;
+        }
+        ByteOrder order;
+        if (data[offset] == 'I' && data[offset + 1] == 'I') {
+            order = ByteOrder.LITTLE_ENDIAN;
+        } else if (data[offset] == 'M' && data[offset + 1] == 'M') {
+            order = ByteOrder.BIG_ENDIAN;
+        } else {
+            return NORMAL;
+        }
+        ByteBuffer tiff = ByteBuffer.wrap(data, offset, data.length - offset).slice().order(order);
+        long ifd = tiff.getInt(4) & 0xFFFFFFFFL;
+        if (ifd + 2 > tiff.limit()) {
+            return NORMAL;
+        }
+        int count = tiff.getShort((int) ifd) & 0xFFFF;
+        for (int i = 0; i < count; i++) {
+            int entry = (int) ifd + 2 + i * 12;
+            if (entry + 12 > tiff.limit()) {
+                break;
+            }
+            if ((tiff.getShort(entry) & 0xFFFF) == ORIENTATION_TAG && (tiff.getShort(entry + 2) & 0xFFFF) == TYPE_SHORT) {
+                int value = tiff.getShort(entry + 8) & 0xFFFF;
+                return value >= 1 && value <= 8 ? value : NORMAL;
+            }
+        }
+        return NORMAL;
+    }
+
+    /**
+     * 只含方向一项的 TIFF 结构（大端）
+     */
+    private static byte[] orientationTiff(int orientation) {
+        return ByteBuffer.allocate(26)
+                .put((byte) 'M').put((byte) 'M').putShort((short) 42).putInt(8)
+                .putShort((short) 1)
+                .putShort((short) ORIENTATION_TAG).putShort((short) TYPE_SHORT).putInt(1)
+                .putShort((short) orientation).putShort((short) 0)
+                .putInt(0)
+                .array();
+    }
+
+    private static boolean startsWith(byte[] data, byte[] prefix) {
+        if (data.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (data[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 按容器格式逐段复制，去掉元数据段，同时记下第一个 EXIF 中的方向
+     */
+    private static final class Rewriter {
+
+        private final InputStream in;
+        private final OutputStream out;
+        private final byte[] buffer = new byte[8192];
+        private int orientation = NORMAL;
+        private boolean exifSeen;
+        private boolean exifWritten;
+
+        Rewriter(InputStream in, OutputStream out) {
+            this.in = in;
+            this.out = out;
+        }
+
+        /**
+         * headerOnly 时读到图像数据即停止（只用于读取方向）
+         */
+        void rewrite(ImageType type, boolean headerOnly) throws IOException {
+            switch (type) {
+                case JPEG -> jpeg(headerOnly);
+                case PNG -> png(headerOnly);
+                case WEBP -> webp();
+                default -> in.transferTo(out);
+            }
+        }
+
+        /**
+         * JPEG：SOI 之后是 [FF 标记 长度 数据] 段，SOS 之后的压缩数据原样复制
+         */
+        private void jpeg(boolean headerOnly) throws IOException {
+            out.write(readFully(2));
+            while (true) {
+                int marker = readMarker();
+                if (marker == SOS || marker == EOI) {
+                    out.write(0xFF);
+                    out.write(marker);
+                    if (!headerOnly) {
+                        in.transferTo(out);
+                    }
+                    return;
+                }
+                if (marker == 0x01 || (marker >= 0xD0 && marker <= 0xD7)) {
+                    // 无长度的独立标记
+                    out.write(0xFF);
+                    out.write(marker);
+                    continue;
+                }
+                byte[] length = readFully(2);
+                int dataLength = ((length[0] & 0xFF) << 8 | (length[1] & 0xFF)) - 2;
+                if (dataLength < 0) {
+                    throw new MalformedImageException("JPEG 段长度错误");
+                }
+                byte[] data = readFully(dataLength);
+                if (marker == APP1) {
+                    if (startsWith(data, EXIF_HEADER)) {
+                        exif(data, EXIF_HEADER.length);
+                        if (exifWritten) {
+                            byte[] tiff = orientationTiff(orientation);
+                            int segmentLength = 2 + EXIF_HEADER.length + tiff.length;
+                            out.write(new byte[]{(byte) 0xFF, (byte) APP1,
+                                    (byte) (segmentLength >> 8), (byte) segmentLength});
+                            out.write(EXIF_HEADER);
+                            out.write(tiff);
+                        }
+                    }
+                    continue;
+                }
+                if (marker == APP13 || marker == COM) {
+                    continue;
+                }
+                out.write(0xFF);
+                out.write(marker);
+                out.write(length);
+                out.write(data);
+            }
+        }
+
+        /**
+         * PNG：签名之后是 [长度 类型 数据 CRC] 块，IEND 之后的内容原样复制
+         */
+        private void png(boolean headerOnly) throws IOException {
+            out.write(readFully(8));
+            while (true) {
+                byte[] header = readFully(8);
+                long length = ByteBuffer.wrap(header).getInt() & 0xFFFFFFFFL;
+                String type = new String(header, 4, 4, StandardCharsets.US_ASCII);
+                if (headerOnly && "IDAT".equals(type)) {
+                    return;
+                }
+                if ("eXIf".equals(type) && length <= MAX_EXIF_LENGTH) {
+                    byte[] data = readFully((int) length);
+                    skip(4);
+                    exif(data, startsWith(data, EXIF_HEADER) ? EXIF_HEADER.length : 0);
+                    if (exifWritten) {
+                        byte[] tiff = orientationTiff(orientation);
+                        CRC32 crc = new CRC32();
+                        crc.update(header, 4, 4);
+                        crc.update(tiff);
+                        out.write(ByteBuffer.allocate(8).putInt(tiff.length).put(header, 4, 4).array());
+                        out.write(tiff);
+                        out.write(ByteBuffer.allocate(4).putInt((int) crc.getValue()).array());
+                    }
+                } else if (PNG_DROPPED_CHUNKS.contains(type)) {
+                    skip(length + 4);
+                } else {
+                    out.write(header);
+                    copy(length + 4);
+                }
+                if ("IEND".equals(type)) {
+                    in.transferTo(out);
+                    return;
+                }
+            }
+        }
+
+        /**
+         * WebP：RIFF 头之后是 [类型 长度(小端) 数据 补齐到偶数] 块；RIFF 长度和 VP8X 标志由调用方修正
+         */
+        private void webp() throws IOException {
+            out.write(readFully(12));
+            byte[] header;
+            while ((header = readHeader()) != null) {
+                String type = new String(header, 0, 4, StandardCharsets.US_ASCII);
+                long size = ByteBuffer.wrap(header, 4, 4).order(ByteOrder.LITTLE_ENDIAN).getInt() & 0xFFFFFFFFL;
+                long padded = size + (size & 1);
+                if ("EXIF".equals(type) && size <= MAX_EXIF_LENGTH) {
+                    byte[] data = readFully((int) size);
+                    skip(padded - size);
+                    exif(data, startsWith(data, EXIF_HEADER) ? EXIF_HEADER.length : 0);
+                    if (exifWritten) {
+                        byte[] tiff = orientationTiff(orientation);
+                        out.write(header, 0, 4);
+                        out.write(ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(tiff.length).array());
+                        out.write(tiff);
+                    }
+                } else if ("EXIF".equals(type) || "XMP ".equals(type)) {
+                    skip(padded);
+                } else {
+                    out.write(header);
+                    copy(padded);
+                }
+            }
+        }
+
+        /**
+         * 只处理第一个 EXIF：记下方向，需要旋转时由调用方写回最小 EXIF
+         */
+        private void exif(byte[] data, int offset) {
+            if (exifSeen) {
+                return;
+            }
+            exifSeen = true;
+            orientation = parseOrientation(data, offset);
+            exifWritten = orientation != NORMAL;
+        }
+
+        private int readMarker() throws IOException {
+            int b = in.read();
+            if (b != 0xFF) {
+                throw new MalformedImageException("JPEG 段标记错误");
+            }
+            // 标记前可以有多个填充的 0xFF
+            while (b == 0xFF) {
+                b = in.read();
+            }
+            if (b < 0) {
+                throw new MalformedImageException("JPEG 文件不完整");
+            }
+            return b;
+        }
+
+        /**
+         * 读取 WebP 块头，正好在文件末尾时返回 null
+         */
+        private byte[] readHeader() throws IOException {
+            byte[] header = in.readNBytes(8);
+            if (header.length == 0) {
+                return null;
+            }
+            if (header.length < 8) {
+                throw new MalformedImageException("WebP 文件不完整");
+            }
+            return header;
+        }
+
+        private byte[] readFully(int length) throws IOException {
+            byte[] data = in.readNBytes(length);
+            if (data.length < length) {
+                throw new MalformedImageException("图片文件不完整");
+            }
+            return data;
+        }
+
+        private void skip(long length) throws IOException {
+            try {
+                in.skipNBytes(length);
+            } catch (EOFException e) {
+                throw new MalformedImageException("图片文件不完整");
+            }
+        }
+
+        private void copy(long length) throws IOException {
+            long remaining = length;
+            while (remaining > 0) {
+                int n = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (n < 0) {
+                    throw new MalformedImageException("图片文件不完整");
+                }
+                out.write(buffer, 0, n);
+                remaining -= n;
+            }
+        }
+    }
+
+    /**
+     * 图片容器结构错误（截断、段长度错误等）
+     */
+    public static class MalformedImageException extends IOException {
+
+        public MalformedImageException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.blog.storage;
+
+import lombok.Getter;
+
+/**
+ * 图片类型，根据文件头魔数识别，不信任文件扩展名
+ */
+@Getter
+public enum ImageType {
+
+    JPEG(".jpg", "image/jpeg"),
+    PNG(".png", "image/png"),
+    GIF(".gif", "image/gif"),
+    WEBP(".webp", "image/webp");
+
+    /**
+     * 识别所需的文件头长度
+     */
+    public static final int MAGIC_LENGTH = 12;
+
+    private final String extension;
+    private final String contentType;
+
+    ImageType(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    /**
+     * 根据文件头识别图片类型，无法识别时返回 null
+     */
+    public static ImageType detect(byte[] head, int length) {
+        if (length >= 3 && (head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xD8 && (head[2] & 0xFF) == 0xFF) {
+            return JPEG;
+        }
+        if (length >= 8 && (head[0] & 0xFF) == 0x89 && head[1] == 'P' && head[2] == 'N' && head[3] == 'G'
+                && head[4] == 0x0D && head[5] == 0x0A && head[6] == 0x1A && head[7] == 0x0A) {
+            return PNG;
+        }
+        if (length >= 6 && head[0] == 'G' && head[1] == 'I' && head[2] == 'F' && head[3] == '8'
+                && (head[4] == '7' || head[4] == '9') && head[5] == 'a') {
+            return GIF;
+        }
+        if (length >= 12 && head[0] == 'R' && head[1] == 'I' && head[2] == 'F' && head[3] == 'F'
+                && head[8] == 'W' && head[9] == 'E' && head[10] == 'B' && head[11] == 'P') {
+            return WEBP;
+        }
+        return null;
+    }
+}
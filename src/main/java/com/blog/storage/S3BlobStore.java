@@ -0,0 +1,144 @@
+package com.blog.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * S3 兼容对象存储（AWS S3、MinIO 等）
+ * 超过分片大小的文件使用分片上传，分片逐个读取，内存占用不超过一个分片
+ */
+@Slf4j
+public class S3BlobStore implements BlobStore {
+
+    private static final int FIRST_READ = 64 * 1024;
+
+    private final S3Client s3Client;
+    private final String bucket;
+    private final String prefix;
+    private final int partSize;
+
+    public S3BlobStore(S3Client s3Client, String bucket, String prefix, int partSize) {
+        this.s3Client = s3Client;
+        this.bucket = bucket;
+        if (prefix == null || prefix.isEmpty()) {
+            this.prefix = "";
+        } else {
+            this.prefix = prefix.endsWith("/") ? prefix : prefix + "/";
+        }
+        this.partSize = partSize;
+    }
+
+    @Override
+    public void put(String key, Path source, String contentType) throws IOException {
+        try (InputStream in = Files.newInputStream(source)) {
+            put(key, in, Files.size(source), contentType);
+        }
+        Files.deleteIfExists(source);
+    }
+
+    @Override
+    public void put(String key, InputStream in, long size, String contentType) throws IOException {
+        // 先按已知大小（未知时按 FIRST_READ）读取，小文件不分配整个分片的缓冲区；读满后才扩到分片大小
+        int initial = size >= 0 ? (size < partSize ? (int) size + 1 : partSize) : Math.min(partSize, FIRST_READ);
+        byte[] buffer = new byte[initial];
+        int length = in.readNBytes(buffer, 0, initial);
+        if (length == initial && initial < partSize) {
+            buffer = Arrays.copyOf(buffer, partSize);
+            length += in.readNBytes(buffer, length, partSize - length);
+        }
+
+        // 不足一个分片，直接上传
+        if (length < partSize) {
+            s3Client.putObject(b -> b.bucket(bucket).key(objectKey(key)).contentType(contentType),
+                    partBody(buffer, length));
+            return;
+        }
+
+        String uploadId = s3Client.createMultipartUpload(b -> b.bucket(bucket).key(objectKey(key)).contentType(contentType))
+                .uploadId();
+        try {
+            List<CompletedPart> parts = new ArrayList<>();
+            int partNumber = 1;
+            while (length > 0) {
+                int number = partNumber++;
+                String etag = s3Client.uploadPart(b -> b.bucket(bucket).key(objectKey(key))
+                                .uploadId(uploadId).partNumber(number),
+                        partBody(buffer, length)).eTag();
+                parts.add(CompletedPart.builder().partNumber(number).eTag(etag).build());
+                length = in.readNBytes(buffer, 0, partSize);
+            }
+            s3Client.completeMultipartUpload(b -> b.bucket(bucket).key(objectKey(key)).uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build()));
+        } catch (IOException | RuntimeException e) {
+            log.warn("分片上传失败，取消上传: {}", key);
+            s3Client.abortMultipartUpload(b -> b.bucket(bucket).key(objectKey(key)).uploadId(uploadId));
+            throw e;
+        }
+    }
+
+    @Override
+    public InputStream open(String key, long offset) throws IOException {
+        try {
+            return s3Client.getObject(b -> {
+                b.bucket(bucket).key(objectKey(key));
+                if (offset > 0) {
+                    b.range("bytes=" + offset + "-");
+                }
+            });
+        } catch (NoSuchKeyException e) {
+            throw new NoSuchFileException(key);
+        }
+    }
+
+    @Override
+    public BlobStat stat(String key) {
+        try {
+            HeadObjectResponse head = s3Client.headObject(b -> b.bucket(bucket).key(objectKey(key)));
+            return new BlobStat(head.contentLength(), head.lastModified().toEpochMilli());
+        } catch (NoSuchKeyException e) {
+            return null;
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void delete(String key) {
+        s3Client.deleteObject(b -> b.bucket(bucket).key(objectKey(key)));
+    }
+
+    @Override
+    public Path localPath(String key) {
+        return null;
+    }
+
+    private String objectKey(String key) {
+        return prefix + key;
+    }
+
+    /**
+     * 直接引用缓冲区作为请求体，避免再复制一份分片
+     */
+    private static RequestBody partBody(byte[] buffer, int length) {
+        return RequestBody.fromInputStream(new ByteArrayInputStream(buffer, 0, length), length);
+    }
+}
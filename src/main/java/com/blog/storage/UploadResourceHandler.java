@@ -0,0 +1,300 @@
+package com.blog.storage;
+
+import com.blog.service.FileStorageService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.HttpRequestHandler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 上传文件访问处理器
+ * 支持零拷贝发送（Tomcat sendfile / FileChannel.transferTo）、Range 断点续传和 ETag 协商缓存，
+ * 文件元数据缓存在内存中，避免每次请求都 stat 文件；远程存储无本地文件时按区间流式读取
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UploadResourceHandler implements HttpRequestHandler {
+
+    // Tomcat sendfile 相关请求属性
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // 内容寻址文件：内容永不变化
+    private static final String CACHE_CONTROL_IMMUTABLE = "public, max-age=31536000, immutable";
+    // 普通上传文件：每天重新验证
+    private static final String CACHE_CONTROL_DEFAULT = "public, max-age=86400";
+
+    // 元数据缓存时间：不可变文件长期缓存，其余文件短期缓存
+    private static final long IMMUTABLE_META_TTL_NANOS = TimeUnit.HOURS.toNanos(1);
+    private static final long MUTABLE_META_TTL_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
+    private final FileStorageService fileStorageService;
+    private final BlobStore blobStore;
+
+    // 文件 URL -> 元数据
+    private final Cache<String, FileMeta> metaCache = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfter(new Expiry<String, FileMeta>() {
+                @Override
+                public long expireAfterCreate(String key, FileMeta meta, long currentTime) {
+                    return meta.immutable() ? IMMUTABLE_META_TTL_NANOS : MUTABLE_META_TTL_NANOS;
+                }
+
+                @Override
+                public long expireAfterUpdate(String key, FileMeta meta, long currentTime, long currentDuration) {
+                    return expireAfterCreate(key, meta, currentTime);
+                }
+
+                @Override
+                public long expireAfterRead(String key, FileMeta meta, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .recordStats()
+            .build();
+
+    /**
+     * 元数据缓存，供监控读取命中率
+     */
+    public Cache<String, ?> getMetaCache() {
+        return metaCache;
+    }
+
+    @Override
+    public void handleRequest(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String method = request.getMethod();
+        boolean head = "HEAD".equals(method);
+        if (!head && !"GET".equals(method)) {
+            response.setHeader(HttpHeaders.ALLOW, "GET, HEAD");
+            response.sendError(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+            return;
+        }
+
+        String url = request.getRequestURI().substring(request.getContextPath().length());
+        FileMeta meta = lookup(url);
+        if (meta == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        response.setHeader(HttpHeaders.ETAG, meta.etag());
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, meta.lastModified());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, meta.immutable() ? CACHE_CONTROL_IMMUTABLE : CACHE_CONTROL_DEFAULT);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (isNotModified(request, meta)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        // 解析 Range，仅支持单个区间，多区间时返回完整内容
+        long start = 0;
+        long end = meta.size() - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && isRangeApplicable(request, meta)) {
+            long[] bounds = parseRange(range, meta.size());
+            if (bounds == null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + meta.size());
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (bounds.length == 2) {
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + meta.size());
+            }
+        }
+
+        long length = end - start + 1;
+        response.setContentType(meta.contentType());
+        response.setContentLengthLong(length);
+        if (head || length <= 0) {
+            return;
+        }
+
+        // 本地文件：优先使用 Tomcat sendfile，由容器在请求结束后直接从文件发送到 socket
+        Path local = meta.localPath();
+        if (local != null && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, local.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        if (local != null) {
+            try (FileChannel channel = FileChannel.open(local, StandardOpenOption.READ)) {
+                WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+                long position = start;
+                long remaining = length;
+                while (remaining > 0) {
+                    long sent = channel.transferTo(position, remaining, out);
+                    if (sent <= 0) {
+                        break;
+                    }
+                    position += sent;
+                    remaining -= sent;
+                }
+                return;
+            } catch (NoSuchFileException e) {
+                // 本地文件在缓存有效期内被删除或淘汰，改为从存储读取
+                metaCache.invalidate(url);
+            }
+        }
+
+        // 远程存储：按区间流式读取
+        try (InputStream in = blobStore.open(meta.key(), start)) {
+            OutputStream out = response.getOutputStream();
+            byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+            long remaining = length;
+            while (remaining > 0) {
+                int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read < 0) {
+                    break;
+                }
+                out.write(buffer, 0, read);
+                remaining -= read;
+            }
+        }
+    }
+
+    /**
+     * 查询文件元数据（带缓存）
+     */
+    private FileMeta lookup(String url) throws IOException {
+        FileMeta meta = metaCache.getIfPresent(url);
+        if (meta != null) {
+            return meta;
+        }
+
+        String key = fileStorageService.toKey(url);
+        if (key == null) {
+            return null;
+        }
+        BlobStore.BlobStat stat = blobStore.stat(key);
+        if (stat == null) {
+            return null;
+        }
+
+        String filename = key.substring(key.lastIndexOf('/') + 1);
+        boolean immutable = url.startsWith(FileStorageService.OBJECT_URL_PREFIX);
+        String etag = immutable && filename.lastIndexOf('.') > 0
+                ? "\"" + filename.substring(0, filename.lastIndexOf('.')) + "\""
+                : "\"" + Long.toHexString(stat.size()) + "-" + Long.toHexString(stat.lastModified()) + "\"";
+        String contentType = MediaTypeFactory.getMediaType(filename)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM)
+                .toString();
+
+        meta = new FileMeta(key, blobStore.localPath(key), stat.size(), stat.lastModified(),
+                etag, contentType, immutable);
+        metaCache.put(url, meta);
+        return meta;
+    }
+
+    /**
+     * 协商缓存：If-None-Match 优先，其次 If-Modified-Since
+     */
+    private static boolean isNotModified(HttpServletRequest request, FileMeta meta) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            return matchesEtag(ifNoneMatch, meta.etag());
+        }
+        long ifModifiedSince;
+        try {
+            ifModifiedSince = request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return ifModifiedSince >= 0 && meta.lastModified() / 1000 * 1000 <= ifModifiedSince;
+    }
+
+    /**
+     * If-Range 与当前版本不一致时忽略 Range，返回完整内容
+     */
+    private static boolean isRangeApplicable(HttpServletRequest request, FileMeta meta) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        return ifRange == null || ifRange.equals(meta.etag());
+    }
+
+    private static boolean matchesEtag(String header, String etag) {
+        for (String candidate : header.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if ("*".equals(value) || etag.equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 解析单个字节区间
+     *
+     * @return {start, end}；多区间或格式无法识别时返回空数组（按完整内容处理）；区间不可满足时返回 null
+     */
+    private static long[] parseRange(String header, long size) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return new long[0];
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[0];
+        }
+        try {
+            long start;
+            long end;
+            if (dash == 0) {
+                // bytes=-N：最后 N 个字节
+                long suffix = Long.parseLong(spec.substring(1));
+                if (suffix <= 0) {
+                    return null;
+                }
+                start = Math.max(0, size - suffix);
+                end = size - 1;
+            } else {
+                start = Long.parseLong(spec.substring(0, dash));
+                end = dash == spec.length() - 1 ? size - 1 : Math.min(Long.parseLong(spec.substring(dash + 1)), size - 1);
+            }
+            if (start >= size || start > end) {
+                return null;
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+
+    /**
+     * 文件元数据
+     */
+    private record FileMeta(String key, Path localPath, long size, long lastModified, String etag,
+                            String contentType, boolean immutable) {
+    }
+}
@@ -0,0 +1,67 @@
+package com.blog.monitor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SqlRequestStatsTest {
+
+    private static final String SELECT_USER_ID = "com.blog.mapper.UserMapper.selectById";
+    private static final String SELECT_USER = "SELECT id,username FROM tb_user WHERE id=?";
+
+    @Test
+    void detectsSameStatementWithDifferentParameters() {
+        SqlRequestStats stats = new SqlRequestStats();
+        stats.record("com.blog.mapper.ArticleMapper.selectList", "SELECT * FROM tb_article LIMIT ?", 10, 1_000_000);
+        for (long userId = 1; userId <= 10; userId++) {
+            stats.record(SELECT_USER_ID, SELECT_USER, Long.hashCode(userId), 100_000);
+        }
+
+        List<SqlRequestStats.RepeatedStatement> repeated = stats.repeatedStatements(5);
+        assertEquals(11, stats.getStatements());
+        assertEquals(2_000_000, stats.getDbNanos());
+        assertEquals(1, repeated.size());
+        assertEquals(SELECT_USER_ID, repeated.get(0).statementId());
+        assertEquals(SELECT_USER, repeated.get(0).sql());
+        assertEquals(10, repeated.get(0).executions());
+        assertEquals(10, repeated.get(0).distinctParameters());
+    }
+
+    @Test
+    void ignoresRepeatsWithSameParameters() {
+        SqlRequestStats stats = new SqlRequestStats();
+        for (int i = 0; i < 10; i++) {
+            stats.record(SELECT_USER_ID, SELECT_USER, Long.hashCode(1L), 0);
+        }
+        assertTrue(stats.repeatedStatements(5).isEmpty());
+    }
+
+    @Test
+    void groupsDynamicSqlByStatementId() {
+        // 同一 Mapper 方法的 IN 列表长度不同，生成的语句文本不同
+        SqlRequestStats stats = new SqlRequestStats();
+        String statementId = "com.blog.mapper.TagMapper.selectBatchIds";
+        for (int i = 1; i <= 5; i++) {
+            String sql = "SELECT id,name FROM tb_tag WHERE id IN (" + "?,".repeat(i - 1) + "?)";
+            stats.record(statementId, sql, i, 0);
+        }
+
+        List<SqlRequestStats.RepeatedStatement> repeated = stats.repeatedStatements(5);
+        assertEquals(1, repeated.size());
+        assertEquals(statementId, repeated.get(0).statementId());
+        assertEquals("SELECT id,name FROM tb_tag WHERE id IN (?)", repeated.get(0).sql());
+    }
+
+    @Test
+    void fallsBackToNormalizedSqlWithoutStatementId() {
+        SqlRequestStats stats = new SqlRequestStats();
+        for (int i = 0; i < 5; i++) {
+            stats.record(null, i % 2 == 0 ? SELECT_USER : "SELECT id,username\n  FROM tb_user\n WHERE id=?", i, 0);
+        }
+        assertEquals(1, stats.repeatedStatements(5).size());
+        assertEquals(SELECT_USER, stats.repeatedStatements(5).get(0).statementId());
+    }
+}
@@ -0,0 +1,29 @@
+package com.blog.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PinyinKeysTest {
+
+    @Test
+    void normalizesWidthCaseAndWhitespace() {
+        assertEquals("springboot", PinyinKeys.normalize(" Ｓpring Boot "));
+        assertEquals("", PinyinKeys.normalize(null));
+    }
+
+    @Test
+    void initialsOfHanCharacters() {
+        assertEquals("qd", PinyinKeys.initials("前端"));
+        assertEquals("vueqd", PinyinKeys.initials("vue前端"));
+        assertNull(PinyinKeys.initials("java"));
+    }
+
+    @Test
+    void fullPinyinOfHanCharacters() {
+        assertEquals("qianduan", PinyinKeys.pinyin("前端"));
+        assertEquals("vueqianduan", PinyinKeys.pinyin("vue前端"));
+        assertNull(PinyinKeys.pinyin("java"));
+    }
+}
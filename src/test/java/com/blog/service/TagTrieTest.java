@@ -0,0 +1,79 @@
+package com.blog.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TagTrieTest {
+
+    private static final DictionaryCache.TagEntry FRONTEND = tag(1, "前端", 30);
+    private static final DictionaryCache.TagEntry BACKEND = tag(2, "后端", 20);
+    private static final DictionaryCache.TagEntry JAVA = tag(3, "Java", 10);
+
+    // 与 DictionaryCache 一致：按文章数降序传入
+    private static final List<DictionaryCache.TagEntry> TAGS = List.of(FRONTEND, BACKEND, JAVA);
+
+    @Test
+    void matchesSubstringOfName() {
+        TagTrie trie = TagTrie.build(TAGS, 10);
+        assertArrayEquals(new long[]{1, 2}, search(trie, "端"));
+        assertArrayEquals(new long[]{3}, search(trie, "AV"));
+        assertArrayEquals(new long[0], search(trie, "端点"));
+    }
+
+    @Test
+    void matchesPinyinInitials() {
+        TagTrie trie = TagTrie.build(TAGS, 10);
+        assertArrayEquals(new long[]{1}, search(trie, "qd"));
+        assertArrayEquals(new long[]{1}, search(trie, "q"));
+        assertArrayEquals(new long[]{2}, search(trie, "hd"));
+    }
+
+    @Test
+    void matchesFullPinyin() {
+        TagTrie trie = TagTrie.build(TAGS, 10);
+        assertArrayEquals(new long[]{1}, search(trie, "qianduan"));
+        assertArrayEquals(new long[]{1}, search(trie, "qian"));
+        assertArrayEquals(new long[]{2}, search(trie, "houd"));
+    }
+
+    @Test
+    void keepsTopKByArticleCount() {
+        List<DictionaryCache.TagEntry> tags = List.of(
+                tag(10, "javascript", 50), tag(11, "java", 40), tag(12, "lava", 30), tag(13, "kava", 20));
+        TagTrie trie = TagTrie.build(tags, 2);
+        assertArrayEquals(new long[]{10, 11}, search(trie, "av"));
+        assertArrayEquals(new long[]{12}, search(trie, "la"));
+        assertArrayEquals(new long[]{10, 11}, search(trie, ""));
+    }
+
+    @Test
+    void recordsTagOnceWhenSeveralKeysShareNode() {
+        // "aaa" 的三个后缀都经过节点 a；"大地" 的首字母 dd 与名称后缀无关但同样只记一次
+        TagTrie trie = TagTrie.build(List.of(tag(1, "aaa", 3), tag(2, "大地", 2), tag(3, "ab", 1)), 10);
+        assertArrayEquals(new long[]{1, 3}, search(trie, "a"));
+        assertArrayEquals(new long[]{2}, search(trie, "d"));
+        long[] all = search(trie, "");
+        assertEquals(3, all.length);
+        assertEquals(3, Arrays.stream(all).distinct().count());
+    }
+
+    @Test
+    void normalizesKeyword() {
+        TagTrie trie = TagTrie.build(TAGS, 10);
+        assertArrayEquals(new long[]{3}, search(trie, " ＪＡ "));
+        assertArrayEquals(new long[0], search(trie, "x"));
+    }
+
+    private static long[] search(TagTrie trie, String keyword) {
+        return trie.search(PinyinKeys.normalize(keyword));
+    }
+
+    private static DictionaryCache.TagEntry tag(long id, String name, int articleCount) {
+        return new DictionaryCache.TagEntry(id, name, null, articleCount, null);
+    }
+}
@@ -0,0 +1,149 @@
+package com.blog.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ImageMetadataTest {
+
+    private static final String SECRET = "GPS 31.2304N 121.4737E";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void stripsJpegExifAndKeepsOrientation() throws IOException {
+        byte[] jpeg = withJpegSegment(encode("jpeg"), 0xE1, exif(6));
+        jpeg = withJpegSegment(jpeg, 0xFE, SECRET.getBytes(StandardCharsets.UTF_8));
+        assertEquals(6, ImageMetadata.orientation(jpeg, jpeg.length));
+
+        byte[] stripped = strip(jpeg, ImageType.JPEG);
+        assertFalse(contains(stripped, SECRET));
+        assertEquals(6, ImageMetadata.orientation(stripped, stripped.length));
+        assertDecodes(stripped);
+    }
+
+    @Test
+    void dropsJpegExifWithNormalOrientation() throws IOException {
+        byte[] jpeg = withJpegSegment(encode("jpeg"), 0xE1, exif(1));
+
+        byte[] stripped = strip(jpeg, ImageType.JPEG);
+        assertFalse(contains(stripped, "Exif"));
+        assertFalse(contains(stripped, SECRET));
+        assertEquals(ImageMetadata.NORMAL, ImageMetadata.orientation(stripped, stripped.length));
+        assertDecodes(stripped);
+    }
+
+    @Test
+    void stripsPngTextAndKeepsOrientation() throws IOException {
+        byte[] png = withPngChunk(encode("png"), "tEXt", ("Comment\0" + SECRET).getBytes(StandardCharsets.UTF_8));
+        png = withPngChunk(png, "eXIf", Arrays.copyOfRange(exif(8), 6, exif(8).length));
+        assertEquals(8, ImageMetadata.orientation(png, png.length));
+
+        byte[] stripped = strip(png, ImageType.PNG);
+        assertFalse(contains(stripped, SECRET));
+        assertEquals(8, ImageMetadata.orientation(stripped, stripped.length));
+        assertDecodes(stripped);
+    }
+
+    @Test
+    void rejectsTruncatedJpeg() throws IOException {
+        byte[] jpeg = withJpegSegment(encode("jpeg"), 0xE1, exif(6));
+        byte[] truncated = Arrays.copyOf(jpeg, 20);
+        assertThrows(ImageMetadata.MalformedImageException.class, () -> strip(truncated, ImageType.JPEG));
+    }
+
+    private byte[] strip(byte[] data, ImageType type) throws IOException {
+        Path source = Files.write(dir.resolve("source"), data);
+        Path target = Files.createFile(dir.resolve("target-" + System.nanoTime()));
+        long size = ImageMetadata.strip(source, target, type);
+        byte[] stripped = Files.readAllBytes(target);
+        assertEquals(stripped.length, size);
+        return stripped;
+    }
+
+    private static byte[] encode(String format) throws IOException {
+        BufferedImage image = new BufferedImage(4, 2, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(0, 0, 0xFF0000);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * APP1 正文：Exif 头 + 小端 TIFF，IFD0 只有方向一项，之后附带一段不被引用的"位置"文本
+     */
+    private static byte[] exif(int orientation) {
+        ByteBuffer tiff = ByteBuffer.allocate(26).order(ByteOrder.LITTLE_ENDIAN)
+                .put((byte) 'I').put((byte) 'I').putShort((short) 42).putInt(8)
+                .putShort((short) 1)
+                .putShort((short) 0x0112).putShort((short) 3).putInt(1).putShort((short) orientation).putShort((short) 0)
+                .putInt(0);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(new byte[]{'E', 'x', 'i', 'f', 0, 0});
+        out.writeBytes(tiff.array());
+        out.writeBytes(SECRET.getBytes(StandardCharsets.UTF_8));
+        return out.toByteArray();
+    }
+
+    /**
+     * 在 SOI 之后插入一个段
+     */
+    private static byte[] withJpegSegment(byte[] jpeg, int marker, byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(jpeg, 0, 2);
+        out.write(0xFF);
+        out.write(marker);
+        out.write((data.length + 2) >> 8);
+        out.write(data.length + 2);
+        out.writeBytes(data);
+        out.write(jpeg, 2, jpeg.length - 2);
+        return out.toByteArray();
+    }
+
+    /**
+     * 在 IHDR（签名 8 字节 + 块 25 字节）之后插入一个块
+     */
+    private static byte[] withPngChunk(byte[] png, String type, byte[] data) {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(png, 0, 33);
+        out.writeBytes(ByteBuffer.allocate(4).putInt(data.length).array());
+        out.writeBytes(typeBytes);
+        out.writeBytes(data);
+        out.writeBytes(ByteBuffer.allocate(4).putInt((int) crc.getValue()).array());
+        out.write(png, 33, png.length - 33);
+        return out.toByteArray();
+    }
+
+    private static void assertDecodes(byte[] data) throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(data));
+        assertNotNull(image);
+        assertEquals(4, image.getWidth());
+        assertEquals(2, image.getHeight());
+    }
+
+    private static boolean contains(byte[] data, String text) {
+        return new String(data, StandardCharsets.ISO_8859_1).contains(text);
+    }
+}
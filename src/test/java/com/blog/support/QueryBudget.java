@@ -0,0 +1,91 @@
+package com.blog.support;
+
+import com.blog.monitor.SqlRequestStats;
+import com.blog.monitor.SqlStatsResponseAdvice;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * 测试中声明 SQL 条数上限。
+ * <pre>
+ * // 直接调用服务（同线程）
+ * QueryBudget.assertAtMost(3, () -&gt; articleService.getArticleDetail(id, null));
+ * // MockMvc（需开启 blog.sql-stats.enabled 和 blog.sql-stats.headers）
+ * mockMvc.perform(get("/api/articles")).andExpect(QueryBudget.atMost(3));
+ * // HTTP 客户端
+ * QueryBudget.assertAtMost(3, "GET /api/articles", response.getHeaders());
+ * </pre>
+ */
+public final class QueryBudget {
+
+    // 与 blog.sql-stats.n-plus-one-threshold 默认值一致
+    private static final int N_PLUS_ONE_THRESHOLD = 5;
+
+    private QueryBudget() {
+    }
+
+    /**
+     * 执行代码块，断言其中的 SQL 不超过 max 条，返回代码块结果
+     */
+    public static <T> T assertAtMost(int max, ThrowingSupplier<T> action) throws Throwable {
+        SqlRequestStats previous = SqlRequestStats.current();
+        SqlRequestStats stats = new SqlRequestStats();
+        SqlRequestStats.bind(stats);
+        try {
+            T result = action.get();
+            check(max, stats);
+            return result;
+        } finally {
+            SqlRequestStats.bind(previous);
+        }
+    }
+
+    public static void assertAtMost(int max, Executable action) throws Throwable {
+        assertAtMost(max, () -> {
+            action.execute();
+            return null;
+        });
+    }
+
+    /**
+     * 根据响应头断言
+     */
+    public static void assertAtMost(int max, String endpoint, HttpHeaders headers) {
+        String count = headers.getFirst(SqlStatsResponseAdvice.HEADER_COUNT);
+        assertNotNull(count, endpoint + " 响应缺少 " + SqlStatsResponseAdvice.HEADER_COUNT
+                + " 头，确认已开启 blog.sql-stats.enabled 和 blog.sql-stats.headers");
+        String repeated = headers.getFirst(SqlStatsResponseAdvice.HEADER_REPEATED);
+        assertTrue(Long.parseLong(count) <= max, endpoint + " 执行了 " + count + " 条 SQL，超过预算 " + max
+                + (repeated != null ? "，重复执行：" + repeated : ""));
+    }
+
+    public static ResultMatcher atMost(int max) {
+        return result -> {
+            HttpHeaders headers = new HttpHeaders();
+            for (String name : result.getResponse().getHeaderNames()) {
+                headers.addAll(name, result.getResponse().getHeaders(name));
+            }
+            assertAtMost(max, result.getRequest().getMethod() + " " + result.getRequest().getRequestURI(), headers);
+        };
+    }
+
+    private static void check(int max, SqlRequestStats stats) {
+        if (stats.getStatements() <= max) {
+            return;
+        }
+        List<SqlRequestStats.RepeatedStatement> repeated = stats.repeatedStatements(N_PLUS_ONE_THRESHOLD);
+        fail("执行了 " + stats.getStatements() + " 条 SQL，超过预算 " + max + (repeated.isEmpty() ? ""
+                : "，重复执行：\n" + repeated.stream()
+                .map(statement -> "  " + statement.executions() + "x " + statement.statementId() + ": " + statement.sql())
+                .collect(Collectors.joining("\n"))));
+    }
+}